@@ -0,0 +1,47 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.bench;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.util.SplittableRandom;
+import rtos.model.Process;
+import rtos.model.ProcessState;
+import rtos.model.ProcessType;
+
+/**
+ * Procesos de prueba para los benchmarks, siempre los mismos para una
+ * semilla dada: así dos corridas miden exactamente la misma carga.
+ */
+final class BenchmarkProcesses {
+    static final long SEED = 20260208L;
+
+    private BenchmarkProcesses() {
+    }
+
+    /**
+     * Procesos aperiódicos listos (READY) con instrucciones, prioridad y
+     * deadline al azar. Ninguno tiene prioridad 1, para que MemoryManager
+     * pueda suspender cualquiera.
+     * @param count Cantidad
+     * @param instructions Instrucciones máximas (las de cada uno van de 1 a este valor)
+     */
+    static Process[] create(int count, int instructions) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        Process[] processes = new Process[count];
+        for (int i = 0; i < count; i++) {
+            processes[i] = new Process("B" + i, "Bench " + i, ProcessType.APERIODIC,
+                    1 + random.nextInt(instructions),
+                    2 + random.nextInt(4),
+                    1 + random.nextInt(Math.max(1, count * 4)),
+                    0);
+            processes[i].setState(ProcessState.READY);
+        }
+        return processes;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.bench;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rtos.model.Process;
+import rtos.scheduler.SchedulerManager;
+import rtos.simulation.SimulationConfig;
+import rtos.simulation.SimulationEngine;
+
+/**
+ * Latencia de un ciclo completo del motor (SimulationEngine.stepOneCycle)
+ * con processes procesos en el sistema. Los procesos tienen muchas
+ * instrucciones y deadlines lejanos, así la carga no cambia durante la
+ * medición. Sin salto de ciclos ociosos ni ráfagas: una operación es un
+ * ciclo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngineCycleBenchmark {
+
+    @Param({"1000", "10000"})
+    public int processes;
+
+    @Param({"FCFS", "ROUND_ROBIN", "EDF"})
+    public SchedulerManager.Algorithm algorithm;
+
+    private SimulationEngine engine;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SimulationConfig config = SimulationConfig.headless();
+        config.setSeed(BenchmarkProcesses.SEED);
+        config.setEventDriven(false);
+        config.setBurstExecution(false);
+        config.setInitialProcessPercentage(0);
+        config.setRamCapacity(Math.max(1, processes / 4));
+        config.setMaxProcessesInSystem(processes);
+        config.setAlgorithm(algorithm);
+        engine = new SimulationEngine(config);
+
+        for (Process process : BenchmarkProcesses.create(processes, 1_000_000)) {
+            process.setDeadline(Integer.MAX_VALUE / 2);
+            process.setRemainingDeadline(Integer.MAX_VALUE / 2);
+            engine.scheduleArrival(process, 1);
+        }
+        engine.start();
+        engine.pause();          // El ciclo lo corre el benchmark, no el thread del reloj
+        engine.stepOneCycle();   // Admite las llegadas
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public int cycle() {
+        engine.stepOneCycle();
+        return engine.getCurrentCycle();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.bench;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rtos.memory.MemoryManager;
+import rtos.model.Process;
+import rtos.model.ProcessState;
+
+/**
+ * MemoryManager.addProcess con la RAM llena: cada llamada tiene que elegir
+ * un proceso para suspender. Después se termina el proceso recién agregado,
+ * lo que reactiva al suspendido, así la RAM sigue llena en la próxima
+ * operación (la medición incluye las dos llamadas).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int ramCapacity;
+
+    private MemoryManager memory;
+    private Process[] arrivals;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        memory = new MemoryManager(ramCapacity);
+        Process[] processes = BenchmarkProcesses.create(ramCapacity + 64, 1000);
+        for (int i = 0; i < ramCapacity; i++) {
+            memory.addProcess(processes[i]);
+        }
+        arrivals = new Process[64];
+        System.arraycopy(processes, ramCapacity, arrivals, 0, arrivals.length);
+        next = 0;
+    }
+
+    @Benchmark
+    public boolean addProcessUnderPressure() {
+        Process process = arrivals[next];
+        next = (next + 1) & (arrivals.length - 1);
+        boolean inRAM = memory.addProcess(process);
+        memory.processTerminated(process);
+        process.setState(ProcessState.READY);   // Por si quedó suspendido
+        return inRAM;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.bench;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rtos.model.Process;
+import rtos.model.ProcessState;
+import rtos.scheduler.SchedulerManager;
+import rtos.statistics.StatisticsTracker;
+import rtos.structures.Queue;
+
+/**
+ * Costo de las operaciones del planificador por algoritmo, con readyCount
+ * procesos en la cola de listos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulerBenchmark {
+
+    @Param({"FCFS", "ROUND_ROBIN", "SRT", "PRIORITY", "EDF"})
+    public SchedulerManager.Algorithm algorithm;
+
+    @Param({"100", "10000"})
+    public int readyCount;
+
+    private SchedulerManager scheduler;
+    private Process current;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        scheduler = new SchedulerManager(new StatisticsTracker(), true, false);
+        scheduler.switchAlgorithm(algorithm);
+        Process[] processes = BenchmarkProcesses.create(readyCount + 1, 1000);
+        for (int i = 0; i < readyCount; i++) {
+            scheduler.addProcess(processes[i]);
+        }
+        current = processes[readyCount];
+        current.setState(ProcessState.RUNNING);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Copia de la cola de listos (la que usa la interfaz).
+     */
+    @Benchmark
+    public Queue<Process> getReadyQueue() {
+        return scheduler.getReadyQueue();
+    }
+
+    /**
+     * Chequeo de preempción que el motor hace en cada ciclo.
+     */
+    @Benchmark
+    public boolean shouldPreempt() {
+        return scheduler.shouldPreempt(current);
+    }
+
+    /**
+     * Despachar el siguiente y devolverlo a la cola (cambio de contexto).
+     */
+    @Benchmark
+    public Process dispatchAndRequeue() {
+        Process next = scheduler.getNextProcess();
+        next.setState(ProcessState.READY);
+        scheduler.addProcess(next);
+        return next;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.bench;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rtos.model.Process;
+import rtos.structures.LinkedList;
+import rtos.structures.PriorityQueue;
+import rtos.structures.Queue;
+import rtos.utils.Comparator;
+
+/**
+ * Insertar y sacar en las estructuras propias según el tamaño de la cola.
+ * Cada operación mete un proceso y saca otro, así el tamaño se mantiene
+ * en size durante toda la medición.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StructuresBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    private Process[] pool;
+    private Process absent;
+    private int next;
+    private LinkedList<Process> list;
+    private Queue<Process> queue;
+    private PriorityQueue<Process> heap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = BenchmarkProcesses.create(size * 2 + 1, 100);
+        absent = pool[pool.length - 1];
+        pool = Arrays.copyOf(pool, pool.length - 1);
+        next = 0;
+        list = new LinkedList<>();
+        queue = new Queue<>();
+        heap = new PriorityQueue<>(new Comparator.DeadlineComparator());
+        for (int i = 0; i < size; i++) {
+            list.add(nextProcess());
+            queue.enqueue(nextProcess());
+            heap.insert(nextProcess());
+        }
+    }
+
+    private Process nextProcess() {
+        Process process = pool[next];
+        next = next + 1 == pool.length ? 0 : next + 1;
+        return process;
+    }
+
+    @Benchmark
+    public Process linkedListAddRemoveFirst() {
+        list.add(nextProcess());
+        return list.remove(0);
+    }
+
+    /**
+     * Búsqueda lineal de un proceso que no está (recorre toda la lista).
+     */
+    @Benchmark
+    public boolean linkedListContainsMiss() {
+        return list.contains(absent);
+    }
+
+    @Benchmark
+    public Process queueEnqueueDequeue() {
+        queue.enqueue(nextProcess());
+        return queue.dequeue();
+    }
+
+    @Benchmark
+    public Process priorityQueueInsertExtract() {
+        heap.insert(nextProcess());
+        return heap.extractMin();
+    }
+
+    @Benchmark
+    public Process priorityQueuePeek() {
+        return heap.peekMin();
+    }
+}
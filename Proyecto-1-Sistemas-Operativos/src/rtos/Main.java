@@ -135,8 +135,8 @@ public class Main {
             // Mostrar últimos 5 logs
             System.out.println("\n📝 Últimos logs:");
             var logs = schedulerManager.getRecentLogs(5);
-            for (int i = 0; i < logs.size(); i++) {
-                System.out.println("  " + logs.get(i));
+            for (String entry : logs) {
+                System.out.println("  " + entry);
             }
             
             System.out.println("\n✅ PRUEBAS COMPLETADAS EXITOSAMENTE");
@@ -178,8 +178,8 @@ public class Main {
             var logs = schedulerManager.getRecentLogs(5);
             if (!logs.isEmpty()) {
                 System.out.println("\n📝 Logs finales del sistema:");
-                for (int i = 0; i < logs.size(); i++) {
-                    System.out.println("  " + logs.get(i));
+                for (String entry : logs) {
+                    System.out.println("  " + entry);
                 }
             }
         }
@@ -0,0 +1,211 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.checkpoint;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import rtos.model.Process;
+import rtos.model.ProcessState;
+import rtos.model.ProcessType;
+import rtos.simulation.Clock;
+import rtos.structures.LinkedList;
+
+/**
+ * Lee un checkpoint escrito por CheckpointWriter, en el mismo orden en que
+ * se escribió. Los procesos se crean la primera vez que aparecen y las
+ * referencias siguientes devuelven el mismo objeto.
+ */
+public class CheckpointReader implements AutoCloseable {
+    private final InputStream stream;
+    private final ByteBuffer buffer;
+    private Clock clock;
+    private Process[] processes;
+    private int processCount;
+
+    public CheckpointReader(InputStream stream) {
+        this.stream = stream;
+        this.buffer = ByteBuffer.allocate(CheckpointWriter.BUFFER_SIZE);
+        this.buffer.limit(0);
+        this.clock = null;
+        this.processes = new Process[64];
+        this.processCount = 0;
+    }
+
+    /**
+     * Reloj del motor restaurado: los deadlines ligados a un reloj se ligan
+     * a este (debe fijarse antes de leer procesos).
+     */
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public int readInt() throws IOException {
+        require(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    public long readLong() throws IOException {
+        require(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    public double readDouble() throws IOException {
+        require(Double.BYTES);
+        return buffer.getDouble();
+    }
+
+    public boolean readBoolean() throws IOException {
+        require(1);
+        return buffer.get() != 0;
+    }
+
+    public String readString() throws IOException {
+        int length = readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length <= buffer.capacity()) {
+            require(length);
+            String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            require(1);
+            int chunk = Math.min(buffer.remaining(), length - offset);
+            buffer.get(bytes, offset, chunk);
+            offset += chunk;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Asegura que haya al menos bytes sin leer en el buffer.
+     */
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            int read = stream.read(buffer.array(), buffer.position(), buffer.remaining());
+            if (read < 0) {
+                throw new EOFException("Checkpoint truncado");
+            }
+            buffer.position(buffer.position() + read);
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Valor de un enum guardado por su ordinal.
+     */
+    public <E extends Enum<E>> E readEnum(E[] values) throws IOException {
+        int ordinal = readInt();
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Checkpoint inválido: ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    /**
+     * Referencia a un proceso (null, uno ya leído o un PCB nuevo).
+     */
+    public Process readProcess() throws IOException {
+        int tag = readInt();
+        if (tag == CheckpointWriter.NULL_PROCESS) {
+            return null;
+        }
+        if (tag == CheckpointWriter.NEW_PROCESS) {
+            Process process = readPCB();
+            if (processCount == processes.length) {
+                Process[] grown = new Process[processes.length * 2];
+                System.arraycopy(processes, 0, grown, 0, processCount);
+                processes = grown;
+            }
+            processes[processCount++] = process;
+            return process;
+        }
+        if (tag < 0 || tag >= processCount) {
+            throw new IOException("Checkpoint inválido: referencia a proceso " + tag);
+        }
+        return processes[tag];
+    }
+
+    /**
+     * Lista escrita con CheckpointWriter.writeProcesses, en el mismo orden.
+     */
+    public LinkedList<Process> readProcesses() throws IOException {
+        int count = readInt();
+        LinkedList<Process> list = new LinkedList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(readProcess());
+        }
+        return list;
+    }
+
+    private Process readPCB() throws IOException {
+        String id = readString();
+        String name = readString();
+        int pid = readInt();
+        ProcessType type = readEnum(ProcessType.values());
+        ProcessState state = readEnum(ProcessState.values());
+        int totalInstructions = readInt();
+        int executedInstructions = readInt();
+        int priority = readInt();
+        int deadline = readInt();
+        boolean deadlineBound = readBoolean();
+        int deadlineValue = readInt();
+        int period = readInt();
+
+        Process p = new Process(id, name, type, totalInstructions, priority, deadline, period);
+        p.setPid(pid);
+        p.setExecutedInstructions(executedInstructions);
+        if (deadlineBound) {
+            if (clock == null) {
+                throw new IOException("Checkpoint: falta el reloj para ligar el deadline de " + id);
+            }
+            p.bindDeadlineClock(clock);
+            p.setDeadlineCycle(deadlineValue);
+        } else {
+            p.setRemainingDeadline(deadlineValue);
+        }
+        p.setRemainingPeriod(readInt());
+        p.setRequiresIO(readBoolean());
+        p.setIoStartCycle(readInt());
+        p.setIoDuration(readInt());
+        p.setIoCompletionTime(readInt());
+        p.setBlockedTime(readInt());
+        p.setProgramCounter(readInt());
+        p.setMemoryAddressRegister(readInt());
+        p.setCreationTime(readInt());
+        p.setStartTime(readInt());
+        p.setCompletionTime(readInt());
+        p.setWaitingTime(readInt());
+        p.setTurnaroundTime(readInt());
+        p.setDeadlineMissed(readBoolean());
+        p.setState(state);
+        return p;
+    }
+
+    public int getProcessCount() {
+        return processCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+}
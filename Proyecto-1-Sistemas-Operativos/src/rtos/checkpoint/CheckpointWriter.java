@@ -0,0 +1,199 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.checkpoint;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import rtos.model.Process;
+
+/**
+ * Escribe un checkpoint del motor directamente al stream, a medida que se
+ * recorren los componentes. Las listas se recorren en su lugar y los
+ * montículos del motor en orden de salida (con un arreglo auxiliar de
+ * posiciones); solo la cola de listos del planificador y las interrupciones
+ * pendientes se copian antes de escribirse, en orden de despacho.
+ *
+ * Cada proceso se escribe completo (todo el PCB) la primera vez que aparece
+ * y después solo con su número, así las colas que comparten procesos (RAM,
+ * listos, bloqueados, deadlines...) se restauran con los mismos objetos.
+ *
+ * Formato: enteros big-endian; textos como largo + bytes UTF-8. Se escribe
+ * en un buffer propio que se vacía al stream al llenarse (los streams con
+ * buffer de java.io sincronizan cada byte).
+ *
+ * No es thread-safe: lo usa el thread dueño del motor mientras guarda.
+ */
+public class CheckpointWriter implements AutoCloseable {
+    public static final int MAGIC = 0x52544350;          // "RTCP"
+    public static final short VERSION = 6;
+
+    // Marcas de referencia a proceso (>= 0 = proceso ya escrito)
+    static final int NULL_PROCESS = -1;
+    static final int NEW_PROCESS = -2;
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream stream;
+    private final ByteBuffer buffer;
+    private final IdentityHashMap<Process, Integer> written;
+
+    public CheckpointWriter(OutputStream stream) {
+        this.stream = stream;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.written = new IdentityHashMap<>();
+    }
+
+    public void writeInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    public void writeLong(long value) throws IOException {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    public void writeDouble(double value) throws IOException {
+        ensure(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    public void writeBoolean(boolean value) throws IOException {
+        ensure(1);
+        buffer.put(value ? (byte) 1 : (byte) 0);
+    }
+
+    public void writeEnum(Enum<?> value) throws IOException {
+        writeInt(value.ordinal());
+    }
+
+    /**
+     * Texto que puede ser null (largo -1).
+     */
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        stream.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+
+    /**
+     * Referencia a un proceso (puede ser null): el PCB completo la primera
+     * vez, después solo su número.
+     */
+    public void writeProcess(Process process) throws IOException {
+        if (process == null) {
+            writeInt(NULL_PROCESS);
+            return;
+        }
+        Integer index = written.get(process);
+        if (index != null) {
+            writeInt(index);
+            return;
+        }
+        written.put(process, written.size());
+        writeInt(NEW_PROCESS);
+        writePCB(process);
+    }
+
+    /**
+     * Cantidad y luego cada proceso, en el orden del recorrido.
+     */
+    public void writeProcesses(Iterable<Process> processes, int count) throws IOException {
+        writeInt(count);
+        int remaining = count;
+        for (Process process : processes) {
+            if (remaining-- == 0) {
+                throw new IOException("La lista tiene más procesos de los declarados (" + count + ")");
+            }
+            writeProcess(process);
+        }
+        if (remaining != 0) {
+            throw new IOException("La lista tiene menos procesos de los declarados (" + count + ")");
+        }
+    }
+
+    /**
+     * Todos los campos del PCB (los enlaces de las colas se rearman al
+     * insertar el proceso en ellas).
+     */
+    private void writePCB(Process p) throws IOException {
+        writeString(p.getId());
+        writeString(p.getName());
+        writeInt(p.getPid());
+        writeInt(p.getType().ordinal());
+        writeInt(p.getState().ordinal());
+        writeInt(p.getTotalInstructions());
+        writeInt(p.getExecutedInstructions());
+        writeInt(p.getPriority());
+        writeInt(p.getDeadline());
+        writeBoolean(p.isDeadlineBound());
+        writeInt(p.isDeadlineBound() ? p.getDeadlineCycle() : p.getRemainingDeadline());
+        writeInt(p.getPeriod());
+        writeInt(p.getRemainingPeriod());
+        writeBoolean(p.isRequiresIO());
+        writeInt(p.getIoStartCycle());
+        writeInt(p.getIoDuration());
+        writeInt(p.getIoCompletionTime());
+        writeInt(p.getBlockedTime());
+        writeInt(p.getProgramCounter());
+        writeInt(p.getMemoryAddressRegister());
+        writeInt(p.getCreationTime());
+        writeInt(p.getStartTime());
+        writeInt(p.getCompletionTime());
+        writeInt(p.getWaitingTime());
+        writeInt(p.getTurnaroundTime());
+        writeBoolean(p.isDeadlineMissed());
+    }
+
+    /**
+     * Procesos distintos escritos hasta ahora.
+     */
+    public int getProcessCount() {
+        return written.size();
+    }
+
+    /**
+     * Vacía el buffer al stream (no lo cierra).
+     */
+    public void flush() throws IOException {
+        drain();
+        stream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        stream.close();
+    }
+}
@@ -10,14 +10,18 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.util.Arrays;
 import rtos.interrupt.InterruptHandler;
+import rtos.logging.EventLogger;
+import rtos.logging.LogLevel;
+import rtos.logging.LogSink;
 import rtos.scheduler.SchedulerManager;
 import rtos.simulation.SimulationEngine;
-import rtos.model.Process;
+import rtos.simulation.SystemSnapshot;
+import rtos.simulation.SystemSnapshot.ProcessView;
 import rtos.model.ProcessState;
 import rtos.memory.MemoryManager;
 import rtos.statistics.StatisticsTracker;
-import rtos.structures.LinkedList;
 import rtos.interrupt.InterruptHandler;
 /*
 *luisf
@@ -50,6 +54,7 @@ public class MainFrame extends JFrame {
     
     // Área de log
     private JTextArea logArea;
+    private static final int LOG_AREA_MAX_CHARS = 200_000;
     private JProgressBar memoryProgressBar;
     
     // Controles
@@ -71,6 +76,7 @@ public class MainFrame extends JFrame {
         initManagers();
         initComponents();
         setupSimulationTimer();
+        EventLogger.getDefault().addSink(new LogAreaSink(), LogLevel.INFO);
     }
     
     private void initManagers() {
@@ -390,151 +396,115 @@ public class MainFrame extends JFrame {
     private void updateAllDisplays() {
         if (simulationEngine == null) return;
         
+        // Una sola foto por refresco: todo lo que se muestra es del mismo ciclo
+        SystemSnapshot snapshot = simulationEngine.getSnapshot();
+        if (snapshot == null) return;
+        
         // Actualizar reloj
-        int currentCycle = simulationEngine.getCurrentCycle();
-        clockLabel.setText("MISSION CLOCK: Cycle " + currentCycle);
-        cpuModeLabel.setText("CPU MODE: " + simulationEngine.getCpuModeLabel());
+        clockLabel.setText("MISSION CLOCK: Cycle " + snapshot.getCycle());
+        cpuModeLabel.setText("CPU MODE: " + snapshot.getCpuModeLabel());
         
         // Actualizar todas las tablas
-        updateReadyQueueTable();
-        updateRunningProcessTable();
-        updateBlockedQueueTable();
-        updateSuspendedQueueTable();
-        updateTerminatedQueueTable();
-        updateMemoryUsage();
-        updateStatistics();
+        updateReadyQueueTable(snapshot);
+        updateRunningProcessTable(snapshot);
+        updateBlockedQueueTable(snapshot);
+        updateSuspendedQueueTable(snapshot);
+        updateTerminatedQueueTable(snapshot);
+        updateMemoryUsage(snapshot);
+        updateStatistics(snapshot);
     }
     
-    private void updateReadyQueueTable() {
+    private void updateReadyQueueTable(SystemSnapshot snapshot) {
         DefaultTableModel model = (DefaultTableModel) readyQueueTable.getModel();
         model.setRowCount(0);
         
-        if (simulationEngine != null) {
-            LinkedList<Process> readyQueue = simulationEngine.getReadyQueue();
-            if (readyQueue != null) {
-                for (int i = 0; i < readyQueue.size(); i++) {
-                    Process p = readyQueue.get(i);
-                    if (p != null) {
-                        model.addRow(new Object[]{
-                            p.getId(),
-                            p.getName(),
-                            p.getPriority(),
-                            p.getRemainingDeadline(),
-                            p.getExecutedInstructions() + "/" + p.getTotalInstructions()
-                        });
-                    }
-                }
-            }
+        for (ProcessView p : snapshot.getReadyQueue()) {
+            model.addRow(new Object[]{
+                p.getId(),
+                p.getName(),
+                p.getPriority(),
+                p.getRemainingDeadline(),
+                p.getExecutedInstructions() + "/" + p.getTotalInstructions()
+            });
         }
     }
     
-    private void updateRunningProcessTable() {
+    private void updateRunningProcessTable(SystemSnapshot snapshot) {
         DefaultTableModel model = (DefaultTableModel) runningProcessTable.getModel();
-        
-        if (simulationEngine != null) {
-            Process current = simulationEngine.getCurrentProcess();
-            
-            if (current != null) {
-                model.setValueAt(current.getId(), 0, 1);
-                model.setValueAt(current.getName(), 1, 1);
-                model.setValueAt(current.getState().toString(), 2, 1);
-                model.setValueAt(current.getProgramCounter() + "/" +
-                               current.getMemoryAddressRegister(), 3, 1);
-                model.setValueAt(current.getRemainingDeadline() + " cycles", 4, 1);
-                model.setValueAt(current.getExecutedInstructions() + "/" + 
-                               current.getTotalInstructions(), 5, 1);
-                model.setValueAt(current.getPriority(), 6, 1);
-                model.setValueAt(simulationEngine.getCpuModeLabel(), 7, 1);
-            } else {
-                // CPU idle
-                model.setValueAt("None", 0, 1);
-                model.setValueAt("Idle", 1, 1);
-                model.setValueAt("IDLE", 2, 1);
-                model.setValueAt("0/0", 3, 1);
-                model.setValueAt("∞", 4, 1);
-                model.setValueAt("0/0", 5, 1);
-                model.setValueAt("-", 6, 1);
-                model.setValueAt("IDLE", 7, 1);
-            }
+        ProcessView current = snapshot.getCurrentProcess();
+        
+        if (current != null) {
+            model.setValueAt(current.getId(), 0, 1);
+            model.setValueAt(current.getName(), 1, 1);
+            model.setValueAt(current.getState().toString(), 2, 1);
+            model.setValueAt(current.getProgramCounter() + "/" +
+                           current.getMemoryAddressRegister(), 3, 1);
+            model.setValueAt(current.getRemainingDeadline() + " cycles", 4, 1);
+            model.setValueAt(current.getExecutedInstructions() + "/" + 
+                           current.getTotalInstructions(), 5, 1);
+            model.setValueAt(current.getPriority(), 6, 1);
+            model.setValueAt(snapshot.getCpuModeLabel(), 7, 1);
+        } else {
+            // CPU idle
+            model.setValueAt("None", 0, 1);
+            model.setValueAt("Idle", 1, 1);
+            model.setValueAt("IDLE", 2, 1);
+            model.setValueAt("0/0", 3, 1);
+            model.setValueAt("∞", 4, 1);
+            model.setValueAt("0/0", 5, 1);
+            model.setValueAt("-", 6, 1);
+            model.setValueAt("IDLE", 7, 1);
         }
     }
     
-    private void updateBlockedQueueTable() {
+    private void updateBlockedQueueTable(SystemSnapshot snapshot) {
         DefaultTableModel model = (DefaultTableModel) blockedQueueTable.getModel();
         model.setRowCount(0);
         
-        if (simulationEngine != null) {
-            LinkedList<Process> blockedQueue = simulationEngine.getBlockedQueue();
-            if (blockedQueue != null) {
-                for (int i = 0; i < blockedQueue.size(); i++) {
-                    Process p = blockedQueue.get(i);
-                    if (p != null) {
-                        String ioType = p.isRequiresIO() ? "I/O Active" : "Blocked";
-                        String remaining = p.getRemainingDeadline() + " cycles";
-                        model.addRow(new Object[]{
-                            p.getId(),
-                            p.getName(),
-                            ioType,
-                            remaining
-                        });
-                    }
-                }
-            }
+        for (ProcessView p : snapshot.getBlockedQueue()) {
+            String ioType = p.isRequiresIO() ? "I/O Active" : "Blocked";
+            String remaining = p.getRemainingDeadline() + " cycles";
+            model.addRow(new Object[]{
+                p.getId(),
+                p.getName(),
+                ioType,
+                remaining
+            });
         }
     }
     
-    private void updateSuspendedQueueTable() {
+    private void updateSuspendedQueueTable(SystemSnapshot snapshot) {
         DefaultTableModel model = (DefaultTableModel) suspendedQueueTable.getModel();
         model.setRowCount(0);
         
-        if (memoryManager != null) {
-            // Ready suspended
-            LinkedList<Process> readySuspended = memoryManager.getReadySuspendedQueue();
-            if (readySuspended != null) {
-                for (int i = 0; i < readySuspended.size(); i++) {
-                    Process p = readySuspended.get(i);
-                    if (p != null) {
-                        model.addRow(new Object[]{
-                            p.getId(),
-                            p.getName(),
-                            "READY_SUSPENDED",
-                            (simulationEngine.getCurrentCycle() - p.getCreationTime()) + " cycles"
-                        });
-                    }
-                }
-            }
-            
-            // Blocked suspended
-            LinkedList<Process> blockedSuspended = memoryManager.getBlockedSuspendedQueue();
-            if (blockedSuspended != null) {
-                for (int i = 0; i < blockedSuspended.size(); i++) {
-                    Process p = blockedSuspended.get(i);
-                    if (p != null) {
-                        model.addRow(new Object[]{
-                            p.getId(),
-                            p.getName(),
-                            "BLOCKED_SUSPENDED", 
-                            (simulationEngine.getCurrentCycle() - p.getCreationTime()) + " cycles"
-                        });
-                    }
-                }
-            }
+        // Ready suspended
+        for (ProcessView p : snapshot.getReadySuspendedQueue()) {
+            model.addRow(new Object[]{
+                p.getId(),
+                p.getName(),
+                "READY_SUSPENDED",
+                (snapshot.getCycle() - p.getCreationTime()) + " cycles"
+            });
+        }
+        
+        // Blocked suspended
+        for (ProcessView p : snapshot.getBlockedSuspendedQueue()) {
+            model.addRow(new Object[]{
+                p.getId(),
+                p.getName(),
+                "BLOCKED_SUSPENDED", 
+                (snapshot.getCycle() - p.getCreationTime()) + " cycles"
+            });
         }
     }
 
-    private void updateTerminatedQueueTable() {
-        if (terminatedQueueTable == null || simulationEngine == null) return;
+    private void updateTerminatedQueueTable(SystemSnapshot snapshot) {
+        if (terminatedQueueTable == null) return;
 
         DefaultTableModel model = (DefaultTableModel) terminatedQueueTable.getModel();
         model.setRowCount(0);
 
-        LinkedList<Process> terminatedQueue = simulationEngine.getTerminatedQueue();
-        if (terminatedQueue == null) return;
-
-        for (int i = 0; i < terminatedQueue.size(); i++) {
-            Process p = terminatedQueue.get(i);
-            if (p == null) continue;
-
+        for (ProcessView p : snapshot.getTerminatedQueue()) {
             String deadlineStatus = p.isDeadlineMissed() ? "MISSED" : "ON TIME";
             model.addRow(new Object[]{
                 p.getId(),
@@ -545,11 +515,9 @@ public class MainFrame extends JFrame {
         }
     }
     
-    private void updateMemoryUsage() {
-        if (memoryManager == null) return;
-        
-        int inRAM = memoryManager.getRAMUsage();
-        int max = memoryManager.getMaxRAMCapacity();
+    private void updateMemoryUsage(SystemSnapshot snapshot) {
+        int inRAM = snapshot.getRamUsage();
+        int max = snapshot.getRamCapacity();
         
         if (max == 0) return;
         int usage = (inRAM * 100) / max;
@@ -562,46 +530,43 @@ public class MainFrame extends JFrame {
         memoryUsageLabel.setText(usage + "% (" + inRAM + "/" + max + " procesos)");
     }
     
-    private void updateStatistics() {
-        if (statisticsTracker != null) {
-            // Usar los métodos CORRECTOS de StatisticsTracker
-            double successRate = statisticsTracker.getSuccessRate();
-            double throughput = statisticsTracker.getThroughput();
-            int cpuUsage = statisticsTracker.getCPUUtilization(); // ¡IMPORTANTE: getCPUUtilization()!
-            double avgWaiting = statisticsTracker.getAverageWaitingTime();
-            int deadlineMisses = statisticsTracker.getTotalDeadlinesMissed();
-            int totalProcesses = statisticsTracker.getTotalProcessesCreated();
-
-            successRateLabel.setText(String.format("Success Rate: %.1f%%", successRate));
-            throughputLabel.setText(String.format("Throughput: %.2f processes/cycle", throughput));
-            cpuUsageLabel.setText(String.format("CPU Usage: %d%%", cpuUsage));
-            avgWaitingLabel.setText(String.format("Avg Waiting: %.2f cycles", avgWaiting));
-            deadlineMissLabel.setText("Deadline Misses: " + deadlineMisses);
-            processCountLabel.setText("Total Processes: " + totalProcesses);
-
-            if (miniChartPanel != null) {
-                miniChartPanel.updateData(
-                    statisticsTracker.getCPUUtilizationHistory(),
-                    statisticsTracker.getSuccessRateHistory()
-                );
-            }
-
-            // También puedes usar el reporte corto para debugging
-            System.out.println("Stats: " + statisticsTracker.generateShortReport());
+    private void updateStatistics(SystemSnapshot snapshot) {
+        // Estadísticas tomadas en el mismo ciclo que las tablas
+        double successRate = snapshot.getSuccessRate();
+        double throughput = snapshot.getThroughput();
+        int cpuUsage = snapshot.getCpuUtilization();
+        double avgWaiting = snapshot.getAverageWaitingTime();
+        int deadlineMisses = snapshot.getDeadlinesMissed();
+        int totalProcesses = snapshot.getProcessesCreated();
+
+        successRateLabel.setText(String.format("Success Rate: %.1f%%", successRate));
+        throughputLabel.setText(String.format("Throughput: %.2f processes/cycle", throughput));
+        cpuUsageLabel.setText(String.format("CPU Usage: %d%%", cpuUsage));
+        avgWaitingLabel.setText(String.format("Avg Waiting: %.2f cycles", avgWaiting));
+        deadlineMissLabel.setText("Deadline Misses: " + deadlineMisses);
+        processCountLabel.setText("Total Processes: " + totalProcesses);
+
+        if (miniChartPanel != null) {
+            miniChartPanel.updateData(
+                snapshot.getCpuUtilizationHistory(),
+                snapshot.getSuccessRateHistory()
+            );
         }
 
+        // Reporte corto para debugging (mismo formato que generateShortReport())
+        System.out.println(String.format("Stats: Éxito: %.1f%% | CPU: %d%% | Throughput: %.3f | Espera: %.1f",
+                successRate, cpuUsage, throughput, avgWaiting));
+
         // Actualizar estadísticas de interrupciones
-        if (interruptHandler != null) {
-            updateInterruptStats();
-        }
+        updateInterruptStats(snapshot);
     }
 
-    private void updateInterruptStats() {
+    private void updateInterruptStats(SystemSnapshot snapshot) {
         // Crear estadísticas más completas de interrupciones
         String interruptStats = String.format(
             "Interrupts: %d pending, %d processed",
-            interruptHandler.getPendingInterruptCount(),
-            interruptHandler.getTotalProcessedInterrupts() // Necesitarías un método para esto
+            snapshot.getPendingInterrupts(),
+            snapshot.getProcessedInterrupts()
         );
 
         // Buscar la etiqueta y actualizarla
@@ -765,12 +730,49 @@ public class MainFrame extends JFrame {
     
     private void logEvent(String message) {
         int currentCycle = simulationEngine != null ? simulationEngine.getCurrentCycle() : 0;
-        logArea.append("[" + currentCycle + "] " + message + "\n");
+        appendToLogArea("[" + currentCycle + "] " + message + "\n");
+    }
+    
+    private void appendToLogArea(String text) {
+        logArea.append(text);
+        // Recortar lo más viejo para que el área no crezca sin límite
+        int excess = logArea.getDocument().getLength() - LOG_AREA_MAX_CHARS;
+        if (excess > 0) {
+            logArea.replaceRange("", 0, excess);
+        }
         logArea.setCaretPosition(logArea.getDocument().getLength());
     }
     
+    /**
+     * Lleva los eventos del EventLogger al área de log. Acumula la tanda
+     * en el thread del log y la agrega con un solo invokeLater.
+     */
+    private class LogAreaSink implements LogSink {
+        private final StringBuilder pending = new StringBuilder();
+        
+        @Override
+        public void write(LogLevel level, String line) {
+            pending.append(line).append('\n');
+        }
+        
+        @Override
+        public void flush() {
+            if (pending.length() == 0) return;
+            String text = pending.toString();
+            pending.setLength(0);
+            SwingUtilities.invokeLater(() -> appendToLogArea(text));
+        }
+    }
+    
+    private void refreshChart(PerformanceChartPanel chart) {
+        SystemSnapshot snapshot = simulationEngine.getSnapshot();
+        if (snapshot != null) {
+            chart.updateData(snapshot.getCpuUtilizationHistory(), snapshot.getSuccessRateHistory());
+        }
+    }
+    
     private void showPerformanceCharts() {
-        if (statisticsTracker == null) return;
+        if (simulationEngine == null) return;
 
         JDialog dialog = new JDialog(this, "Performance Charts", false);
         dialog.setLayout(new BorderLayout(8, 8));
@@ -783,18 +785,12 @@ public class MainFrame extends JFrame {
 
         PerformanceChartPanel bigChart = new PerformanceChartPanel();
         bigChart.setPreferredSize(new Dimension(760, 360));
-        bigChart.updateData(
-            statisticsTracker.getCPUUtilizationHistory(),
-            statisticsTracker.getSuccessRateHistory()
-        );
+        refreshChart(bigChart);
 
         dialog.add(header, BorderLayout.NORTH);
         dialog.add(bigChart, BorderLayout.CENTER);
 
-        Timer chartTimer = new Timer(500, e -> bigChart.updateData(
-            statisticsTracker.getCPUUtilizationHistory(),
-            statisticsTracker.getSuccessRateHistory()
-        ));
+        Timer chartTimer = new Timer(500, e -> refreshChart(bigChart));
         chartTimer.start();
 
         dialog.addWindowListener(new WindowAdapter() {
@@ -833,9 +829,9 @@ public class MainFrame extends JFrame {
         private int[] cpuData = new int[0];
         private int[] successData = new int[0];
 
-        public void updateData(LinkedList<Integer> cpuHistory, LinkedList<Integer> successHistory) {
-            int cpuSize = cpuHistory != null ? cpuHistory.size() : 0;
-            int successSize = successHistory != null ? successHistory.size() : 0;
+        public void updateData(int[] cpuHistory, int[] successHistory) {
+            int cpuSize = cpuHistory != null ? cpuHistory.length : 0;
+            int successSize = successHistory != null ? successHistory.length : 0;
             int size = Math.max(cpuSize, successSize);
 
             if (size <= 0) {
@@ -847,13 +843,19 @@ public class MainFrame extends JFrame {
 
             cpuData = new int[size];
             successData = new int[size];
+            Arrays.fill(successData, 100);
 
-            for (int i = 0; i < size; i++) {
-                int cpu = (cpuHistory != null && i < cpuHistory.size()) ? cpuHistory.get(i) : 0;
-                int success = (successHistory != null && i < successHistory.size()) ? successHistory.get(i) : 100;
-
-                cpuData[i] = Math.max(0, Math.min(100, cpu));
-                successData[i] = Math.max(0, Math.min(100, success));
+            if (cpuHistory != null) {
+                int i = 0;
+                for (int cpu : cpuHistory) {
+                    cpuData[i++] = Math.max(0, Math.min(100, cpu));
+                }
+            }
+            if (successHistory != null) {
+                int i = 0;
+                for (int success : successHistory) {
+                    successData[i++] = Math.max(0, Math.min(100, success));
+                }
             }
 
             repaint();
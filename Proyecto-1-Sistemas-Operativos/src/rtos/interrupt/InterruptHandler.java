@@ -7,7 +7,14 @@ package rtos.interrupt;
 import rtos.structures.PriorityQueue;
 import rtos.structures.LinkedList;
 import rtos.scheduler.SchedulerManager;
+import rtos.checkpoint.CheckpointReader;
+import rtos.checkpoint.CheckpointWriter;
+import rtos.logging.EventLogger;
+import rtos.logging.LogLevel;
 import rtos.utils.InterruptComparator;
+import rtos.utils.SplitMix64;
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.concurrent.Semaphore;
 
 /**
@@ -37,6 +44,10 @@ public class InterruptHandler {
     
     // Control de ejecución
     private volatile boolean running;
+    private volatile boolean traceEnabled;   // Salida por consola y log de eventos
+    private final EventLogger logger = EventLogger.getDefault();
+    private SplitMix64 random;               // Para generateRandomInterrupt()
+    private final boolean synchronous;       // Sin workers: se atiende en el hilo que la genera
     
     // Semáforos para sincronización (AHORA DE JAVA.UTIL.CONCURRENT)
     private Semaphore queueSemaphore;
@@ -90,7 +101,7 @@ public class InterruptHandler {
         
         @Override
         public void run() {
-            System.out.println(getName() + " iniciado.");
+            trace("{} iniciado.", getName());
             
             while (active && running) {
                 try {
@@ -113,13 +124,13 @@ public class InterruptHandler {
                     }
                     
                 } catch (InterruptedException e) {
-                    System.out.println(getName() + " interrumpido.");
+                    trace("{} interrumpido.", getName());
                     Thread.currentThread().interrupt();
                     break;
                 }
             }
             
-            System.out.println(getName() + " finalizado. Procesó " + processedCount + " interrupciones.");
+            trace("{} finalizado. Procesó {} interrupciones.", getName(), processedCount);
         }
         
         public void stopWorker() {
@@ -136,12 +147,25 @@ public class InterruptHandler {
      * Constructor principal.
      */
     public InterruptHandler(SchedulerManager schedulerManager) {
+        this(schedulerManager, false, true);
+    }
+    
+    /**
+     * @param synchronous true para no crear workers: cada interrupción se
+     *        atiende en el mismo hilo que la genera (motores sin interfaz
+     *        que corren en paralelo, resultados reproducibles)
+     * @param traceEnabled false para no escribir en consola
+     */
+    public InterruptHandler(SchedulerManager schedulerManager, boolean synchronous, boolean traceEnabled) {
         this.interruptQueue = new PriorityQueue<>(new InterruptComparator());
         this.handlerRegistry = new LinkedList<>();
         this.workers = new LinkedList<>();
         this.schedulerManager = schedulerManager;
         this.running = true;
+        this.traceEnabled = traceEnabled;
+        this.synchronous = synchronous;
         this.interruptCallback = null;
+        this.random = new SplitMix64();
         
         // Inicializar semáforos de java.util.concurrent
         this.queueSemaphore = new Semaphore(1);
@@ -151,9 +175,12 @@ public class InterruptHandler {
         setupDefaultHandlers();
         
         // Iniciar threads trabajadores
-        startWorkerThreads();
-        
-        System.out.println("✅ InterruptHandler iniciado con " + NUM_WORKERS + " workers.");
+        if (synchronous) {
+            trace("✅ InterruptHandler iniciado en modo síncrono (sin workers).");
+        } else {
+            startWorkerThreads();
+            trace("✅ InterruptHandler iniciado con {} workers.", NUM_WORKERS);
+        }
     }
     
     /**
@@ -161,7 +188,7 @@ public class InterruptHandler {
      */
     public void registerInterruptCallback(InterruptCallback callback) {
         this.interruptCallback = callback;
-        System.out.println("✅ Callback de interrupciones registrado");
+        trace("✅ Callback de interrupciones registrado");
     }
     
     /**
@@ -222,16 +249,17 @@ public class InterruptHandler {
     public void registerHandler(InterruptType type, Runnable handler, 
                                String description, boolean requiresDedicatedThread) {
         handlerRegistry.add(new HandlerEntry(type, handler, description, requiresDedicatedThread));
-        System.out.println("Handler registrado: " + type + " - " + description);
+        trace("Handler registrado: {} - {}", type, description);
     }
     
     /**
      * Genera una nueva interrupción.
+     * @return La solicitud encolada, o null si el manejador está detenido
      */
-    public void raiseInterrupt(InterruptType type, int priority, String source) {
+    public InterruptRequest raiseInterrupt(InterruptType type, int priority, String source) {
         if (!running) {
-            System.out.println("InterruptHandler detenido, ignorando interrupción.");
-            return;
+            trace("InterruptHandler detenido, ignorando interrupción.");
+            return null;
         }
         
         InterruptRequest request = new InterruptRequest(type, priority, source);
@@ -246,11 +274,11 @@ public class InterruptHandler {
             workerSemaphore.release();
             
             // Log
-            logEvent("Interrupción GENERADA: " + request);
+            logEvent("Interrupción GENERADA: {}", request);
             
             // Si es de máxima prioridad, forzar procesamiento inmediato
             if (priority >= 4) {
-                System.out.println("⚠️  Interrupción de ALTA PRIORIDAD - Notificando inmediatamente");
+                trace("⚠️  Interrupción de ALTA PRIORIDAD - Notificando inmediatamente");
                 // Notificar directamente al callback si está registrado
                 if (interruptCallback != null) {
                     interruptCallback.onInterrupt(request);
@@ -258,9 +286,30 @@ public class InterruptHandler {
                 workerSemaphore.release(); // Asegurar procesamiento rápido
             }
             
+            // Modo síncrono: atender ya, en este hilo
+            if (synchronous) {
+                drainQueue();
+            }
+            
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            System.out.println("Error al generar interrupción: " + e.getMessage());
+            trace("Error al generar interrupción: {}", e.getMessage());
+        }
+        return request;
+    }
+    
+    /**
+     * Atiende todas las interrupciones encoladas en el hilo actual (modo síncrono).
+     */
+    private void drainQueue() throws InterruptedException {
+        while (true) {
+            queueSemaphore.acquire();
+            InterruptRequest request = interruptQueue.isEmpty() ? null : interruptQueue.extractMin();
+            queueSemaphore.release();
+            if (request == null) {
+                return;
+            }
+            processInterrupt(request);
         }
     }
     
@@ -268,7 +317,7 @@ public class InterruptHandler {
      * Procesa una interrupción específica.
      */
     private void processInterrupt(InterruptRequest request) {
-        logEvent("Procesando interrupción: " + request.getType());
+        logEvent("Procesando interrupción: {}", request.getType());
         
         // Buscar handler
         HandlerEntry entry = findHandlerEntry(request.getType());
@@ -279,16 +328,16 @@ public class InterruptHandler {
                 interruptCallback.onInterrupt(request);
             }
             
-            if (entry.requiresDedicatedThread) {
+            if (entry.requiresDedicatedThread && !synchronous) {
                 createDedicatedThread(entry, request);
             } else {
                 executeHandler(entry.handler, request);
             }
             
             request.markHandled();
-            logEvent("Interrupción ATENDIDA: " + request.getType());
+            logEvent("Interrupción ATENDIDA: {}", request.getType());
         } else {
-            System.out.println("⚠️  No hay handler registrado para: " + request.getType());
+            trace("⚠️  No hay handler registrado para: {}", request.getType());
         }
     }
     
@@ -297,12 +346,12 @@ public class InterruptHandler {
      */
     private void createDedicatedThread(HandlerEntry entry, InterruptRequest request) {
         Thread dedicatedThread = new Thread(() -> {
-            logEvent("Thread DEDICADO iniciado para: " + entry.type);
+            logEvent("Thread DEDICADO iniciado para: {}", entry.type);
             
             // Ejecutar handler
             executeHandler(entry.handler, request);
             
-            logEvent("Thread DEDICADO finalizado para: " + entry.type);
+            logEvent("Thread DEDICADO finalizado para: {}", entry.type);
         }, "Dedicated-ISR-" + entry.type);
         
         dedicatedThread.start();
@@ -317,11 +366,10 @@ public class InterruptHandler {
             handler.run();
             long duration = System.currentTimeMillis() - startTime;
             
-            logEvent(String.format("Handler ejecutado en %d ms para: %s", 
-                     duration, request.getType()));
+            logEvent("Handler ejecutado en {} ms para: {}", duration, request.getType());
                      
         } catch (Exception e) {
-            System.out.println("❌ ERROR en handler para " + request.getType() + ": " + e.getMessage());
+            trace("❌ ERROR en handler para {}: {}", request.getType(), e.getMessage());
             e.printStackTrace();
         }
     }
@@ -330,8 +378,7 @@ public class InterruptHandler {
      * Busca un handler entry por tipo.
      */
     private HandlerEntry findHandlerEntry(InterruptType type) {
-        for (int i = 0; i < handlerRegistry.size(); i++) {
-            HandlerEntry entry = handlerRegistry.get(i);
+        for (HandlerEntry entry : handlerRegistry) {
             if (entry.type == type) {
                 return entry;
             }
@@ -342,10 +389,10 @@ public class InterruptHandler {
     // ========== HANDLERS ESPECÍFICOS ==========
     
     private void handleMicrometeorite() {
-        System.out.println("🚨🚨🚨 ALERTA MÁXIMA: IMPACTO DE MICRO-METEORITO DETECTADO");
-        System.out.println("   -> Activando protocolos de emergencia");
-        System.out.println("   -> Aislando secciones afectadas");
-        System.out.println("   -> Redirigiendo potencia a sistemas críticos");
+        trace("🚨🚨🚨 ALERTA MÁXIMA: IMPACTO DE MICRO-METEORITO DETECTADO");
+        trace("   -> Activando protocolos de emergencia");
+        trace("   -> Aislando secciones afectadas");
+        trace("   -> Redirigiendo potencia a sistemas críticos");
         
         if (schedulerManager != null) {
             schedulerManager.handleEmergency();
@@ -353,30 +400,30 @@ public class InterruptHandler {
     }
     
     private void handleSolarFlare() {
-        System.out.println("⚠️⚠️ ALERTA: RÁFAGA SOLAR DETECTADA");
-        System.out.println("   -> Reduciendo potencia en paneles solares");
-        System.out.println("   -> Orientando nave para protección");
-        System.out.println("   -> Activando blindaje electromagnético");
+        trace("⚠️⚠️ ALERTA: RÁFAGA SOLAR DETECTADA");
+        trace("   -> Reduciendo potencia en paneles solares");
+        trace("   -> Orientando nave para protección");
+        trace("   -> Activando blindaje electromagnético");
     }
     
     private void handleGroundCommand() {
-        System.out.println("📡 COMANDO DESDE TIERRA RECIBIDO");
-        System.out.println("   -> Procesando instrucciones...");
-        System.out.println("   -> Validando autorización...");
-        System.out.println("   -> Ejecutando comando...");
+        trace("📡 COMANDO DESDE TIERRA RECIBIDO");
+        trace("   -> Procesando instrucciones...");
+        trace("   -> Validando autorización...");
+        trace("   -> Ejecutando comando...");
     }
     
     private void handleIOCompletion() {
-        System.out.println("✅ OPERACIÓN DE E/S COMPLETADA");
+        trace("✅ OPERACIÓN DE E/S COMPLETADA");
         if (schedulerManager != null) {
             schedulerManager.notifyIOCompletion();
         }
     }
     
     private void handleDeadlineMissed() {
-        System.out.println("⏰⏰ DEADLINE INCUMPLIDO DETECTADO");
-        System.out.println("   -> Revisando procesos atrasados");
-        System.out.println("   -> Recalculando planificación");
+        trace("⏰⏰ DEADLINE INCUMPLIDO DETECTADO");
+        trace("   -> Revisando procesos atrasados");
+        trace("   -> Recalculando planificación");
         
         if (schedulerManager != null) {
             schedulerManager.handleDeadlineMissed();
@@ -384,10 +431,10 @@ public class InterruptHandler {
     }
     
     private void handleSystemError() {
-        System.out.println("❌❌❌ ERROR CRÍTICO DEL SISTEMA");
-        System.out.println("   -> Iniciando diagnóstico automático");
-        System.out.println("   -> Activando sistemas redundantes");
-        System.out.println("   -> Notificando a estación terrestre");
+        trace("❌❌❌ ERROR CRÍTICO DEL SISTEMA");
+        trace("   -> Iniciando diagnóstico automático");
+        trace("   -> Activando sistemas redundantes");
+        trace("   -> Notificando a estación terrestre");
         
         if (schedulerManager != null) {
             schedulerManager.handleSystemError();
@@ -396,34 +443,67 @@ public class InterruptHandler {
     
     // ========== MÉTODOS DE LOGGING ==========
     
-    private void logEvent(String message) {
-        String timestamp = String.format("[%tT]", System.currentTimeMillis());
-        String threadName = Thread.currentThread().getName();
-        String logMessage = timestamp + " [" + threadName + "] " + message;
-        
-        System.out.println(logMessage);
-        
-        if (schedulerManager != null) {
-            schedulerManager.logEvent(logMessage);
+    // Sin ciclo: el EventLogger les pone la hora y el thread que la atendió
+    
+    private void logEvent(String pattern, Object arg0) {
+        if (traceEnabled && logger.isEnabled(LogLevel.INFO)) {
+            logger.log(LogLevel.INFO, -1, pattern, arg0);
+        }
+    }
+    
+    private void logEvent(String pattern, Object arg0, Object arg1) {
+        if (traceEnabled && logger.isEnabled(LogLevel.INFO)) {
+            logger.log(LogLevel.INFO, -1, pattern, arg0, arg1);
+        }
+    }
+    
+    private void trace(String message) {
+        if (traceEnabled && logger.isEnabled(LogLevel.DEBUG)) {
+            logger.log(LogLevel.DEBUG, -1, message);
+        }
+    }
+    
+    private void trace(String pattern, Object arg0) {
+        if (traceEnabled && logger.isEnabled(LogLevel.DEBUG)) {
+            logger.log(LogLevel.DEBUG, -1, pattern, arg0);
         }
     }
     
+    private void trace(String pattern, Object arg0, Object arg1) {
+        if (traceEnabled && logger.isEnabled(LogLevel.DEBUG)) {
+            logger.log(LogLevel.DEBUG, -1, pattern, arg0, arg1);
+        }
+    }
+    
+    /**
+     * Activa o desactiva la salida por consola (modo sin interfaz).
+     */
+    public void setTraceEnabled(boolean traceEnabled) {
+        this.traceEnabled = traceEnabled;
+    }
+    
+    public boolean isSynchronous() {
+        return synchronous;
+    }
+    
+    public boolean isTraceEnabled() {
+        return traceEnabled;
+    }
+    
     // ========== MÉTODOS PÚBLICOS ==========
     
     /**
      * Detiene el InterruptHandler y todos sus threads.
      */
     public void shutdown() {
-        System.out.println("Deteniendo InterruptHandler...");
+        trace("Deteniendo InterruptHandler...");
         running = false;
         
-        for (int i = 0; i < workers.size(); i++) {
-            workers.get(i).stopWorker();
-        }
+        workers.forEach(InterruptWorker::stopWorker);
         
         workerSemaphore.release(workers.size());
         
-        System.out.println("InterruptHandler detenido.");
+        trace("InterruptHandler detenido.");
     }
     
     /**
@@ -464,8 +544,7 @@ public class InterruptHandler {
     public String getWorkerStats() {
         StringBuilder stats = new StringBuilder();
         stats.append("=== Estadísticas de Workers ===\n");
-        for (int i = 0; i < workers.size(); i++) {
-            InterruptWorker worker = workers.get(i);
+        for (InterruptWorker worker : workers) {
             stats.append(String.format("  %s: %d interrupciones procesadas\n", 
                          worker.getName(), worker.getProcessedCount()));
         }
@@ -475,10 +554,11 @@ public class InterruptHandler {
     
     /**
      * Genera una interrupción aleatoria (para pruebas).
+     * @return La solicitud generada, o null si el manejador está detenido
      */
-    public void generateRandomInterrupt() {
+    public InterruptRequest generateRandomInterrupt() {
         InterruptType[] types = InterruptType.values();
-        InterruptType randomType = types[(int) (Math.random() * types.length)];
+        InterruptType randomType = types[nextRandomIndex(types.length)];
         
         int priority = switch (randomType) {
             case MICROMETEORITE -> 5;
@@ -491,9 +571,79 @@ public class InterruptHandler {
         
         String[] devices = {"Paneles Solares", "Sistema de Navegación", 
                            "Comunicaciones", "Sensores", "Propulsión", "CPU", "RAM"};
-        String randomDevice = devices[(int) (Math.random() * devices.length)];
+        String randomDevice = devices[nextRandomIndex(devices.length)];
         
-        raiseInterrupt(randomType, priority, randomDevice);
+        return raiseInterrupt(randomType, priority, randomDevice);
+    }
+    
+    private synchronized int nextRandomIndex(int bound) {
+        return random.nextInt(bound);
+    }
+    
+    /**
+     * Reemplaza el flujo aleatorio de las interrupciones generadas (lo fija
+     * SimulationEngine a partir de su semilla).
+     */
+    public synchronized void setRandom(SplitMix64 random) {
+        if (random != null) {
+            this.random = random;
+        }
+    }
+    
+    /**
+     * Copia del flujo aleatorio en su punto actual (para guardarla en un
+     * checkpoint sin avanzarlo: el motor original y el restaurado siguen
+     * sorteando igual).
+     */
+    public synchronized SplitMix64 getRandom() {
+        return random.copy();
+    }
+    
+    // ========== CHECKPOINT ==========
+    
+    /**
+     * Guarda las interrupciones pendientes en orden de atención.
+     */
+    public void writeCheckpoint(CheckpointWriter out) throws IOException {
+        LinkedList<InterruptRequest> pending;
+        try {
+            queueSemaphore.acquire();
+            pending = interruptQueue.toSortedLinkedList();
+            queueSemaphore.release();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("InterruptHandler: Interrupción durante el checkpoint");
+        }
+        out.writeInt(pending.size());
+        for (InterruptRequest request : pending) {
+            out.writeEnum(request.getType());
+            out.writeInt(request.getPriority());
+            out.writeString(request.getSourceDevice());
+        }
+    }
+    
+    /**
+     * Vuelve a encolar las interrupciones guardadas, sin atenderlas todavía
+     * (se atienden con la próxima que llegue o las toman los workers).
+     */
+    public void readCheckpoint(CheckpointReader in) throws IOException {
+        int count = in.readInt();
+        try {
+            queueSemaphore.acquire();
+            try {
+                for (int i = 0; i < count; i++) {
+                    InterruptType type = in.readEnum(InterruptType.values());
+                    int priority = in.readInt();
+                    interruptQueue.insert(new InterruptRequest(type, priority, in.readString()));
+                    workerSemaphore.release();
+                }
+            } finally {
+                queueSemaphore.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("InterruptHandler: Interrupción durante el checkpoint");
+        }
     }
     
     /**
@@ -507,17 +657,13 @@ public class InterruptHandler {
      * Obtiene la lista de handlers registrados.
      */
     public LinkedList<HandlerEntry> getRegisteredHandlers() {
-        LinkedList<HandlerEntry> copy = new LinkedList<>();
-        for (int i = 0; i < handlerRegistry.size(); i++) {
-            copy.add(handlerRegistry.get(i));
-        }
-        return copy;
+        return handlerRegistry.copy();
     }
     
     public int getTotalProcessedInterrupts() {
         int total = 0;
-        for (int i = 0; i < workers.size(); i++) {
-            total += workers.get(i).getProcessedCount();
+        for (InterruptWorker worker : workers) {
+            total += worker.getProcessedCount();
         }
         return total;
     }
@@ -0,0 +1,35 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.logging;
+
+/**
+ *
+ * @author VictorB
+ */
+
+/**
+ * Escribe el log en System.out, una sola vez por tanda.
+ */
+public class ConsoleLogSink implements LogSink {
+    private final StringBuilder pending;
+
+    public ConsoleLogSink() {
+        this.pending = new StringBuilder();
+    }
+
+    @Override
+    public void write(LogLevel level, String line) {
+        pending.append(line).append(System.lineSeparator());
+    }
+
+    @Override
+    public void flush() {
+        if (pending.length() > 0) {
+            System.out.print(pending);
+            System.out.flush();
+            pending.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,408 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.logging;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log de eventos asíncrono.
+ *
+ * Los productores (ciclo de simulación, workers de interrupciones, GUI) solo
+ * copian el patrón y sus argumentos a una casilla de un buffer circular sin
+ * locks; el texto se arma después, en un thread consumidor, que lo entrega a
+ * los destinos (consola, archivo, historial, interfaz). Si el nivel del
+ * mensaje no pasa el umbral no se formatea nada.
+ *
+ * Los patrones usan {} para cada argumento: "Proceso {} en RAM ({}/{})".
+ * Si el buffer está lleno el mensaje se descarta y se cuenta, para que el
+ * log nunca frene la simulación.
+ */
+public final class EventLogger {
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int HISTORY_SIZE = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int MAX_ARGS = 3;
+
+    private static final EventLogger DEFAULT = createDefault();
+
+    // ========== BUFFER CIRCULAR (una casilla por mensaje) ==========
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;   // Estado de cada casilla (ver publish)
+    private final LogLevel[] levels;
+    private final int[] cycles;
+    private final long[] times;
+    private final String[] threads;
+    private final String[] patterns;
+    private final Object[] args;               // MAX_ARGS por casilla
+    private final int[] argCounts;
+    private final AtomicLong tail;             // Próxima secuencia a reclamar (productores)
+    private long head;                         // Próxima secuencia a consumir (solo el consumidor)
+    private volatile long written;             // Secuencias ya entregadas a los destinos
+    private final AtomicLong dropped;
+
+    // ========== CONSUMIDOR Y DESTINOS ==========
+    private volatile LogLevel level;
+    private volatile LogSink[] sinks;
+    private volatile LogLevel[] sinkLevels;
+    private final Semaphore sinksSemaphore;    // Solo para modificar la lista de destinos
+    private final RecentLogSink history;
+    private final AtomicBoolean started;
+    private volatile Thread consumer;
+
+    /**
+     * @param capacity Mensajes pendientes que caben (se redondea a potencia de 2)
+     */
+    public EventLogger(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);                 // Casilla i libre para la secuencia i
+        }
+        this.levels = new LogLevel[size];
+        this.cycles = new int[size];
+        this.times = new long[size];
+        this.threads = new String[size];
+        this.patterns = new String[size];
+        this.args = new Object[size * MAX_ARGS];
+        this.argCounts = new int[size];
+        this.tail = new AtomicLong(0);
+        this.head = 0;
+        this.written = 0;
+        this.dropped = new AtomicLong(0);
+
+        this.level = LogLevel.DEBUG;
+        this.sinks = new LogSink[0];
+        this.sinkLevels = new LogLevel[0];
+        this.sinksSemaphore = new Semaphore(1);
+        this.history = new RecentLogSink(HISTORY_SIZE);
+        this.started = new AtomicBoolean(false);
+        addSink(history, LogLevel.INFO);
+    }
+
+    /**
+     * Log compartido por el motor, el scheduler y el manejador de interrupciones.
+     * Escribe en consola; el umbral sale de la propiedad rtos.log.level y,
+     * si está la propiedad rtos.log.file, también escribe en ese archivo.
+     */
+    public static EventLogger getDefault() {
+        return DEFAULT;
+    }
+
+    private static EventLogger createDefault() {
+        EventLogger logger = new EventLogger(DEFAULT_CAPACITY);
+        logger.addSink(new ConsoleLogSink(), LogLevel.TRACE);
+
+        String configuredLevel = System.getProperty("rtos.log.level");
+        if (configuredLevel != null) {
+            try {
+                logger.setLevel(LogLevel.valueOf(configuredLevel.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                System.err.println("⚠️ Nivel de log no válido: " + configuredLevel);
+            }
+        }
+
+        String file = System.getProperty("rtos.log.file");
+        if (file != null && !file.isEmpty()) {
+            try {
+                logger.addSink(new FileLogSink(Paths.get(file)), LogLevel.TRACE);
+            } catch (IOException e) {
+                System.err.println("❌ No se pudo abrir el log " + file + ": " + e.getMessage());
+            }
+        }
+        return logger;
+    }
+
+    // ========== PRODUCTORES ==========
+
+    /**
+     * Chequeo barato para no armar argumentos que no se van a usar.
+     */
+    public boolean isEnabled(LogLevel messageLevel) {
+        return messageLevel.passes(level);
+    }
+
+    /**
+     * @param cycle Ciclo de simulación del evento (-1 si no aplica)
+     */
+    public void log(LogLevel messageLevel, int cycle, String message) {
+        if (messageLevel.passes(level)) {
+            publish(messageLevel, cycle, message, 0, null, null, null);
+        }
+    }
+
+    public void log(LogLevel messageLevel, int cycle, String pattern, Object arg0) {
+        if (messageLevel.passes(level)) {
+            publish(messageLevel, cycle, pattern, 1, arg0, null, null);
+        }
+    }
+
+    public void log(LogLevel messageLevel, int cycle, String pattern, Object arg0, Object arg1) {
+        if (messageLevel.passes(level)) {
+            publish(messageLevel, cycle, pattern, 2, arg0, arg1, null);
+        }
+    }
+
+    public void log(LogLevel messageLevel, int cycle, String pattern, Object arg0, Object arg1, Object arg2) {
+        if (messageLevel.passes(level)) {
+            publish(messageLevel, cycle, pattern, 3, arg0, arg1, arg2);
+        }
+    }
+
+    /**
+     * Cola acotada de varios productores y un consumidor: la casilla de la
+     * secuencia s está libre cuando sequences[s & mask] == s y lista para el
+     * consumidor cuando vale s + 1. Los productores solo compiten por tail.
+     */
+    private void publish(LogLevel messageLevel, int cycle, String pattern, int argCount,
+                         Object arg0, Object arg1, Object arg2) {
+        long sequence;
+        int index;
+        while (true) {
+            sequence = tail.get();
+            index = (int) (sequence & mask);
+            long slotSequence = sequences.get(index);
+            if (slotSequence == sequence) {
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    break;
+                }
+            } else if (slotSequence < sequence) {
+                dropped.incrementAndGet();       // Lleno: el consumidor no alcanzó
+                return;
+            }
+            // Otro productor ganó esta secuencia: reintentar con la siguiente
+        }
+
+        levels[index] = messageLevel;
+        cycles[index] = cycle;
+        times[index] = System.currentTimeMillis();
+        threads[index] = Thread.currentThread().getName();
+        patterns[index] = pattern;
+        argCounts[index] = argCount;
+        int base = index * MAX_ARGS;
+        args[base] = arg0;
+        args[base + 1] = arg1;
+        args[base + 2] = arg2;
+        sequences.set(index, sequence + 1);      // Publicar (escritura volátil)
+
+        if (!started.get()) {
+            startConsumer();
+        }
+    }
+
+    // ========== CONSUMIDOR ==========
+
+    private void startConsumer() {
+        if (started.compareAndSet(false, true)) {
+            Thread thread = new Thread(this::consumeLoop, "EventLogger");
+            thread.setDaemon(true);
+            consumer = thread;
+            thread.start();
+        }
+    }
+
+    private void consumeLoop() {
+        while (true) {
+            if (!drain()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Consume todo lo publicado y vacía los destinos una vez.
+     * @return true si había algo
+     */
+    private boolean drain() {
+        LogSink[] currentSinks = sinks;
+        LogLevel[] currentLevels = sinkLevels;
+        boolean consumed = false;
+        long sequence = head;
+        while (true) {
+            int index = (int) (sequence & mask);
+            if (sequences.get(index) != sequence + 1) {
+                break;
+            }
+            LogLevel messageLevel = levels[index];
+            String line = formatLine(index);
+
+            // Liberar la casilla antes de escribir (los productores no esperan a la E/S)
+            int base = index * MAX_ARGS;
+            patterns[index] = null;
+            threads[index] = null;
+            args[base] = null;
+            args[base + 1] = null;
+            args[base + 2] = null;
+            sequences.set(index, sequence + capacity);
+            sequence++;
+            consumed = true;
+
+            for (int i = 0; i < currentSinks.length; i++) {
+                if (messageLevel.passes(currentLevels[i])) {
+                    try {
+                        currentSinks[i].write(messageLevel, line);
+                    } catch (RuntimeException e) {
+                        System.err.println("❌ Error en destino de log: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        if (consumed) {
+            head = sequence;
+            for (LogSink sink : currentSinks) {
+                try {
+                    sink.flush();
+                } catch (RuntimeException e) {
+                    System.err.println("❌ Error en destino de log: " + e.getMessage());
+                }
+            }
+            written = sequence;
+        }
+        return consumed;
+    }
+
+    /**
+     * Las trazas (DEBUG/TRACE) salen tal cual; los eventos llevan el ciclo,
+     * o la hora y el thread si no tienen ciclo.
+     */
+    private String formatLine(int index) {
+        String message = format(patterns[index], argCounts[index], index * MAX_ARGS);
+        if (levels[index].ordinal() < LogLevel.INFO.ordinal()) {
+            return message;
+        }
+        if (cycles[index] >= 0) {
+            return "[Ciclo " + cycles[index] + "] " + message;
+        }
+        return String.format("[%tT] [%s] %s", times[index], threads[index], message);
+    }
+
+    private String format(String pattern, int argCount, int base) {
+        if (pattern == null) {
+            return "null";
+        }
+        if (argCount == 0) {
+            return pattern;
+        }
+        StringBuilder sb = new StringBuilder(pattern.length() + 16 * argCount);
+        int from = 0;
+        int used = 0;
+        while (used < argCount) {
+            int marker = pattern.indexOf("{}", from);
+            if (marker < 0) {
+                break;
+            }
+            sb.append(pattern, from, marker).append(args[base + used]);
+            used++;
+            from = marker + 2;
+        }
+        sb.append(pattern, from, pattern.length());
+        return sb.toString();
+    }
+
+    /**
+     * Espera a que el consumidor escriba todo lo publicado hasta ahora
+     * (con un límite de un segundo). No hace nada si lo llama un destino.
+     */
+    public void flush() {
+        if (Thread.currentThread() == consumer || !started.get()) {
+            return;
+        }
+        long target = tail.get();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        while (written < target && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS / 4);
+        }
+    }
+
+    // ========== DESTINOS ==========
+
+    /**
+     * @param minimum Nivel mínimo que recibe este destino
+     */
+    public void addSink(LogSink sink, LogLevel minimum) {
+        sinksSemaphore.acquireUninterruptibly();
+        try {
+            int n = sinks.length;
+            LogSink[] newSinks = new LogSink[n + 1];
+            LogLevel[] newLevels = new LogLevel[n + 1];
+            System.arraycopy(sinks, 0, newSinks, 0, n);
+            System.arraycopy(sinkLevels, 0, newLevels, 0, n);
+            newSinks[n] = sink;
+            newLevels[n] = minimum;
+            sinkLevels = newLevels;
+            sinks = newSinks;
+        } finally {
+            sinksSemaphore.release();
+        }
+    }
+
+    public boolean removeSink(LogSink sink) {
+        sinksSemaphore.acquireUninterruptibly();
+        try {
+            int n = sinks.length;
+            for (int i = 0; i < n; i++) {
+                if (sinks[i] == sink) {
+                    LogSink[] newSinks = new LogSink[n - 1];
+                    LogLevel[] newLevels = new LogLevel[n - 1];
+                    System.arraycopy(sinks, 0, newSinks, 0, i);
+                    System.arraycopy(sinks, i + 1, newSinks, i, n - i - 1);
+                    System.arraycopy(sinkLevels, 0, newLevels, 0, i);
+                    System.arraycopy(sinkLevels, i + 1, newLevels, i, n - i - 1);
+                    sinkLevels = newLevels;
+                    sinks = newSinks;
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            sinksSemaphore.release();
+        }
+    }
+
+    // ========== GETTERS Y SETTERS ==========
+
+    /**
+     * Últimas líneas de nivel INFO o mayor.
+     */
+    public RecentLogSink getHistory() {
+        return history;
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(LogLevel level) {
+        if (level != null) {
+            this.level = level;
+        }
+    }
+
+    /**
+     * Mensajes descartados porque el buffer estaba lleno.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
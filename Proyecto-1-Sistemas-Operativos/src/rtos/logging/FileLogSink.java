@@ -0,0 +1,69 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.logging;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Agrega el log al final de un archivo de texto (UTF-8).
+ */
+public class FileLogSink implements LogSink, AutoCloseable {
+    private final Path path;
+    private final BufferedWriter writer;
+    private boolean failed;
+
+    public FileLogSink(Path path) throws IOException {
+        this.path = path;
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.failed = false;
+    }
+
+    @Override
+    public void write(LogLevel level, String line) {
+        if (failed) return;
+        try {
+            writer.write(line);
+            writer.newLine();
+        } catch (IOException e) {
+            reportFailure(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (failed) return;
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            reportFailure(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // Un disco lleno no debe tumbar el consumidor: se avisa una vez y se deja de escribir
+    private void reportFailure(IOException e) {
+        failed = true;
+        System.err.println("❌ No se pudo escribir el log en " + path + ": " + e.getMessage());
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Enum.java to edit this template
+ */
+package rtos.logging;
+
+/**
+ *
+ * @author VictorB
+ */
+
+/**
+ * Niveles del log de eventos, de menor a mayor importancia.
+ * Un mensaje se registra solo si su nivel es igual o mayor al umbral.
+ */
+public enum LogLevel {
+    TRACE,   // Detalle instrucción por instrucción
+    DEBUG,   // Trazas de consola de los componentes
+    INFO,    // Eventos del sistema (los que muestra el log)
+    WARN,    // Situaciones anómalas (sistema lleno, deadline perdido)
+    ERROR,   // Fallos
+    OFF;     // Umbral que apaga todo
+
+    /**
+     * @return true si un mensaje de este nivel pasa el umbral dado
+     */
+    public boolean passes(LogLevel threshold) {
+        return this != OFF && ordinal() >= threshold.ordinal();
+    }
+}
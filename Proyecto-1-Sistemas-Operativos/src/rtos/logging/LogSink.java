@@ -0,0 +1,30 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package rtos.logging;
+
+/**
+ *
+ * @author VictorB
+ */
+
+/**
+ * Destino de las líneas del log (consola, archivo, interfaz...).
+ * Solo lo llama el thread consumidor del EventLogger, así que una
+ * implementación no necesita sincronizarse con los productores.
+ */
+public interface LogSink {
+
+    /**
+     * Recibe una línea ya formateada.
+     */
+    void write(LogLevel level, String line);
+
+    /**
+     * Se llama al terminar cada tanda de líneas: buen momento para
+     * vaciar buffers o pasar el texto acumulado a la interfaz.
+     */
+    default void flush() {
+    }
+}
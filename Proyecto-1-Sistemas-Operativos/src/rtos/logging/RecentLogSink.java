@@ -0,0 +1,82 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.logging;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.Semaphore;
+import rtos.structures.LinkedList;
+
+/**
+ * Guarda las últimas N líneas del log en un arreglo circular, para
+ * consultarlas desde otros threads (getEventLogs, getRecentLogs).
+ */
+public class RecentLogSink implements LogSink {
+    private final String[] lines;
+    private int next;             // Posición donde va la próxima línea
+    private int count;            // Líneas guardadas (hasta lines.length)
+    private final Semaphore mutex;
+
+    public RecentLogSink(int capacity) {
+        this.lines = new String[Math.max(1, capacity)];
+        this.next = 0;
+        this.count = 0;
+        this.mutex = new Semaphore(1);
+    }
+
+    @Override
+    public void write(LogLevel level, String line) {
+        mutex.acquireUninterruptibly();
+        try {
+            lines[next] = line;
+            next = (next + 1) % lines.length;
+            if (count < lines.length) {
+                count++;
+            }
+        } finally {
+            mutex.release();
+        }
+    }
+
+    /**
+     * @return Las últimas count líneas, de la más vieja a la más nueva
+     */
+    public LinkedList<String> getRecent(int count) {
+        LinkedList<String> recent = new LinkedList<>();
+        mutex.acquireUninterruptibly();
+        try {
+            int take = Math.max(0, Math.min(count, this.count));
+            int start = next - take;
+            if (start < 0) {
+                start += lines.length;
+            }
+            for (int i = 0; i < take; i++) {
+                recent.add(lines[(start + i) % lines.length]);
+            }
+        } finally {
+            mutex.release();
+        }
+        return recent;
+    }
+
+    public int getCapacity() {
+        return lines.length;
+    }
+
+    public void clear() {
+        mutex.acquireUninterruptibly();
+        try {
+            next = 0;
+            count = 0;
+            Arrays.fill(lines, null);
+        } finally {
+            mutex.release();
+        }
+    }
+}
@@ -3,306 +3,272 @@
  * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
  */
 package rtos.memory;
+import rtos.checkpoint.CheckpointReader;
+import rtos.checkpoint.CheckpointWriter;
 import rtos.model.Process;
 import rtos.model.ProcessState;
+import rtos.structures.IndexedPriorityQueue;
+import rtos.structures.IntrusiveList;
 import rtos.structures.LinkedList;
-import java.util.concurrent.Semaphore;
+import rtos.utils.Comparator;
+import java.io.IOException;
 
 /**
  * @luisf
- * MemoryManager con semáforos de java.util.concurrent para sincronización concurrente
+ * MemoryManager: RAM, listos suspendidos y bloqueados suspendidos.
  * Usa solo LinkedList propia y estructuras creadas por ti
+ *
+ * No es thread-safe: solo lo usa el thread de ciclos de SimulationEngine
+ * (dueño único del estado). La interfaz lee el SystemSnapshot publicado.
  */
 public class MemoryManager {
     private final int maxProcessesInRAM;
-    private final LinkedList<Process> processesInRAM;
-    private final LinkedList<Process> readySuspendedQueue;
-    private final LinkedList<Process> blockedSuspendedQueue;
+    // Listas intrusivas: sacar un proceso conocido es O(1)
+    private final IntrusiveList<Process> processesInRAM;
+    private final IntrusiveList<Process> readySuspendedQueue;
+    private final IntrusiveList<Process> blockedSuspendedQueue;
     
-    // ========== SEMÁFOROS PARA SINCRONIZACIÓN ==========
-    private final Semaphore ramSemaphore;       // Para acceso exclusivo a RAM
-    private final Semaphore readySuspendSemaphore; // Para readySuspendedQueue
-    private final Semaphore blockedSuspendSemaphore; // Para blockedSuspendedQueue
-    private final Semaphore operationSemaphore; // Para operaciones complejas
+    // Montículos (slot HEAP_MEMORY) para no recorrer las listas: candidatos a
+    // suspender en RAM, bloqueados y el resto (los de prioridad 1 nunca se
+    // suspenden y no entran), y listos suspendidos por deadline más cercano.
+    private final IndexedPriorityQueue<Process> blockedVictims;
+    private final IndexedPriorityQueue<Process> readyVictims;
+    private final IndexedPriorityQueue<Process> activationQueue;
+    private long nextMemoryOrder;
+    
+    // Aviso a SimulationEngine cuando un proceso listo vuelve a RAM
+    private volatile ActivationCallback activationCallback;
+    // Aviso de cada entrada y salida de RAM (para la traza de eventos)
+    private volatile SwapListener swapListener;
+    
+    /**
+     * Callback para notificar que un proceso READY_SUSPENDED volvió a RAM
+     * (y debe volver a la cola de listos).
+     */
+    public interface ActivationCallback {
+        void onProcessActivated(Process process);
+    }
+    
+    /**
+     * Recibe cada proceso que sale de RAM (suspendido) o vuelve a ella,
+     * ya con su nuevo estado.
+     */
+    public interface SwapListener {
+        void onSwapOut(Process process);
+        void onSwapIn(Process process);
+    }
     
     public MemoryManager(int maxProcessesInRAM) {
         this.maxProcessesInRAM = maxProcessesInRAM;
-        this.processesInRAM = new LinkedList<>();
-        this.readySuspendedQueue = new LinkedList<>();
-        this.blockedSuspendedQueue = new LinkedList<>();
-        
-        // Inicializar semáforos de java.util.concurrent
-        this.ramSemaphore = new Semaphore(1);        // Mutex para RAM
-        this.readySuspendSemaphore = new Semaphore(1); // Mutex para ready suspend
-        this.blockedSuspendSemaphore = new Semaphore(1); // Mutex para blocked suspend
-        this.operationSemaphore = new Semaphore(1);  // Mutex para operaciones
+        this.processesInRAM = new IntrusiveList<>(Process.LINK_RAM);
+        this.readySuspendedQueue = new IntrusiveList<>(Process.LINK_READY_SUSPENDED);
+        this.blockedSuspendedQueue = new IntrusiveList<>(Process.LINK_BLOCKED_SUSPENDED);
+        this.blockedVictims = new IndexedPriorityQueue<>(Process.HEAP_MEMORY, new Comparator.FarthestDeadlineComparator());
+        this.readyVictims = new IndexedPriorityQueue<>(Process.HEAP_MEMORY, new Comparator.FarthestDeadlineComparator());
+        this.activationQueue = new IndexedPriorityQueue<>(Process.HEAP_MEMORY, new Comparator.NearestDeadlineComparator());
+        this.nextMemoryOrder = 0;
     }
     
-    // ========== MÉTODO PRINCIPAL CON SEMÁFOROS ==========
+    public void registerActivationCallback(ActivationCallback callback) {
+        this.activationCallback = callback;
+    }
+    
+    public void registerSwapListener(SwapListener listener) {
+        this.swapListener = listener;
+    }
+    
+    private void notifySwapOut(Process process) {
+        SwapListener listener = swapListener;
+        if (listener != null) {
+            listener.onSwapOut(process);
+        }
+    }
+    
+    private void notifySwapIn(Process process) {
+        SwapListener listener = swapListener;
+        if (listener != null) {
+            listener.onSwapIn(process);
+        }
+    }
+    
+    // ========== MÉTODO PRINCIPAL ==========
     
     /**
-     * Agrega proceso al sistema con sincronización segura.
+     * Agrega proceso al sistema.
      * @param process Proceso a agregar
      * @return true si entró a RAM, false si fue suspendido
      */
     public boolean addProcess(Process process) {
-        try {
-            // Adquirir semáforo de operación
-            operationSemaphore.acquire();
-            
-            // Caso 1: Espacio disponible en RAM
-            ramSemaphore.acquire();
-            boolean hasSpace = processesInRAM.size() < maxProcessesInRAM;
-            ramSemaphore.release();
-            
-            if (hasSpace) {
-                ramSemaphore.acquire();
-                processesInRAM.add(process);
-                ramSemaphore.release();
-                operationSemaphore.release();
-                return true;
-            }
-            
-            // Caso 2: RAM llena - intentar suspender proceso existente
-            Process toSuspend = findProcessToSuspend();
-            
-            if (toSuspend != null) {
-                suspendProcess(toSuspend);
-                
-                ramSemaphore.acquire();
-                processesInRAM.add(process);
-                ramSemaphore.release();
-                
-                operationSemaphore.release();
-                return true;
-            }
-            
-            // Caso 3: No se pudo suspender - nuevo proceso va suspendido
-            process.setState(ProcessState.READY_SUSPENDED);
-            
-            readySuspendSemaphore.acquire();
-            readySuspendedQueue.add(process);
-            readySuspendSemaphore.release();
-            
-            operationSemaphore.release();
-            return false;
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            System.out.println("MemoryManager: Interrupción al agregar proceso");
-            return false;
+        // Caso 1: Espacio disponible en RAM
+        if (hasSpaceInRAM()) {
+            addToRAM(process);
+            return true;
+        }
+        
+        // Caso 2: RAM llena - intentar suspender proceso existente
+        Process toSuspend = findProcessToSuspend();
+        
+        if (toSuspend != null) {
+            suspendProcess(toSuspend);
+            addToRAM(process);
+            return true;
         }
+        
+        // Caso 3: No se pudo suspender - nuevo proceso va suspendido
+        process.setState(ProcessState.READY_SUSPENDED);
+        addReadySuspended(process);
+        notifySwapOut(process);
+        return false;
     }
     
-    // ========== LÓGICA DE SUSPENSIÓN CON SEMÁFOROS ==========
+    // ========== LÓGICA DE SUSPENSIÓN ==========
     
+    /**
+     * Proceso a suspender para hacer lugar: el bloqueado con el deadline más
+     * lejano y, si no hay, el listo con el deadline más lejano. No se
+     * suspende el que está en CPU ni uno que ya ejecutó el 90%.
+     * O(log n) con los montículos: solo se recorren los que no califican.
+     */
     private Process findProcessToSuspend() {
-        try {
-            ramSemaphore.acquire();
-            
-            if (processesInRAM.isEmpty()) {
-                ramSemaphore.release();
-                return null;
+        while (true) {
+            Process blocked = blockedVictims.findFirst(MemoryManager::isSuspendable);
+            if (blocked != null && blocked.getState() != ProcessState.BLOCKED) {
+                reindexVictim(blocked);     // Ya no está bloqueado: pasa al otro montículo
+                continue;
             }
-            
-            Process blockedCandidate = null;
-            int blockedFarthestDeadline = -1;
-            Process readyCandidate = null;
-            int readyFarthestDeadline = -1;
-            
-            for (int i = 0; i < processesInRAM.size(); i++) {
-                Process p = processesInRAM.get(i);
-                
-                // NO suspender procesos RUNNING o prioridad 1
-                if (p.getState() == ProcessState.RUNNING || p.getPriority() == 1) {
-                    continue;
-                }
-                
-                // Verificar si está cerca de terminar
-                if (p.getTotalInstructions() > 0 && 
-                    p.getExecutedInstructions() >= p.getTotalInstructions() * 0.9) {
-                    continue;
-                }
-                
-                // Preferir procesos BLOCKED para poblar cola BLOCKED_SUSPENDED
-                if (p.getState() == ProcessState.BLOCKED) {
-                    if (p.getRemainingDeadline() > blockedFarthestDeadline) {
-                        blockedFarthestDeadline = p.getRemainingDeadline();
-                        blockedCandidate = p;
-                    }
-                } else {
-                    if (p.getRemainingDeadline() > readyFarthestDeadline) {
-                        readyFarthestDeadline = p.getRemainingDeadline();
-                        readyCandidate = p;
-                    }
-                }
+            if (blocked != null) {
+                return blocked;
             }
-            
-            ramSemaphore.release();
-            return blockedCandidate != null ? blockedCandidate : readyCandidate;
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return null;
+            Process ready = readyVictims.findFirst(MemoryManager::isSuspendable);
+            if (ready != null && ready.getState() == ProcessState.BLOCKED) {
+                reindexVictim(ready);
+                continue;
+            }
+            return ready;
         }
     }
     
-    private void suspendProcess(Process process) {
-        try {
-            // Remover de RAM
-            ramSemaphore.acquire();
-            boolean removed = processesInRAM.remove(process);
-            ramSemaphore.release();
-            
-            if (!removed) return;
-            
-            // Mover a la cola suspendida correspondiente
-            if (process.getState() == ProcessState.READY) {
-                process.setState(ProcessState.READY_SUSPENDED);
-                readySuspendSemaphore.acquire();
-                readySuspendedQueue.add(process);
-                readySuspendSemaphore.release();
-                
-            } else if (process.getState() == ProcessState.BLOCKED) {
-                process.setState(ProcessState.BLOCKED_SUSPENDED);
-                blockedSuspendSemaphore.acquire();
-                blockedSuspendedQueue.add(process);
-                blockedSuspendSemaphore.release();
-            }
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    private static boolean isSuspendable(Process p) {
+        // NO suspender procesos RUNNING ni los que están cerca de terminar
+        if (p.getState() == ProcessState.RUNNING) {
+            return false;
         }
+        return p.getTotalInstructions() <= 0 ||
+               p.getExecutedInstructions() < p.getTotalInstructions() * 0.9;
     }
     
-    // ========== LÓGICA DE ACTIVACIÓN CON SEMÁFOROS ==========
+    // ========== LISTAS Y MONTÍCULOS ==========
     
-    /**
-     * Intenta activar procesos suspendidos cuando hay espacio.
-     */
-    public void tryActivateSuspendedProcesses() {
-        boolean operationAcquired = false;
-        try {
-            operationSemaphore.acquire();
-            operationAcquired = true;
-            activateSuspendedProcessesUnderOperationLock();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } finally {
-            if (operationAcquired) {
-                operationSemaphore.release();
-            }
+    private void addToRAM(Process process) {
+        if (processesInRAM.add(process)) {
+            process.setMemoryOrder(nextMemoryOrder++);
+            indexVictim(process);
+        }
+    }
+    
+    private boolean removeFromRAM(Process process) {
+        if (!processesInRAM.remove(process)) {
+            return false;
+        }
+        blockedVictims.remove(process);
+        readyVictims.remove(process);
+        return true;
+    }
+    
+    private void indexVictim(Process process) {
+        if (process.getPriority() == 1) {
+            return;     // Prioridad 1 nunca se suspende
+        }
+        if (process.getState() == ProcessState.BLOCKED) {
+            blockedVictims.insert(process);
+        } else {
+            readyVictims.insert(process);
+        }
+    }
+    
+    private void reindexVictim(Process process) {
+        blockedVictims.remove(process);
+        readyVictims.remove(process);
+        indexVictim(process);
+    }
+    
+    private void addReadySuspended(Process process) {
+        if (readySuspendedQueue.add(process)) {
+            process.setMemoryOrder(nextMemoryOrder++);
+            activationQueue.insert(process);
+        }
+    }
+    
+    private boolean removeReadySuspended(Process process) {
+        if (!readySuspendedQueue.remove(process)) {
+            return false;
+        }
+        activationQueue.remove(process);
+        return true;
+    }
+    
+    private void suspendProcess(Process process) {
+        // Remover de RAM
+        if (!removeFromRAM(process)) return;
+        
+        // Mover a la cola suspendida correspondiente
+        if (process.getState() == ProcessState.READY) {
+            process.setState(ProcessState.READY_SUSPENDED);
+            addReadySuspended(process);
+        } else if (process.getState() == ProcessState.BLOCKED) {
+            process.setState(ProcessState.BLOCKED_SUSPENDED);
+            blockedSuspendedQueue.add(process);
         }
+        notifySwapOut(process);
     }
     
+    // ========== LÓGICA DE ACTIVACIÓN ==========
+    
     /**
-     * Activa procesos suspendidos.
-     * Debe llamarse cuando operationSemaphore ya fue adquirido.
+     * Activa procesos suspendidos mientras haya espacio en RAM, primero el
+     * listo suspendido con el deadline más cercano (O(1) cada uno).
      */
-    private void activateSuspendedProcessesUnderOperationLock() {
-        while (hasSpaceInRAM() && getReadySuspendedCount() > 0) {
-            Process toActivate = getSuspendedProcessToActivate();
+    public void tryActivateSuspendedProcesses() {
+        while (hasSpaceInRAM() && !readySuspendedQueue.isEmpty()) {
+            Process toActivate = activationQueue.peekMin();
             if (toActivate == null) break;
             activateProcess(toActivate);
         }
     }
     
-    private Process getSuspendedProcessToActivate() {
-        try {
-            readySuspendSemaphore.acquire();
-            
-            if (readySuspendedQueue.isEmpty()) {
-                readySuspendSemaphore.release();
-                return null;
-            }
-            
-            Process best = null;
-            int nearestDeadline = Integer.MAX_VALUE;
-            
-            for (int i = 0; i < readySuspendedQueue.size(); i++) {
-                Process p = readySuspendedQueue.get(i);
-                if (p.getRemainingDeadline() < nearestDeadline) {
-                    nearestDeadline = p.getRemainingDeadline();
-                    best = p;
-                }
-            }
-            
-            readySuspendSemaphore.release();
-            return best;
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return null;
-        }
-    }
-    
     private void activateProcess(Process process) {
-        try {
-            // Intentar remover de ready suspended primero
-            readySuspendSemaphore.acquire();
-            boolean fromReady = readySuspendedQueue.remove(process);
-            readySuspendSemaphore.release();
-            
-            if (fromReady) {
-                process.setState(ProcessState.READY);
-                ramSemaphore.acquire();
-                processesInRAM.add(process);
-                ramSemaphore.release();
-                return;
-            }
-            
-            // Si no estaba en ready, intentar blocked suspended
-            blockedSuspendSemaphore.acquire();
-            boolean fromBlocked = blockedSuspendedQueue.remove(process);
-            blockedSuspendSemaphore.release();
-            
-            if (fromBlocked) {
-                process.setState(ProcessState.BLOCKED);
-                ramSemaphore.acquire();
-                processesInRAM.add(process);
-                ramSemaphore.release();
+        // Intentar remover de ready suspended primero
+        if (removeReadySuspended(process)) {
+            process.setState(ProcessState.READY);
+            addToRAM(process);
+            notifySwapIn(process);
+            if (activationCallback != null) {
+                activationCallback.onProcessActivated(process);
             }
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            return;
+        }
+        
+        // Si no estaba en ready, intentar blocked suspended
+        if (blockedSuspendedQueue.remove(process)) {
+            process.setState(ProcessState.BLOCKED);
+            addToRAM(process);
+            notifySwapIn(process);
         }
     }
     
-    // ========== MÉTODOS PARA SIMULATIONENGINE CON SEMÁFOROS ==========
+    // ========== MÉTODOS PARA SIMULATIONENGINE ==========
     
     /**
      * Remueve proceso terminado y activa suspendidos si hay espacio.
      */
     public void processTerminated(Process process) {
-        boolean operationAcquired = false;
-        try {
-            operationSemaphore.acquire();
-            operationAcquired = true;
-            
-            // Intentar remover de RAM
-            ramSemaphore.acquire();
-            boolean wasInRAM = processesInRAM.remove(process);
-            ramSemaphore.release();
-            
-            if (wasInRAM) {
-                // Intentar activar suspendidos
-                activateSuspendedProcessesUnderOperationLock();
-            } else {
-                // Remover de colas suspendidas
-                readySuspendSemaphore.acquire();
-                readySuspendedQueue.remove(process);
-                readySuspendSemaphore.release();
-                
-                blockedSuspendSemaphore.acquire();
-                blockedSuspendedQueue.remove(process);
-                blockedSuspendSemaphore.release();
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } finally {
-            if (operationAcquired) {
-                operationSemaphore.release();
-            }
+        if (removeFromRAM(process)) {
+            // Intentar activar suspendidos
+            tryActivateSuspendedProcesses();
+        } else {
+            // Remover de colas suspendidas
+            removeReadySuspended(process);
+            blockedSuspendedQueue.remove(process);
         }
     }
     
@@ -310,24 +276,22 @@ public class MemoryManager {
      * Proceso completó E/S y está listo.
      */
     public void processIOCompleted(Process process) {
-        try {
-            blockedSuspendSemaphore.acquire();
-            boolean wasBlockedSuspended = blockedSuspendedQueue.remove(process);
-            blockedSuspendSemaphore.release();
-            
-            if (wasBlockedSuspended) {
-                process.setState(ProcessState.READY_SUSPENDED);
-                
-                readySuspendSemaphore.acquire();
-                readySuspendedQueue.add(process);
-                readySuspendSemaphore.release();
-                
-                // Intentar activar si hay espacio
-                tryActivateSuspendedProcesses();
-            }
+        if (blockedSuspendedQueue.remove(process)) {
+            process.setState(ProcessState.READY_SUSPENDED);
+            addReadySuspended(process);
             
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            // Intentar activar si hay espacio
+            tryActivateSuspendedProcesses();
+        }
+    }
+
+    /**
+     * Avisa que un proceso en RAM pasó de BLOCKED a otro estado o al revés,
+     * para que quede en el montículo de candidatos que le corresponde.
+     */
+    public void processStateChanged(Process process) {
+        if (processesInRAM.contains(process)) {
+            reindexVictim(process);
         }
     }
 
@@ -336,78 +300,67 @@ public class MemoryManager {
      * @return true si fue movido exitosamente.
      */
     public boolean moveBlockedProcessToSuspended(Process process) {
-        if (process == null) return false;
-
-        boolean operationAcquired = false;
-        try {
-            operationSemaphore.acquire();
-            operationAcquired = true;
-
-            if (process.getState() != ProcessState.BLOCKED) {
-                return false;
-            }
-
-            ramSemaphore.acquire();
-            boolean wasInRAM = processesInRAM.remove(process);
-            ramSemaphore.release();
-
-            if (!wasInRAM) {
-                return false;
-            }
-
-            process.setState(ProcessState.BLOCKED_SUSPENDED);
-
-            blockedSuspendSemaphore.acquire();
-            blockedSuspendedQueue.add(process);
-            blockedSuspendSemaphore.release();
-
-            return true;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        if (process == null || process.getState() != ProcessState.BLOCKED) {
+            return false;
+        }
+        if (!removeFromRAM(process)) {
             return false;
-        } finally {
-            if (operationAcquired) {
-                operationSemaphore.release();
-            }
         }
+
+        process.setState(ProcessState.BLOCKED_SUSPENDED);
+        blockedSuspendedQueue.add(process);
+        notifySwapOut(process);
+        return true;
     }
     
-    // ========== GETTERS SEGUROS CON SEMÁFOROS ==========
+    // ========== CHECKPOINT ==========
     
-    public boolean hasSpaceInRAM() {
-        try {
-            ramSemaphore.acquire();
-            boolean hasSpace = processesInRAM.size() < maxProcessesInRAM;
-            ramSemaphore.release();
-            return hasSpace;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
+    /**
+     * Guarda las tres listas (RAM, listos suspendidos y bloqueados
+     * suspendidos) en su orden actual.
+     */
+    public void writeCheckpoint(CheckpointWriter out) throws IOException {
+        out.writeProcesses(processesInRAM, processesInRAM.size());
+        out.writeProcesses(readySuspendedQueue, readySuspendedQueue.size());
+        out.writeProcesses(blockedSuspendedQueue, blockedSuspendedQueue.size());
+    }
+    
+    /**
+     * Restaura las listas guardadas por writeCheckpoint (reemplaza las actuales).
+     * No avisa a los listeners: los procesos no entran ni salen de RAM.
+     */
+    public void readCheckpoint(CheckpointReader in) throws IOException {
+        // Los montículos se rearman en el orden de las listas, que es el
+        // mismo desempate que tenían al guardar
+        processesInRAM.clear();
+        blockedVictims.clear();
+        readyVictims.clear();
+        for (Process p : in.readProcesses()) {
+            addToRAM(p);
+        }
+        readySuspendedQueue.clear();
+        activationQueue.clear();
+        for (Process p : in.readProcesses()) {
+            addReadySuspended(p);
         }
+        blockedSuspendedQueue.clear();
+        for (Process p : in.readProcesses()) {
+            blockedSuspendedQueue.add(p);
+        }
+    }
+    
+    // ========== GETTERS ==========
+    
+    public boolean hasSpaceInRAM() {
+        return processesInRAM.size() < maxProcessesInRAM;
     }
     
     public int getAvailableSpaceInRAM() {
-        try {
-            ramSemaphore.acquire();
-            int available = maxProcessesInRAM - processesInRAM.size();
-            ramSemaphore.release();
-            return available;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return 0;
-        }
+        return maxProcessesInRAM - processesInRAM.size();
     }
     
     public int getRAMUsage() {
-        try {
-            ramSemaphore.acquire();
-            int usage = processesInRAM.size();
-            ramSemaphore.release();
-            return usage;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return 0;
-        }
+        return processesInRAM.size();
     }
     
     public int getMaxRAMCapacity() {
@@ -415,103 +368,41 @@ public class MemoryManager {
     }
     
     public int getReadySuspendedCount() {
-        try {
-            readySuspendSemaphore.acquire();
-            int count = readySuspendedQueue.size();
-            readySuspendSemaphore.release();
-            return count;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return 0;
-        }
+        return readySuspendedQueue.size();
     }
     
     public int getBlockedSuspendedCount() {
-        try {
-            blockedSuspendSemaphore.acquire();
-            int count = blockedSuspendedQueue.size();
-            blockedSuspendSemaphore.release();
-            return count;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return 0;
-        }
+        return blockedSuspendedQueue.size();
     }
     
     public LinkedList<Process> getProcessesInRAM() {
-        try {
-            ramSemaphore.acquire();
-            LinkedList<Process> copy = new LinkedList<>();
-            for (int i = 0; i < processesInRAM.size(); i++) {
-                copy.add(processesInRAM.get(i));
-            }
-            ramSemaphore.release();
-            return copy;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return new LinkedList<>();
-        }
+        return processesInRAM.toLinkedList();
+    }
+    
+    /**
+     * Verifica si un proceso está en RAM sin copiar la lista
+     */
+    public boolean isInRAM(Process process) {
+        return processesInRAM.contains(process);
     }
     
     public LinkedList<Process> getReadySuspendedQueue() {
-        try {
-            readySuspendSemaphore.acquire();
-            LinkedList<Process> copy = new LinkedList<>();
-            for (int i = 0; i < readySuspendedQueue.size(); i++) {
-                copy.add(readySuspendedQueue.get(i));
-            }
-            readySuspendSemaphore.release();
-            return copy;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return new LinkedList<>();
-        }
+        return readySuspendedQueue.toLinkedList();
     }
     
     public LinkedList<Process> getBlockedSuspendedQueue() {
-        try {
-            blockedSuspendSemaphore.acquire();
-            LinkedList<Process> copy = new LinkedList<>();
-            for (int i = 0; i < blockedSuspendedQueue.size(); i++) {
-                copy.add(blockedSuspendedQueue.get(i));
-            }
-            blockedSuspendSemaphore.release();
-            return copy;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return new LinkedList<>();
-        }
+        return blockedSuspendedQueue.toLinkedList();
     }
     
     // ========== MÉTODO PARA ESTADO DEL MEMORY MANAGER ==========
     
     public String getStatus() {
-        try {
-            StringBuilder status = new StringBuilder();
-            status.append("=== Memory Manager Status ===\n");
-            
-            ramSemaphore.acquire();
-            status.append("RAM: ").append(processesInRAM.size())
-                  .append("/").append(maxProcessesInRAM).append(" procesos\n");
-            ramSemaphore.release();
-            
-            readySuspendSemaphore.acquire();
-            status.append("Ready Suspended: ").append(readySuspendedQueue.size()).append("\n");
-            readySuspendSemaphore.release();
-            
-            blockedSuspendSemaphore.acquire();
-            status.append("Blocked Suspended: ").append(blockedSuspendedQueue.size()).append("\n");
-            blockedSuspendSemaphore.release();
-            
-            status.append("Semáforos: RAM[").append(ramSemaphore.availablePermits())
-                  .append("] ReadySuspend[").append(readySuspendSemaphore.availablePermits())
-                  .append("] BlockedSuspend[").append(blockedSuspendSemaphore.availablePermits())
-                  .append("]");
-            
-            return status.toString();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return "MemoryManager interrumpido";
-        }
+        StringBuilder status = new StringBuilder();
+        status.append("=== Memory Manager Status ===\n");
+        status.append("RAM: ").append(processesInRAM.size())
+              .append("/").append(maxProcessesInRAM).append(" procesos\n");
+        status.append("Ready Suspended: ").append(readySuspendedQueue.size()).append("\n");
+        status.append("Blocked Suspended: ").append(blockedSuspendedQueue.size());
+        return status.toString();
     }
 }
@@ -0,0 +1,134 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.model;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.util.Arrays;
+
+/**
+ * Asignador de PIDs enteros densos (0, 1, 2...) que reutiliza los liberados:
+ * el último liberado es el próximo en entregarse, así los PIDs en uso se
+ * mantienen cerca de 0 y sirven como índice de arreglos. Todo en O(1).
+ *
+ * No es thread-safe: lo usa el thread dueño del motor.
+ */
+public class PidAllocator {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private boolean[] inUse;
+    private int[] free;         // Pila de PIDs liberados (puede tener reservados, se saltan)
+    private int freeCount;
+    private int next;           // Primer PID nunca entregado
+    private int size;
+
+    public PidAllocator() {
+        this.inUse = new boolean[DEFAULT_CAPACITY];
+        this.free = new int[DEFAULT_CAPACITY];
+        this.freeCount = 0;
+        this.next = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Entrega un PID libre: el último liberado o, si no hay, uno nuevo.
+     */
+    public int allocate() {
+        while (freeCount > 0) {
+            int pid = free[--freeCount];
+            if (!inUse[pid]) {
+                inUse[pid] = true;
+                size++;
+                return pid;
+            }
+        }
+        int pid = next++;
+        ensureCapacity(next);
+        inUse[pid] = true;
+        size++;
+        return pid;
+    }
+
+    /**
+     * Marca en uso un PID dado (al restaurar un checkpoint). Los PIDs
+     * nuevos que quedan por debajo pasan a estar libres.
+     * @return false si el PID es negativo o ya estaba en uso
+     */
+    public boolean reserve(int pid) {
+        if (pid < 0) {
+            return false;
+        }
+        ensureCapacity(pid + 1);
+        if (inUse[pid]) {
+            return false;
+        }
+        while (next < pid) {
+            pushFree(next++);
+        }
+        if (next == pid) {
+            next++;
+        }
+        inUse[pid] = true;
+        size++;
+        return true;
+    }
+
+    /**
+     * Devuelve el PID para que se reutilice.
+     * @return false si no estaba en uso
+     */
+    public boolean release(int pid) {
+        if (pid < 0 || pid >= next || !inUse[pid]) {
+            return false;
+        }
+        inUse[pid] = false;
+        size--;
+        pushFree(pid);
+        return true;
+    }
+
+    public boolean isAllocated(int pid) {
+        return pid >= 0 && pid < next && inUse[pid];
+    }
+
+    /**
+     * PIDs en uso.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Cota de los PIDs entregados hasta ahora (todos son menores).
+     */
+    public int getLimit() {
+        return next;
+    }
+
+    public void clear() {
+        Arrays.fill(inUse, 0, next, false);
+        freeCount = 0;
+        next = 0;
+        size = 0;
+    }
+
+    // ========== OPERACIONES INTERNAS ==========
+
+    private void pushFree(int pid) {
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, free.length * 2);
+        }
+        free[freeCount++] = pid;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > inUse.length) {
+            inUse = Arrays.copyOf(inUse, Math.max(capacity, inUse.length * 2));
+        }
+    }
+}
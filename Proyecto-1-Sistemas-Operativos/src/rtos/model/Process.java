@@ -4,6 +4,11 @@
  */
 package rtos.model;
 
+import java.util.Arrays;
+import rtos.structures.Indexable;
+import rtos.structures.IntrusiveList;
+import rtos.structures.Linkable;
+
 /**
  *
  * @author luisf
@@ -12,9 +17,25 @@ package rtos.model;
  * Clase que representa un proceso en el sistema RTOS
  * Implementa el PCB (Process Control Block) con todos sus campos
  */
-public class Process {
+public class Process implements Indexable, Linkable<Process> {
+    // Slots de enlace para las listas intrusivas en que puede estar el proceso
+    public static final int LINK_RAM = 0;
+    public static final int LINK_BLOCKED = 1;
+    public static final int LINK_READY_SUSPENDED = 2;
+    public static final int LINK_BLOCKED_SUSPENDED = 3;
+    public static final int LINK_IO_WHEEL = 4;
+    private static final int LINK_SLOTS = 5;
+
+    // Slots de montículo indexado (IndexedPriorityQueue)
+    public static final int HEAP_READY = 0;      // Cola de listos de EDF/SRT
+    public static final int HEAP_MEMORY = 1;     // Montículos de MemoryManager
+    private static final int HEAP_SLOTS = 2;
+    
     // Identificación
-    private String id;
+    private int pid;                // PID denso mientras está en el sistema (-1 si no)
+    private String id;              // Id para mostrar ("P1000"); si es null se arma de idPrefix + idNumber
+    private String idPrefix;
+    private int idNumber;           // Parte numérica del id (-1 si no tiene)
     private String name;
     
     // Tipo y estado
@@ -26,7 +47,9 @@ public class Process {
     private int executedInstructions;
     private int priority;           // 1 = más alta, 5 = más baja
     private int deadline;           // Tiempo límite absoluto
-    private int remainingDeadline;  // Deadline restante
+    private int remainingDeadline;  // Deadline restante (si no está ligado a un reloj)
+    private int deadlineCycle;      // Ciclo absoluto del deadline (si está ligado a un reloj)
+    private TimeSource deadlineClock; // Reloj del que se calcula el deadline restante
     private int period;             // Solo para procesos periódicos
     private int remainingPeriod;    // Periodo restante
     
@@ -50,7 +73,17 @@ public class Process {
     private int waitingTime;        // Tiempo total en colas
     private int turnaroundTime;     // Tiempo total en el sistema
     private boolean deadlineMissed; // Indica si incumplió su deadline
-    
+
+    // Posición en cada montículo indexado (-1 si no está en ninguno)
+    private final int[] heapIndexes;
+    private long memoryOrder;       // Orden de llegada a su lista de MemoryManager
+    private int readyQueueCount;    // Copias en la cola de listos de FCFS/RR/Prioridad
+
+    // Enlaces de las listas intrusivas (uno por slot)
+    private final IntrusiveList<?>[] listOwners;
+    private final Process[] prevLinks;
+    private final Process[] nextLinks;
+
     // ========== CONSTRUCTORES ==========
     
     /**
@@ -59,7 +92,10 @@ public class Process {
     public Process(String id, String name, ProcessType type,
                   int totalInstructions, int priority,
                   int deadline, int period) {
+        this.pid = -1;
         this.id = id;
+        this.idPrefix = null;
+        this.idNumber = idNumberOf(id);
         this.name = name;
         this.type = type;
         this.totalInstructions = totalInstructions;
@@ -70,6 +106,8 @@ public class Process {
         // Valores por defecto
         this.executedInstructions = 0;
         this.remainingDeadline = deadline;
+        this.deadlineCycle = 0;
+        this.deadlineClock = null;
         this.remainingPeriod = period;
         
         this.state = ProcessState.NEW;
@@ -94,6 +132,26 @@ public class Process {
         this.waitingTime = 0;
         this.turnaroundTime = 0;
         this.deadlineMissed = false;
+
+        this.heapIndexes = new int[HEAP_SLOTS];
+        Arrays.fill(heapIndexes, -1);
+        this.memoryOrder = 0;
+        this.readyQueueCount = 0;
+        this.listOwners = new IntrusiveList<?>[LINK_SLOTS];
+        this.prevLinks = new Process[LINK_SLOTS];
+        this.nextLinks = new Process[LINK_SLOTS];
+    }
+    
+    /**
+     * Constructor con el id en dos partes ("P" y 1000 para "P1000"): el
+     * texto recién se arma la primera vez que alguien pide getId().
+     */
+    public Process(String idPrefix, int idNumber, String name, ProcessType type,
+                  int totalInstructions, int priority,
+                  int deadline, int period) {
+        this(null, name, type, totalInstructions, priority, deadline, period);
+        this.idPrefix = idPrefix;
+        this.idNumber = idNumber;
     }
     
     /**
@@ -152,9 +210,6 @@ public class Process {
         programCounter++;
         memoryAddressRegister++;
 
-        System.out.println("      📝 " + id + " PC: " + programCounter + 
-                          " (" + executedInstructions + "/" + totalInstructions + ")");
-
         // Verificar si terminó
         if (executedInstructions >= totalInstructions) {
             return true;
@@ -163,11 +218,42 @@ public class Process {
         return false;
     }
     
+    /**
+     * Ejecuta varias instrucciones seguidas (ráfaga), como llamar
+     * executeInstruction() count veces.
+     * @return true si con esta ráfaga el proceso terminó
+     */
+    public boolean executeInstructions(int count) {
+        int run = Math.min(count, totalInstructions - executedInstructions);
+        if (run <= 0) {
+            return false;
+        }
+        executedInstructions += run;
+        programCounter += run;
+        memoryAddressRegister += run;
+        return executedInstructions >= totalInstructions;
+    }
+    
+    /**
+     * Liga el deadline al reloj: desde ahora el deadline restante se calcula
+     * como deadlineCycle - ciclo actual, sin actualizarlo en cada ciclo.
+     */
+    public void bindDeadlineClock(TimeSource clock) {
+        this.deadlineCycle = clock.getCurrentCycle() + remainingDeadline;
+        this.deadlineClock = clock;
+    }
+    
     /**
      * Actualiza el deadline restante
-     * Se llama en cada ciclo de reloj
+     * Se llama en cada ciclo de reloj (no hace falta si está ligado a un reloj)
      */
     public void updateDeadline() {
+        if (deadlineClock != null) {
+            if (getRemainingDeadline() <= 0 && state != ProcessState.TERMINATED) {
+                deadlineMissed = true;
+            }
+            return;
+        }
         if (remainingDeadline > 0) {
             remainingDeadline--;
             // Si se agota el deadline y el proceso no terminó
@@ -252,8 +338,28 @@ public class Process {
     
     // ========== GETTERS Y SETTERS ==========
     
-    public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    /**
+     * Id para mostrar. Para comparar procesos usar getPid().
+     */
+    public String getId() {
+        if (id == null && idPrefix != null) {
+            id = idPrefix + idNumber;
+        }
+        return id;
+    }
+    public void setId(String id) {
+        this.id = id;
+        this.idPrefix = null;
+        this.idNumber = idNumberOf(id);
+    }
+
+    /**
+     * PID entero y denso que le asigna el motor (PidAllocator) al entrar
+     * al sistema y que se reutiliza cuando sale; -1 fuera del sistema.
+     * Dos procesos en el sistema nunca tienen el mismo.
+     */
+    public int getPid() { return pid; }
+    public void setPid(int pid) { this.pid = pid; }
 
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
@@ -276,8 +382,54 @@ public class Process {
     public int getDeadline() { return deadline; }
     public void setDeadline(int deadline) { this.deadline = deadline; }
 
-    public int getRemainingDeadline() { return remainingDeadline; }
-    public void setRemainingDeadline(int remainingDeadline) { this.remainingDeadline = remainingDeadline; }
+    /**
+     * Deadline restante. Si está ligado a un reloj se calcula al vuelo;
+     * un proceso terminado conserva el que tenía al terminar.
+     */
+    public int getRemainingDeadline() {
+        if (deadlineClock == null) {
+            return remainingDeadline;
+        }
+        int now = (state == ProcessState.TERMINATED && completionTime >= 0)
+                ? completionTime : deadlineClock.getCurrentCycle();
+        return Math.max(0, deadlineCycle - now);
+    }
+    public void setRemainingDeadline(int remainingDeadline) {
+        this.remainingDeadline = remainingDeadline;
+        if (deadlineClock != null) {
+            this.deadlineCycle = deadlineClock.getCurrentCycle() + remainingDeadline;
+        }
+    }
+
+    /**
+     * Ciclo absoluto del deadline. Solo existe si está ligado a un reloj;
+     * para comparar procesos por deadline usar compareDeadlines().
+     * @throws IllegalStateException si el deadline no está ligado
+     */
+    public int getDeadlineCycle() {
+        if (deadlineClock == null) {
+            throw new IllegalStateException("Deadline de " + getId() + " no ligado a un reloj");
+        }
+        return deadlineCycle;
+    }
+    public void setDeadlineCycle(int deadlineCycle) { this.deadlineCycle = deadlineCycle; }
+
+    /**
+     * true si el deadline restante se calcula desde un reloj (ver bindDeadlineClock).
+     */
+    public boolean isDeadlineBound() { return deadlineClock != null; }
+
+    /**
+     * Compara por deadline (negativo si a vence antes). Si los dos están
+     * ligados se usa el ciclo absoluto, que no cambia con el reloj; si no,
+     * el deadline restante de ambos. Nunca mezcla las dos unidades.
+     */
+    public static int compareDeadlines(Process a, Process b) {
+        if (a.deadlineClock != null && b.deadlineClock != null) {
+            return Integer.compare(a.deadlineCycle, b.deadlineCycle);
+        }
+        return Integer.compare(a.getRemainingDeadline(), b.getRemainingDeadline());
+    }
 
     public int getPeriod() { return period; }
     public void setPeriod(int period) { this.period = period; }
@@ -321,8 +473,66 @@ public class Process {
     public boolean isDeadlineMissed() { return deadlineMissed; }
     public void setDeadlineMissed(boolean deadlineMissed) { this.deadlineMissed = deadlineMissed; }
 
+    @Override
+    public int getHeapIndex(int slot) { return heapIndexes[slot]; }
+    @Override
+    public void setHeapIndex(int slot, int index) { heapIndexes[slot] = index; }
+
+    /**
+     * Orden con que MemoryManager desempata procesos de igual deadline
+     * (el de su lista: RAM o listos suspendidos).
+     */
+    public long getMemoryOrder() { return memoryOrder; }
+    public void setMemoryOrder(long memoryOrder) { this.memoryOrder = memoryOrder; }
+
+    /**
+     * Cuántas veces está el proceso en la cola de listos de un planificador
+     * sin montículo indexado (lo llevan FCFS, Round Robin y Prioridad).
+     */
+    public int getReadyQueueCount() { return readyQueueCount; }
+    public void setReadyQueueCount(int readyQueueCount) { this.readyQueueCount = readyQueueCount; }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public IntrusiveList<Process> getListOwner(int slot) { return (IntrusiveList<Process>) listOwners[slot]; }
+    @Override
+    public void setListOwner(int slot, IntrusiveList<Process> owner) { listOwners[slot] = owner; }
+
+    @Override
+    public Process getPrevLink(int slot) { return prevLinks[slot]; }
+    @Override
+    public void setPrevLink(int slot, Process prev) { prevLinks[slot] = prev; }
+
+    @Override
+    public Process getNextLink(int slot) { return nextLinks[slot]; }
+    @Override
+    public void setNextLink(int slot, Process next) { nextLinks[slot] = next; }
+
     // ========== MÉTODOS DE UTILIDAD ==========
     
+    /**
+     * Parte numérica final de un id ("P1002" -> 1002), o -1 si no termina
+     * en dígitos (o son demasiados para un int).
+     */
+    public static int idNumberOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        int end = id.length();
+        int start = end;
+        while (start > 0 && Character.isDigit(id.charAt(start - 1))) {
+            start--;
+        }
+        if (start == end || end - start > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (id.charAt(i) - '0');
+        }
+        return value;
+    }
+    
     /**
      * Verifica si el proceso ha terminado
      */
@@ -351,7 +561,7 @@ public class Process {
     @Override
     public String toString() {
         return String.format("Process[ID=%s, Name=%s, State=%s, PC=%d, Instructions=%d/%d, Deadline=%d/%d]",
-                id, name, state, programCounter, executedInstructions, totalInstructions, 
-                remainingDeadline, deadline);
+                getId(), name, state, programCounter, executedInstructions, totalInstructions, 
+                getRemainingDeadline(), deadline);
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package rtos.model;
+
+/**
+ *
+ * @author VictorB
+ */
+
+/**
+ * Fuente del ciclo actual para los procesos con deadline ligado (ver
+ * Process.bindDeadlineClock). La implementa el reloj de la simulación, así
+ * el modelo no depende del paquete simulation.
+ */
+public interface TimeSource {
+    /**
+     * @return Ciclo actual
+     */
+    int getCurrentCycle();
+}
@@ -12,14 +12,19 @@ package rtos.scheduler;
 
 import rtos.model.Process;
 import rtos.model.ProcessState;
-import rtos.structures.PriorityQueue;
+import rtos.structures.IndexedPriorityQueue;
+import rtos.structures.LinkedList;
+import rtos.structures.Queue;
 import rtos.utils.Comparator;
 
 public class EDFScheduler implements Scheduler {
-    private PriorityQueue<Process> readyQueue;
+    // La clave es el deadline absoluto (deadlineCycle): se fija al ligar el
+    // proceso al reloj, antes de que entre a la cola, y después no cambia.
+    // Por eso un proceso en espera nunca se reubica
+    private IndexedPriorityQueue<Process> readyQueue;
     
     public EDFScheduler() {
-        this.readyQueue = new PriorityQueue<>(new Comparator.DeadlineComparator());
+        this.readyQueue = new IndexedPriorityQueue<>(Process.HEAP_READY, new Comparator.DeadlineComparator());
     }
     
     @Override
@@ -49,21 +54,31 @@ public class EDFScheduler implements Scheduler {
     }
     
     @Override
-    public rtos.structures.Queue<Process> getReadyQueue() {
-        rtos.structures.Queue<Process> queue = new rtos.structures.Queue<>();
-        
-        PriorityQueue<Process> temp = new PriorityQueue<>(new Comparator.DeadlineComparator());
-        
-        while (!readyQueue.isEmpty()) {
-            Process p = readyQueue.extractMin();
+    public Process peekNext() {
+        return readyQueue.peekMin();
+    }
+    
+    @Override
+    public LinkedList<Process> snapshot() {
+        return readyQueue.toSortedLinkedList();
+    }
+    
+    @Override
+    public boolean contains(Process process) {
+        return readyQueue.contains(process);
+    }
+    
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
+    
+    @Override
+    public Queue<Process> getReadyQueue() {
+        Queue<Process> queue = new Queue<>();
+        for (Process p : readyQueue.toSortedLinkedList()) {
             queue.enqueue(p);
-            temp.insert(p);
-        }
-        
-        while (!temp.isEmpty()) {
-            readyQueue.insert(temp.extractMin());
         }
-        
         return queue;
     }
 }
\ No newline at end of file
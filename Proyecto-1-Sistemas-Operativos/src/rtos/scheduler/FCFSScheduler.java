@@ -10,6 +10,7 @@ package rtos.scheduler;
  */
 import rtos.model.Process;
 import rtos.model.ProcessState;
+import rtos.structures.LinkedList;
 import rtos.structures.Queue;
 
 public class FCFSScheduler implements Scheduler {
@@ -27,6 +28,7 @@ public class FCFSScheduler implements Scheduler {
     @Override
     public void addProcess(Process process) {
         process.setState(ProcessState.READY);
+        process.setReadyQueueCount(process.getReadyQueueCount() + 1);
         readyQueue.enqueue(process);
     }
     
@@ -36,6 +38,7 @@ public class FCFSScheduler implements Scheduler {
             return null;
         }
         Process process = readyQueue.dequeue();
+        process.setReadyQueueCount(process.getReadyQueueCount() - 1);
         process.setState(ProcessState.RUNNING);
         return process;
     }
@@ -49,4 +52,24 @@ public class FCFSScheduler implements Scheduler {
     public Queue<Process> getReadyQueue() {
         return readyQueue;
     }
+
+    @Override
+    public Process peekNext() {
+        return readyQueue.peek();
+    }
+    
+    @Override
+    public LinkedList<Process> snapshot() {
+        return readyQueue.toLinkedList();
+    }
+    
+    @Override
+    public boolean contains(Process process) {
+        return process.getReadyQueueCount() > 0;
+    }
+    
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
 }
\ No newline at end of file
@@ -13,6 +13,8 @@ package rtos.scheduler;
 import rtos.model.Process;
 import rtos.model.ProcessState;
 import rtos.structures.PriorityQueue;
+import rtos.structures.LinkedList;
+import rtos.structures.Queue;
 import rtos.utils.Comparator;
 
 public class PriorityScheduler implements Scheduler {
@@ -30,6 +32,7 @@ public class PriorityScheduler implements Scheduler {
     @Override
     public void addProcess(Process process) {
         process.setState(ProcessState.READY);
+        process.setReadyQueueCount(process.getReadyQueueCount() + 1);
         readyQueue.insert(process);
     }
     
@@ -39,6 +42,7 @@ public class PriorityScheduler implements Scheduler {
             return null;
         }
         Process process = readyQueue.extractMin();
+        process.setReadyQueueCount(process.getReadyQueueCount() - 1);
         process.setState(ProcessState.RUNNING);
         return process;
     }
@@ -49,21 +53,31 @@ public class PriorityScheduler implements Scheduler {
     }
     
     @Override
-    public rtos.structures.Queue<Process> getReadyQueue() {
-        rtos.structures.Queue<Process> queue = new rtos.structures.Queue<>();
-        
-        PriorityQueue<Process> temp = new PriorityQueue<>(new Comparator.PriorityComparator());
-        
-        while (!readyQueue.isEmpty()) {
-            Process p = readyQueue.extractMin();
+    public Process peekNext() {
+        return readyQueue.peekMin();
+    }
+    
+    @Override
+    public LinkedList<Process> snapshot() {
+        return readyQueue.toSortedLinkedList();
+    }
+    
+    @Override
+    public boolean contains(Process process) {
+        return process.getReadyQueueCount() > 0;
+    }
+    
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
+    
+    @Override
+    public Queue<Process> getReadyQueue() {
+        Queue<Process> queue = new Queue<>();
+        for (Process p : readyQueue.toSortedLinkedList()) {
             queue.enqueue(p);
-            temp.insert(p);
-        }
-        
-        while (!temp.isEmpty()) {
-            readyQueue.insert(temp.extractMin());
         }
-        
         return queue;
     }
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ package rtos.scheduler;
 
 import rtos.model.Process;
 import rtos.model.ProcessState;
+import rtos.structures.LinkedList;
 import rtos.structures.Queue;
 
 public class RoundRobinScheduler implements Scheduler {
@@ -31,6 +32,7 @@ public class RoundRobinScheduler implements Scheduler {
     @Override
     public void addProcess(Process process) {
         process.setState(ProcessState.READY);
+        process.setReadyQueueCount(process.getReadyQueueCount() + 1);
         readyQueue.enqueue(process);
     }
     
@@ -40,6 +42,7 @@ public class RoundRobinScheduler implements Scheduler {
             return null;
         }
         Process process = readyQueue.dequeue();
+        process.setReadyQueueCount(process.getReadyQueueCount() - 1);
         process.setState(ProcessState.RUNNING);
         return process;
     }
@@ -53,6 +56,26 @@ public class RoundRobinScheduler implements Scheduler {
     public Queue<Process> getReadyQueue() {
         return readyQueue;
     }
+
+    @Override
+    public Process peekNext() {
+        return readyQueue.peek();
+    }
+    
+    @Override
+    public LinkedList<Process> snapshot() {
+        return readyQueue.toLinkedList();
+    }
+    
+    @Override
+    public boolean contains(Process process) {
+        return process.getReadyQueueCount() > 0;
+    }
+    
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
     
     public void setQuantum(int quantum) {
         this.quantum = quantum;
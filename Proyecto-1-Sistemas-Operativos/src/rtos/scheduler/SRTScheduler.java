@@ -10,14 +10,18 @@ package rtos.scheduler;
  */
 import rtos.model.Process;
 import rtos.model.ProcessState;
-import rtos.structures.PriorityQueue;
+import rtos.structures.IndexedPriorityQueue;
+import rtos.structures.LinkedList;
+import rtos.structures.Queue;
 import rtos.utils.Comparator;
 
 public class SRTScheduler implements Scheduler {
-    private PriorityQueue<Process> readyQueue;
+    // La clave (instrucciones restantes) solo cambia mientras el proceso
+    // está en CPU, fuera de la cola: un proceso en espera nunca se reubica
+    private IndexedPriorityQueue<Process> readyQueue;
     
     public SRTScheduler() {
-        this.readyQueue = new PriorityQueue<>(new Comparator.RemainingTimeComparator());
+        this.readyQueue = new IndexedPriorityQueue<>(Process.HEAP_READY, new Comparator.RemainingTimeComparator());
     }
     
     @Override
@@ -47,25 +51,31 @@ public class SRTScheduler implements Scheduler {
     }
     
     @Override
-    public rtos.structures.Queue<Process> getReadyQueue() {
-        // Convertir PriorityQueue a Queue para la interfaz
-        rtos.structures.Queue<Process> queue = new rtos.structures.Queue<>();
-        
-        // Crear una copia temporal usando el mismo comparador
-        PriorityQueue<Process> temp = new PriorityQueue<>(new Comparator.RemainingTimeComparator());
-        
-        // Extraer todos los procesos
-        while (!readyQueue.isEmpty()) {
-            Process p = readyQueue.extractMin();
+    public Process peekNext() {
+        return readyQueue.peekMin();
+    }
+    
+    @Override
+    public LinkedList<Process> snapshot() {
+        return readyQueue.toSortedLinkedList();
+    }
+    
+    @Override
+    public boolean contains(Process process) {
+        return readyQueue.contains(process);
+    }
+    
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
+    
+    @Override
+    public Queue<Process> getReadyQueue() {
+        Queue<Process> queue = new Queue<>();
+        for (Process p : readyQueue.toSortedLinkedList()) {
             queue.enqueue(p);
-            temp.insert(p);
-        }
-        
-        // Restaurar la cola original
-        while (!temp.isEmpty()) {
-            readyQueue.insert(temp.extractMin());
         }
-        
         return queue;
     }
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ package rtos.scheduler;
  */
 
 import rtos.model.Process;
+import rtos.structures.LinkedList;
 import rtos.structures.Queue;
 
 public interface Scheduler {
@@ -19,4 +20,23 @@ public interface Scheduler {
     Process getNextProcess();
     boolean isEmpty();
     Queue<Process> getReadyQueue();
+    
+    /**
+     * Proceso que devolvería getNextProcess(), sin sacarlo ni cambiar su estado.
+     * O(1) en todos los planificadores.
+     */
+    Process peekNext();
+    
+    /**
+     * Copia de solo lectura de la cola de listos en orden de despacho.
+     * No modifica la cola.
+     */
+    LinkedList<Process> snapshot();
+    
+    /**
+     * true si el proceso está en la cola de listos. O(1).
+     */
+    boolean contains(Process process);
+    
+    int size();
 }
\ No newline at end of file
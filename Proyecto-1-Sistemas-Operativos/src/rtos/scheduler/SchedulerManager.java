@@ -8,15 +8,18 @@ package rtos.scheduler;
  *
  * @author luisf
  */
+import rtos.checkpoint.CheckpointReader;
+import rtos.checkpoint.CheckpointWriter;
 import rtos.model.Process;
 import rtos.model.ProcessState;
 import rtos.structures.Queue;
 import rtos.structures.LinkedList;
 import rtos.interrupt.InterruptType;
-import rtos.interrupt.InterruptRequest;
 import rtos.interrupt.InterruptHandler;
+import rtos.logging.EventLogger;
+import rtos.logging.LogLevel;
 import rtos.statistics.StatisticsTracker;
-import java.util.concurrent.Semaphore; 
+import java.io.IOException;
 
 public class SchedulerManager {
     private Scheduler currentScheduler;
@@ -26,27 +29,18 @@ public class SchedulerManager {
     private PriorityScheduler priorityScheduler;
     private EDFScheduler edfScheduler;
     private StatisticsTracker statistics;
-    private Semaphore schedulerSemaphore;
-    
-    // Para manejo de logs
-    private LinkedList<String> eventLogs;
-    
-    // ========== SEMÁFOROS PARA SINCRONIZACIÓN (java.util.concurrent) ==========
-    private Semaphore readyQueueSemaphore;      // Para cola de listos
-    private Semaphore blockedQueueSemaphore;    // Para cola de bloqueados
-    private Semaphore suspendedQueueSemaphore;  // Para cola de suspendidos
-    private Semaphore currentProcessSemaphore;  // Para proceso actual en ejecución
-    private Semaphore logSemaphore;             // Para logs (escritura concurrente)
-    private Semaphore interruptSemaphore;       // Para manejo de interrupciones
-    private Algorithm algorithm;
-    
-    // ========== COLAS DE ESTADO ==========
-    private LinkedList<Process> blockedQueue;
-    private LinkedList<Process> suspendedQueue;
+    
+    // Para manejo de logs (asíncrono, compartido con el motor)
+    private final EventLogger logger = EventLogger.getDefault();
+    
+    // ========== ESTADO ==========
+    // Solo lo toca el thread de ciclos del motor (dueño único), así que no
+    // lleva locks; la interfaz lee el SystemSnapshot publicado
     private Process currentProcess;
     private int systemClock;
     private int rrSliceCounter;
-    private String rrSliceProcessId;
+    private int rrSlicePid;                  // PID dueño de la tajada de RR (-1 ninguno)
+    private volatile boolean traceEnabled;   // Salida por consola
     
     // ========== ESTADÍSTICAS ==========
     private int processesCreated;
@@ -62,6 +56,14 @@ public class SchedulerManager {
     }
     
     public SchedulerManager(StatisticsTracker statistics) {
+        this(statistics, false, true);
+    }
+    
+    /**
+     * @param synchronousInterrupts true para que su InterruptHandler no cree workers
+     * @param traceEnabled false para no escribir en consola
+     */
+    public SchedulerManager(StatisticsTracker statistics, boolean synchronousInterrupts, boolean traceEnabled) {
         // Crear todos los schedulers
         this.fcfsScheduler = new FCFSScheduler();
         this.rrScheduler = new RoundRobinScheduler(4); // Quantum por defecto: 4
@@ -72,27 +74,14 @@ public class SchedulerManager {
         // Establecer FCFS como scheduler por defecto
         this.currentScheduler = fcfsScheduler;
         
-        // Inicializar logs
-        this.eventLogs = new LinkedList<>();
-        
-        // ========== INICIALIZAR SEMÁFOROS (java.util.concurrent) ==========
-        this.readyQueueSemaphore = new Semaphore(1);     // Mutex para cola de listos
-        this.blockedQueueSemaphore = new Semaphore(1);   // Mutex para cola de bloqueados
-        this.suspendedQueueSemaphore = new Semaphore(1); // Mutex para cola de suspendidos
-        this.currentProcessSemaphore = new Semaphore(1); // Mutex para proceso actual
-        this.logSemaphore = new Semaphore(1);            // Mutex para logs
-        this.interruptSemaphore = new Semaphore(1);      // Mutex para interrupciones
-        this.schedulerSemaphore = new Semaphore(1);      // Mutex para scheduler
-        
         this.statistics = statistics;
         
-        // ========== INICIALIZAR COLAS ==========
-        this.blockedQueue = new LinkedList<>();
-        this.suspendedQueue = new LinkedList<>();
+        // ========== INICIALIZAR ESTADO ==========
         this.currentProcess = null;
         this.systemClock = 0;
         this.rrSliceCounter = 0;
-        this.rrSliceProcessId = null;
+        this.rrSlicePid = -1;
+        this.traceEnabled = traceEnabled;
         
         // ========== INICIALIZAR ESTADÍSTICAS ==========
         this.processesCreated = 0;
@@ -101,9 +90,9 @@ public class SchedulerManager {
         this.contextSwitches = 0;
         
         // ========== INICIALIZAR INTERRUPT HANDLER ==========
-        this.interruptHandler = new InterruptHandler(this);
+        this.interruptHandler = new InterruptHandler(this, synchronousInterrupts, traceEnabled);
         
-        addLogEntry("SchedulerManager inicializado con semáforos de java.util.concurrent");
+        addLogEntry("SchedulerManager inicializado");
     }
     
     /**
@@ -113,24 +102,17 @@ public class SchedulerManager {
         this(new StatisticsTracker()); // Llama al otro constructor
     }
 
-    // ========== MÉTODOS SINCRONIZADOS CON SEMÁFOROS ==========
+    // ========== COLA DE LISTOS ==========
     
     /**
-     * Agrega un proceso al sistema de manera segura (thread-safe)
+     * Agrega un proceso a la cola de listos
      */
     public void addProcess(Process process) {
-        try {
-            readyQueueSemaphore.acquire();
-            currentScheduler.addProcess(process);
-            process.setCreationTime(systemClock);
-            processesCreated++;
-            readyQueueSemaphore.release();
-            
-            addLogEntry("Proceso añadido: " + process.getId() + " - " + process.getName());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            addLogEntry("ERROR: Interrupción al añadir proceso " + process.getId());
-        }
+        // La llegada (creationTime) la marca quien admite el proceso
+        currentScheduler.addProcess(process);
+        processesCreated++;
+        
+        addLogEntry("Proceso añadido: {} - {}", process.getId(), process.getName());
     }
     
     /**
@@ -141,13 +123,13 @@ public class SchedulerManager {
 
         // Round Robin: preempción por quantum, no por prioridad.
         if (currentScheduler == rrScheduler) {
-            if (rrSliceProcessId == null || !rrSliceProcessId.equals(current.getId())) {
-                rrSliceProcessId = current.getId();
+            if (rrSlicePid != current.getPid()) {
+                rrSlicePid = current.getPid();
                 rrSliceCounter = 0;
             }
 
             rrSliceCounter++;
-            boolean hasWaiting = !currentScheduler.getReadyQueue().isEmpty();
+            boolean hasWaiting = !currentScheduler.isEmpty();
 
             if (hasWaiting && rrSliceCounter >= rrScheduler.getQuantum()) {
                 rrSliceCounter = 0;
@@ -156,13 +138,54 @@ public class SchedulerManager {
             return false;
         }
 
+        return preemptsByPolicy(current);
+    }
+
+    /**
+     * Cuántas llamadas seguidas a shouldPreempt(current) devolverían false si
+     * la cola de listos no cambia (Integer.MAX_VALUE si ninguna preempta).
+     * Con la cola fija, en Prioridad/SRT/EDF la respuesta no cambia con el
+     * tiempo; en Round Robin depende de lo que queda del quantum.
+     */
+    public int preemptionHorizon(Process current) {
+        if (current == null) return 0;
+
+        if (currentScheduler == rrScheduler) {
+            if (currentScheduler.isEmpty()) {
+                return Integer.MAX_VALUE;
+            }
+            int counter = current.getPid() == rrSlicePid ? rrSliceCounter : 0;
+            return Math.max(0, rrScheduler.getQuantum() - counter - 1);
+        }
+
+        return preemptsByPolicy(current) ? 0 : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Registra count llamadas a shouldPreempt(current) que no preemptaron,
+     * de una vez (avanza el contador del quantum de Round Robin).
+     */
+    public void recordPreemptionChecks(Process current, int count) {
+        if (current == null || count <= 0 || currentScheduler != rrScheduler) return;
+
+        if (rrSlicePid != current.getPid()) {
+            rrSlicePid = current.getPid();
+            rrSliceCounter = 0;
+        }
+        rrSliceCounter += count;
+    }
+
+    /**
+     * Preempción por política (Prioridad, SRT, EDF) frente al mejor candidato.
+     */
+    private boolean preemptsByPolicy(Process current) {
         // FCFS es no-preemptive.
         if (currentScheduler == fcfsScheduler) {
             return false;
         }
 
-        // Obtener el candidato más prioritario del scheduler actual.
-        Process next = this.currentScheduler.getReadyQueue().peek();
+        // Obtener el candidato más prioritario del scheduler actual (sin copiar la cola).
+        Process next = this.currentScheduler.peekNext();
         if (next == null) return false;
 
         // Prioridad Estática Preemptiva.
@@ -186,266 +209,108 @@ public class SchedulerManager {
     }
     
     /**
-     * Obtiene el próximo proceso a ejecutar de manera segura
-     */
-    public Process getNextProcess() {
-        try {
-            readyQueueSemaphore.acquire();
-            currentProcessSemaphore.acquire();
-            
-            Process nextProcess = currentScheduler.getNextProcess();
-            
-            if (nextProcess != null) {
-                if (currentProcess != null && currentProcess.getState() == ProcessState.RUNNING) {
-                    // Hacer cambio de contexto
-                    performContextSwitch(currentProcess, nextProcess);
-                }
-                
-                currentProcess = nextProcess;
-                if (currentScheduler == rrScheduler) {
-                    rrSliceProcessId = currentProcess.getId();
-                    rrSliceCounter = 0;
-                }
-                contextSwitches++;
-                addLogEntry("Cambio de contexto a: " + currentProcess.getId());
-            }
-            
-            currentProcessSemaphore.release();
-            readyQueueSemaphore.release();
-            
-            return nextProcess;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return null;
-        }
-    }
-    
-    /**
-     * Ejecuta un ciclo del proceso actual
+     * true si el proceso ya está en la cola de listos (O(1))
      */
-    public void executeCurrentCycle() {
-        try {
-            currentProcessSemaphore.acquire();
-            
-            if (currentProcess != null && currentProcess.getState() == ProcessState.RUNNING) {
-                boolean finished = currentProcess.executeInstruction();
-                
-                // Verificar deadlines
-                currentProcess.updateDeadline();
-                if (currentProcess.getRemainingDeadline() <= 0 && !currentProcess.isFinished()) {
-                    handleDeadlineMiss(currentProcess);
-                }
-                
-                if (finished) {
-                    finishProcess(currentProcess);
-                    currentProcess = null;
-                }
-            }
-            
-            currentProcessSemaphore.release();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    public boolean isQueued(Process process) {
+        return currentScheduler.contains(process);
     }
     
     /**
-     * Mueve un proceso a la cola de bloqueados (E/S)
+     * Obtiene el próximo proceso a ejecutar
      */
-    public void blockProcessForIO(Process process, int ioDuration) {
-        try {
-            currentProcessSemaphore.acquire();
-            blockedQueueSemaphore.acquire();
-            
-            process.setState(ProcessState.BLOCKED);
-            process.setIoStartCycle(systemClock);
-            process.setIoDuration(ioDuration);
-            process.setIoCompletionTime(systemClock + ioDuration);
-            process.setRequiresIO(true);
-            
-            blockedQueue.add(process);
-            
-            currentProcessSemaphore.release();
-            blockedQueueSemaphore.release();
-            
-            addLogEntry("Proceso bloqueado por E/S: " + process.getId() + " (Duración: " + ioDuration + ")");
-            
-            // Generar interrupción de E/S
-            interruptHandler.raiseInterrupt(InterruptType.IO_COMPLETION, 1, "IO_Device");
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-    
-    /**
-     * Verifica y reactiva procesos bloqueados que completaron E/S
-     */
-    public void checkBlockedProcesses() {
-        try {
-            blockedQueueSemaphore.acquire();
-            readyQueueSemaphore.acquire();
-            
-            LinkedList<Process> completedIO = new LinkedList<>();
-            
-            for (int i = 0; i < blockedQueue.size(); i++) {
-                Process p = blockedQueue.get(i);
-                if (p.isIOCompleted(systemClock)) {
-                    p.completeIO();
-                    completedIO.add(p);
-                }
+    public Process getNextProcess() {
+        Process nextProcess = currentScheduler.getNextProcess();
+        
+        if (nextProcess != null) {
+            // Si sale el mismo proceso (copia repetida en la cola) no se reencola:
+            // el planificador ya lo marcó RUNNING y se reinsertaría sin fin
+            if (currentProcess != null && currentProcess != nextProcess &&
+                currentProcess.getState() == ProcessState.RUNNING) {
+                // Hacer cambio de contexto
+                performContextSwitch(currentProcess, nextProcess);
             }
             
-            // Mover procesos completados de vuelta a la cola de listos
-            for (int i = 0; i < completedIO.size(); i++) {
-                Process p = completedIO.get(i);
-                blockedQueue.remove(p);
-                currentScheduler.addProcess(p);
-                addLogEntry("E/S completada para: " + p.getId());
+            currentProcess = nextProcess;
+            if (currentScheduler == rrScheduler) {
+                rrSlicePid = currentProcess.getPid();
+                rrSliceCounter = 0;
             }
-            
-            readyQueueSemaphore.release();
-            blockedQueueSemaphore.release();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            contextSwitches++;
+            addLogEntry("Cambio de contexto a: {}", currentProcess.getId());
         }
+        
+        return nextProcess;
     }
     
     /**
-     * Suspende un proceso cuando la memoria está llena
+     * Obtiene el nombre del algoritmo actual
      */
-    public void suspendProcess(Process process) {
-        try {
-            suspendedQueueSemaphore.acquire();
-            
-            if (process.getState() == ProcessState.READY) {
-                process.setState(ProcessState.READY_SUSPENDED);
-            } else if (process.getState() == ProcessState.BLOCKED) {
-                process.setState(ProcessState.BLOCKED_SUSPENDED);
-            }
-            
-            suspendedQueue.add(process);
-            
-            suspendedQueueSemaphore.release();
-            
-            addLogEntry("Proceso suspendido: " + process.getId() + " (Memoria llena)");
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    public String getCurrentAlgorithmName() {
+        return currentScheduler.getName();
     }
     
     /**
-     * Reactiva un proceso suspendido
+     * Cambia el algoritmo de planificación (desde el thread de ciclos)
      */
-    public boolean activateProcess(Process process) {
-        try {
-            suspendedQueueSemaphore.acquire();
-            readyQueueSemaphore.acquire();
-
-            if (suspendedQueue.contains(process)) {
-                suspendedQueue.remove(process);
-
-                if (process.getState() == ProcessState.READY_SUSPENDED) {
-                    process.setState(ProcessState.READY);
-                } else if (process.getState() == ProcessState.BLOCKED_SUSPENDED) {
-                    process.setState(ProcessState.BLOCKED);
-                }
-
-                currentScheduler.addProcess(process);
-
-                suspendedQueueSemaphore.release();
-                readyQueueSemaphore.release();
-
-                addLogEntry("Proceso reactivado: " + process.getId());
-                return true;
-            }
+    public void switchAlgorithm(Algorithm algorithm) {
+        trace("Cambiando algoritmo a: {}", algorithm);
+        
+        // Resolver scheduler destino
+        Scheduler targetScheduler = schedulerFor(algorithm);
 
-            suspendedQueueSemaphore.release();
-            readyQueueSemaphore.release();
+        // Evitar duplicados si se solicita el mismo algoritmo
+        if (targetScheduler == currentScheduler) {
+            addLogEntry("Algoritmo ya activo: {}", algorithm);
+            return;
+        }
 
-            return false;
+        addLogEntry("Cambio de algoritmo a: {}", algorithm);
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
+        // Mover procesos ready del scheduler actual al nuevo scheduler
+        Scheduler oldScheduler = currentScheduler;
+        currentScheduler = targetScheduler;
+        transferProcesses(oldScheduler, currentScheduler);
+        rrSliceCounter = 0;
+        rrSlicePid = -1;
+    }
+    
+    private Scheduler schedulerFor(Algorithm algorithm) {
+        switch(algorithm) {
+            case FCFS:
+                return fcfsScheduler;
+            case ROUND_ROBIN:
+                return rrScheduler;
+            case SRT:
+                return srtScheduler;
+            case PRIORITY:
+                return priorityScheduler;
+            case EDF:
+                return edfScheduler;
+            default:
+                return currentScheduler;
         }
     }
     
     /**
-     * Obtiene el nombre del algoritmo actual
+     * Algoritmo del scheduler activo.
      */
-    public String getCurrentAlgorithmName() {
-        return currentScheduler.getName();
-    }
-    
-    /**
-     * Cambia el algoritmo de planificación de manera segura
-     */
-    public void switchAlgorithm(Algorithm algorithm) {
-        try {
-            // Adquirir todos los semáforos necesarios para una transición segura
-            readyQueueSemaphore.acquire();
-            currentProcessSemaphore.acquire();
-
-            System.out.println("Cambiando algoritmo a: " + algorithm);
-            
-            // Resolver scheduler destino
-            Scheduler targetScheduler;
-            switch(algorithm) {
-                case FCFS:
-                    targetScheduler = fcfsScheduler;
-                    break;
-                case ROUND_ROBIN:
-                    targetScheduler = rrScheduler;
-                    break;
-                case SRT:
-                    targetScheduler = srtScheduler;
-                    break;
-                case PRIORITY:
-                    targetScheduler = priorityScheduler;
-                    break;
-                case EDF:
-                    targetScheduler = edfScheduler;
-                    break;
-                default:
-                    targetScheduler = currentScheduler;
-                    break;
+    public Algorithm getCurrentAlgorithm() {
+        for (Algorithm candidate : Algorithm.values()) {
+            if (schedulerFor(candidate) == currentScheduler) {
+                return candidate;
             }
-
-            // Evitar duplicados si se solicita el mismo algoritmo
-            if (targetScheduler == currentScheduler) {
-                addLogEntry("Algoritmo ya activo: " + algorithm);
-                currentProcessSemaphore.release();
-                readyQueueSemaphore.release();
-                return;
-            }
-
-            addLogEntry("Cambio de algoritmo a: " + algorithm);
-
-            // Mover procesos ready del scheduler actual al nuevo scheduler
-            Queue<Process> currentQueue = currentScheduler.getReadyQueue();
-            Scheduler oldScheduler = currentScheduler;
-            currentScheduler = targetScheduler;
-            transferProcesses(oldScheduler, currentScheduler, currentQueue);
-            rrSliceCounter = 0;
-            rrSliceProcessId = null;
-
-            currentProcessSemaphore.release();
-            readyQueueSemaphore.release();
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            addLogEntry("ERROR: Interrupción durante cambio de algoritmo");
         }
+        return Algorithm.FCFS;
     }
     
     /**
      * Transfiere procesos entre schedulers
      */
-    private void transferProcesses(Scheduler from, Scheduler to, Queue<Process> queue) {
-        // Transferencia real: sacar del scheduler anterior y meter en el nuevo
-        while (!queue.isEmpty()) {
-            Process p = queue.dequeue();
+    private void transferProcesses(Scheduler from, Scheduler to) {
+        // Transferencia real: vaciar el scheduler anterior (en orden de despacho)
+        // y meter en el nuevo, así ninguno queda duplicado en ambos
+        while (!from.isEmpty()) {
+            Process p = from.getNextProcess();
             p.setState(ProcessState.READY); // Asegurar que esté en estado READY
             to.addProcess(p);
         }
@@ -458,7 +323,6 @@ public class SchedulerManager {
      */
     public void handleEmergency() {
         String message = "🚨 EMERGENCIA: Activando protocolos de seguridad";
-        System.out.println(message);
         addLogEntry(message);
         
         // En una implementación real: suspender procesos no críticos
@@ -478,12 +342,11 @@ public class SchedulerManager {
      */
     public void handleDeadlineMissed() {
         String message = "⏰ Deadline Incumplido: Replanificando tareas";
-        System.out.println(message);
         addLogEntry(message);
 
         // Mantener el algoritmo seleccionado por el usuario.
         // La GUI es quien decide cuándo cambiar de política.
-        addLogEntry("Se mantiene algoritmo actual: " + currentScheduler.getName());
+        addLogEntry("Se mantiene algoritmo actual: {}", currentScheduler.getName());
     }
 
     /**
@@ -491,7 +354,6 @@ public class SchedulerManager {
      */
     public void notifyIOCompletion() {
         String message = "✅ E/S Completada: Revisando procesos bloqueados";
-        System.out.println(message);
         addLogEntry(message);
         
         // En una implementación real: mover procesos de BLOCKED a READY
@@ -503,32 +365,10 @@ public class SchedulerManager {
      */
     public void handleSystemError() {
         String message = "❌ Error del Sistema: Iniciando diagnóstico";
-        System.out.println(message);
         addLogEntry(message);
         
     }
     
-    /**
-     * Incrementa el reloj del sistema y actualiza estados
-     */
-    public void tick() {
-        systemClock++;
-        
-        // Actualizar deadlines de todos los procesos
-        updateAllDeadlines();
-        
-        // Verificar procesos bloqueados
-        checkBlockedProcesses();
-        
-        // Verificar memoria y suspender procesos si es necesario
-        manageMemory();
-        
-        // Generar interrupciones aleatorias (para simulación)
-        if (systemClock % 50 == 0) { // Cada 50 ciclos
-            generateRandomInterrupt();
-        }
-    }
-    
     // ========== MÉTODOS DE APOYO ==========
     
     private void performContextSwitch(Process oldProcess, Process newProcess) {
@@ -542,111 +382,6 @@ public class SchedulerManager {
         }
     }
     
-    private void finishProcess(Process process) {
-        process.finishProcess(systemClock);
-        process.setState(ProcessState.TERMINATED);
-        processesCompleted++;
-        
-        if (process.isDeadlineMissed()) {
-            deadlineMisses++;
-            interruptHandler.raiseInterrupt(InterruptType.DEADLINE_MISSED, 2, "Scheduler");
-        }
-        
-        addLogEntry("Proceso terminado: " + process.getId() + 
-                   " - Turnaround: " + process.getTurnaroundTime());
-    }
-    
-    private void handleDeadlineMiss(Process process) {
-        process.setDeadlineMissed(true);
-        deadlineMisses++;
-        
-        addLogEntry("⚠️ Deadline incumplido: " + process.getId());
-        
-        // Generar interrupción de deadline missed
-        interruptHandler.raiseInterrupt(InterruptType.DEADLINE_MISSED, 2, "Scheduler");
-    }
-    
-    private void updateAllDeadlines() {
-        try {
-            readyQueueSemaphore.acquire();
-            
-            // Actualizar deadlines en cola de listos
-            Queue<Process> tempQueue = new Queue<>();
-            while (!currentScheduler.isEmpty()) {
-                Process p = currentScheduler.getNextProcess();
-                if (p != null) {
-                    p.updateDeadline();
-                    tempQueue.enqueue(p);
-                }
-            }
-            
-            // Restaurar cola
-            while (!tempQueue.isEmpty()) {
-                currentScheduler.addProcess(tempQueue.dequeue());
-            }
-            
-            readyQueueSemaphore.release();
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-    
-    private void manageMemory() {
-        // Lógica simple de gestión de memoria
-        // Si hay más de 8 procesos en cola de listos, suspender algunos
-        try {
-            readyQueueSemaphore.acquire();
-            
-            if (currentScheduler.getReadyQueue().size() > 8) {
-                // Suspender proceso con deadline más lejano
-                Process toSuspend = findProcessToSuspend();
-                if (toSuspend != null) {
-                    suspendProcess(toSuspend);
-                }
-            }
-            
-            readyQueueSemaphore.release();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-    
-    private Process findProcessToSuspend() {
-        // Encuentra proceso con deadline más lejano (menos urgente)
-        Process candidate = null;
-        int maxDeadline = Integer.MIN_VALUE;
-        
-        Queue<Process> tempQueue = new Queue<>();
-        
-        try {
-            readyQueueSemaphore.acquire();
-            
-            while (!currentScheduler.isEmpty()) {
-                Process p = currentScheduler.getNextProcess();
-                if (p != null) {
-                    if (p.getRemainingDeadline() > maxDeadline) {
-                        maxDeadline = p.getRemainingDeadline();
-                        candidate = p;
-                    }
-                    tempQueue.enqueue(p);
-                }
-            }
-            
-            // Restaurar cola
-            while (!tempQueue.isEmpty()) {
-                currentScheduler.addProcess(tempQueue.dequeue());
-            }
-            
-            readyQueueSemaphore.release();
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        return candidate;
-    }
-    
     // ========== MÉTODOS PARA INTERRUPCIONES ==========
     
     public void generateRandomInterrupt() {
@@ -661,64 +396,74 @@ public class SchedulerManager {
         if (quantum < 1) return;
         rrScheduler.setQuantum(quantum);
         rrSliceCounter = 0;
-        rrSliceProcessId = null;
-        addLogEntry("Quantum RR actualizado a: " + quantum);
+        rrSlicePid = -1;
+        addLogEntry("Quantum RR actualizado a: {}", quantum);
     }
     
-    // ========== GETTERS SEGUROS ==========
+    // ========== CHECKPOINT ==========
     
-    public Queue<Process> getReadyQueue() {
-        try {
-            readyQueueSemaphore.acquire();
-            Queue<Process> queue = currentScheduler.getReadyQueue();
-            readyQueueSemaphore.release();
-            return queue;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return new Queue<>();
-        }
+    /**
+     * Guarda algoritmo, quantum, cola de listos (en orden de despacho),
+     * estado de la tajada de Round Robin y contadores.
+     */
+    public void writeCheckpoint(CheckpointWriter out) throws IOException {
+        out.writeEnum(getCurrentAlgorithm());
+        out.writeInt(rrScheduler.getQuantum());
+        out.writeInt(rrSliceCounter);
+        out.writeInt(rrSlicePid);
+        out.writeInt(systemClock);
+        out.writeInt(processesCreated);
+        out.writeInt(processesCompleted);
+        out.writeInt(deadlineMisses);
+        out.writeInt(contextSwitches);
+        out.writeProcess(currentProcess);
+        out.writeProcesses(currentScheduler.snapshot(), currentScheduler.size());
     }
     
-    public LinkedList<Process> getBlockedQueue() {
-        try {
-            blockedQueueSemaphore.acquire();
-            LinkedList<Process> copy = new LinkedList<>();
-            for (int i = 0; i < blockedQueue.size(); i++) {
-                copy.add(blockedQueue.get(i));
-            }
-            blockedQueueSemaphore.release();
-            return copy;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return new LinkedList<>();
+    /**
+     * Restaura lo guardado por writeCheckpoint en un scheduler recién creado.
+     * La cola de listos se vuelve a llenar en orden de despacho, así los
+     * empates se resuelven igual que en el original.
+     */
+    public void readCheckpoint(CheckpointReader in) throws IOException {
+        currentScheduler = schedulerFor(in.readEnum(Algorithm.values()));
+        rrScheduler.setQuantum(in.readInt());
+        rrSliceCounter = in.readInt();
+        rrSlicePid = in.readInt();
+        systemClock = in.readInt();
+        processesCreated = in.readInt();
+        processesCompleted = in.readInt();
+        deadlineMisses = in.readInt();
+        contextSwitches = in.readInt();
+        currentProcess = in.readProcess();
+        for (Process p : in.readProcesses()) {
+            currentScheduler.addProcess(p);
         }
     }
     
-    public LinkedList<Process> getSuspendedQueue() {
-        try {
-            suspendedQueueSemaphore.acquire();
-            LinkedList<Process> copy = new LinkedList<>();
-            for (int i = 0; i < suspendedQueue.size(); i++) {
-                copy.add(suspendedQueue.get(i));
-            }
-            suspendedQueueSemaphore.release();
-            return copy;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return new LinkedList<>();
-        }
+    // ========== GETTERS ==========
+    
+    public int getRoundRobinQuantum() {
+        return rrScheduler.getQuantum();
+    }
+    
+    public Queue<Process> getReadyQueue() {
+        return currentScheduler.getReadyQueue();
+    }
+    
+    /**
+     * Copia de solo lectura de la cola de listos en orden de despacho.
+     */
+    public LinkedList<Process> getReadySnapshot() {
+        return currentScheduler.snapshot();
+    }
+    
+    public int getReadyCount() {
+        return currentScheduler.size();
     }
     
     public Process getCurrentProcess() {
-        try {
-            currentProcessSemaphore.acquire();
-            Process cp = currentProcess;
-            currentProcessSemaphore.release();
-            return cp;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return null;
-        }
+        return currentProcess;
     }
     
     public int getSystemClock() {
@@ -727,50 +472,76 @@ public class SchedulerManager {
     
     // ========== MÉTODOS DE LOG ==========
     
+    private void trace(String pattern, Object arg0) {
+        if (traceEnabled && logger.isEnabled(LogLevel.DEBUG)) {
+            logger.log(LogLevel.DEBUG, -1, pattern, arg0);
+        }
+    }
+    
+    /**
+     * Activa o desactiva la salida por consola (modo sin interfaz).
+     */
+    public void setTraceEnabled(boolean traceEnabled) {
+        this.traceEnabled = traceEnabled;
+        if (interruptHandler != null) {
+            interruptHandler.setTraceEnabled(traceEnabled);
+        }
+    }
+    
+    /**
+     * Detiene los workers de su InterruptHandler.
+     */
+    public void shutdown() {
+        if (interruptHandler != null) {
+            interruptHandler.shutdown();
+        }
+    }
+    
+    public boolean isTraceEnabled() {
+        return traceEnabled;
+    }
+    
+    // Los eventos se publican en el EventLogger con el reloj del scheduler;
+    // el texto se arma en su thread y solo si el nivel está habilitado
     private void addLogEntry(String message) {
-        try {
-            logSemaphore.acquire();
-            String timestamp = String.format("[%d]", systemClock);
-            String logEntry = timestamp + " " + message;
-            eventLogs.add(logEntry);
-            
-            // Mantener solo los últimos 100 logs
-            if (eventLogs.size() > 100) {
-                eventLogs.remove(0);
-            }
-            
-            logSemaphore.release();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        log(LogLevel.INFO, message);
+    }
+    
+    private void addLogEntry(String pattern, Object arg0) {
+        log(LogLevel.INFO, pattern, arg0);
+    }
+    
+    private void addLogEntry(String pattern, Object arg0, Object arg1) {
+        if (traceEnabled && logger.isEnabled(LogLevel.INFO)) {
+            logger.log(LogLevel.INFO, systemClock, pattern, arg0, arg1);
         }
     }
     
-    public LinkedList<String> getEventLogs() {
-        try {
-            logSemaphore.acquire();
-            LinkedList<String> copy = new LinkedList<>();
-            for (int i = 0; i < eventLogs.size(); i++) {
-                copy.add(eventLogs.get(i));
-            }
-            logSemaphore.release();
-            return copy;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return new LinkedList<>();
+    private void log(LogLevel level, String message) {
+        if (traceEnabled && logger.isEnabled(level)) {
+            logger.log(level, systemClock, message);
         }
-    }   
+    }
+    
+    private void log(LogLevel level, String pattern, Object arg0) {
+        if (traceEnabled && logger.isEnabled(level)) {
+            logger.log(level, systemClock, pattern, arg0);
+        }
+    }
+    
+    /**
+     * Últimas entradas del log de eventos (nivel INFO o mayor).
+     */
+    public LinkedList<String> getEventLogs() {
+        return getRecentLogs(EventLogger.HISTORY_SIZE);
+    }
+    
     /**
      * Obtiene los últimos N logs
      */
     public LinkedList<String> getRecentLogs(int count) {
-        LinkedList<String> recent = new LinkedList<>();
-        int start = Math.max(0, eventLogs.size() - count);
-        
-        for (int i = start; i < eventLogs.size(); i++) {
-            recent.add(eventLogs.get(i));
-        }
-        
-        return recent;
+        logger.flush();
+        return logger.getHistory().getRecent(count);
     }
     
     // ========== ESTADÍSTICAS ==========
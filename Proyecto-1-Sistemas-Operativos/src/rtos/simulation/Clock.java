@@ -4,6 +4,8 @@
  */
 package rtos.simulation;
 
+import rtos.model.TimeSource;
+
 /**
  *
  * @author VictorB
@@ -14,7 +16,7 @@ package rtos.simulation;
  * Reloj global del sistema según especificaciones del PDF.
  * "El número de ciclo de reloj global debe ser visible en todo momento"
  */
-public class Clock {
+public class Clock implements TimeSource {
     private int currentCycle;
     private long realStartTime; // Para calcular tiempo real transcurrido
     private boolean isRunning;
@@ -47,6 +49,7 @@ public class Clock {
     /**
      * Obtiene el ciclo actual.
      */
+    @Override
     public int getCurrentCycle() {
         return currentCycle;
     }
@@ -0,0 +1,75 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.simulation;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import rtos.structures.LinkedList;
+import rtos.utils.CountingSemaphore;
+
+/**
+ * Cola acotada de comandos hacia el motor: varios productores (interfaz,
+ * workers de interrupciones, otros threads) y un solo consumidor (el thread
+ * que ejecuta el ciclo). Si está llena, el productor espera.
+ */
+public class CommandQueue {
+    private LinkedList<Runnable> commands;
+    private final CountingSemaphore mutex;        // Protege commands
+    private final CountingSemaphore freeSlots;    // Cupos libres (cota de la cola)
+    private final int capacity;
+    private volatile int pending;         // Para que el consumidor no tome el mutex si está vacía
+
+    public CommandQueue(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.commands = new LinkedList<>();
+        this.mutex = new CountingSemaphore(1);
+        this.freeSlots = new CountingSemaphore(this.capacity);
+        this.pending = 0;
+    }
+
+    /**
+     * Encola un comando; espera si la cola está llena.
+     */
+    public void put(Runnable command) throws InterruptedException {
+        freeSlots.acquire();
+        mutex.acquire();
+        commands.add(command);
+        pending++;
+        mutex.release();
+    }
+
+    /**
+     * Saca todos los comandos encolados, en orden de llegada.
+     * Solo la llama el consumidor.
+     * @return Lista vacía (sin tomar el mutex) si no hay comandos
+     */
+    public LinkedList<Runnable> drain() throws InterruptedException {
+        if (pending == 0) {
+            return new LinkedList<>();
+        }
+        mutex.acquire();
+        LinkedList<Runnable> drained = commands;
+        commands = new LinkedList<>();
+        pending = 0;
+        mutex.release();
+        freeSlots.release(drained.size());
+        return drained;
+    }
+
+    public boolean isEmpty() {
+        return pending == 0;
+    }
+
+    public int size() {
+        return pending;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
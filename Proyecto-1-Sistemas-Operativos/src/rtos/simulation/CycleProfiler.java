@@ -0,0 +1,201 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.simulation;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import rtos.statistics.LatencyHistogram;
+import rtos.utils.CountingSemaphore;
+
+/**
+ * Mide cuánto tarda cada fase del ciclo del motor (System.nanoTime entre el
+ * fin de una fase y el de la siguiente) y cuántas veces el thread del ciclo
+ * tuvo que esperar en cada una al semáforo del ciclo o a la cola de
+ * comandos.
+ *
+ * Los histogramas son de tamaño fijo: medir no crea objetos y el costo es
+ * una lectura del reloj por fase. Lo usa solo el thread dueño del ciclo;
+ * para leerlo desde otro thread se usa la copia de la última foto
+ * (SimulationEngine.getCycleProfile).
+ */
+public class CycleProfiler {
+
+    /**
+     * Fases de executeOneCycleInternal, en orden.
+     */
+    public enum Phase {
+        LOCK("Semáforo del ciclo"),
+        COMMANDS("Comandos"),
+        SKIP_IDLE("Salto de ociosos"),
+        BURST("Ráfaga"),
+        CLOCK_AND_ARRIVALS("Reloj y llegadas"),
+        INTERRUPTS("Interrupciones"),
+        DEADLINES("Deadlines"),
+        IO("E/S completadas"),
+        MEMORY("Memoria"),
+        EXECUTE("Ejecución"),
+        SCHEDULE("Planificación"),
+        EVENTS("Eventos aleatorios"),
+        STATISTICS("Estadísticas"),
+        SNAPSHOT("Foto");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LatencyHistogram[] phases;
+    private final long[] waits;
+    private final LatencyHistogram cycles;
+    private long processSamples;
+    private long processTotal;
+    private int processMax;
+
+    // Ciclo en curso
+    private long cycleStart;
+    private long mark;
+    private long waitMark;
+
+    public CycleProfiler() {
+        this.phases = new LatencyHistogram[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+        this.waits = new long[PHASES.length];
+        this.cycles = new LatencyHistogram();
+        this.processSamples = 0;
+        this.processTotal = 0;
+        this.processMax = 0;
+    }
+
+    /**
+     * Empieza un ciclo.
+     * @param lockStart nanoTime tomado antes de pedir el semáforo del ciclo
+     * @param lockWaits Esperas del thread (semáforo del ciclo y cola de
+     *                  comandos, ver CountingSemaphore) antes de pedirlo
+     */
+    public void beginCycle(long lockStart, long lockWaits) {
+        this.cycleStart = lockStart;
+        this.mark = lockStart;
+        this.waitMark = lockWaits;
+    }
+
+    /**
+     * Cierra la fase: registra el tiempo desde el fin de la anterior y las
+     * esperas (semáforo del ciclo o cola de comandos) que hubo en el medio.
+     */
+    public void endPhase(Phase phase) {
+        long now = System.nanoTime();
+        long waitCount = CountingSemaphore.getWaitCount();
+        phases[phase.ordinal()].record(now - mark);
+        waits[phase.ordinal()] += waitCount - waitMark;
+        mark = now;
+        waitMark = waitCount;
+    }
+
+    /**
+     * Cierra el ciclo.
+     * @param processesInSystem Procesos en el sistema al terminar el ciclo
+     */
+    public void endCycle(int processesInSystem) {
+        cycles.record(mark - cycleStart);
+        processSamples++;
+        processTotal += processesInSystem;
+        processMax = Math.max(processMax, processesInSystem);
+    }
+
+    public LatencyHistogram getPhase(Phase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    /**
+     * Veces que el thread del ciclo esperó durante la fase al semáforo del
+     * ciclo o a la cola de comandos (los únicos puntos de entrega con otros
+     * threads).
+     */
+    public long getWaits(Phase phase) {
+        return waits[phase.ordinal()];
+    }
+
+    /**
+     * Duración del ciclo completo (semáforo incluido).
+     */
+    public LatencyHistogram getCycles() {
+        return cycles;
+    }
+
+    public double getAverageProcesses() {
+        return processSamples == 0 ? 0.0 : (double) processTotal / processSamples;
+    }
+
+    public int getMaxProcesses() {
+        return processMax;
+    }
+
+    public CycleProfiler copy() {
+        CycleProfiler copy = new CycleProfiler();
+        for (int i = 0; i < PHASES.length; i++) {
+            copy.phases[i].add(phases[i]);
+            copy.waits[i] = waits[i];
+        }
+        copy.cycles.add(cycles);
+        copy.processSamples = processSamples;
+        copy.processTotal = processTotal;
+        copy.processMax = processMax;
+        return copy;
+    }
+
+    public void reset() {
+        for (int i = 0; i < PHASES.length; i++) {
+            phases[i].reset();
+            waits[i] = 0;
+        }
+        cycles.reset();
+        processSamples = 0;
+        processTotal = 0;
+        processMax = 0;
+    }
+
+    /**
+     * Tabla por fase (en microsegundos) con su parte del tiempo total del
+     * ciclo, ordenada como el ciclo.
+     */
+    public String generateReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== PERFIL DEL CICLO ===\n");
+        sb.append(String.format("Ciclos: %d | Procesos en sistema: %.1f promedio, %d máximo\n",
+                cycles.getCount(), getAverageProcesses(), processMax));
+        sb.append(String.format("Ciclo completo: media %.2fµs p50 %.2fµs p99 %.2fµs máx %.2fµs\n\n",
+                cycles.getMean() / 1000.0, micros(cycles.getPercentile(50)),
+                micros(cycles.getPercentile(99)), micros(cycles.getMax())));
+        sb.append(String.format("%-20s %10s %10s %10s %10s %10s %7s %8s\n",
+                "Fase", "media µs", "p50", "p90", "p99", "máx", "%", "esperas"));
+        long cycleTotal = Math.max(1, cycles.getTotal());
+        for (Phase phase : PHASES) {
+            LatencyHistogram h = phases[phase.ordinal()];
+            sb.append(String.format("%-20s %10.2f %10.2f %10.2f %10.2f %10.2f %6.1f%% %8d\n",
+                    phase.getLabel(), h.getMean() / 1000.0,
+                    micros(h.getPercentile(50)), micros(h.getPercentile(90)),
+                    micros(h.getPercentile(99)), micros(h.getMax()),
+                    100.0 * h.getTotal() / cycleTotal, waits[phase.ordinal()]));
+        }
+        return sb.toString();
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
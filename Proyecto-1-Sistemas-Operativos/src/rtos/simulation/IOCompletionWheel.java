@@ -0,0 +1,164 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.simulation;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.io.IOException;
+import java.util.Iterator;
+import rtos.checkpoint.CheckpointReader;
+import rtos.checkpoint.CheckpointWriter;
+import rtos.model.Process;
+import rtos.structures.IntrusiveList;
+import rtos.structures.LinkedList;
+
+/**
+ * Rueda de tiempo (hashed timing wheel) para las finalizaciones de E/S.
+ * Cada proceso queda en el bucket de su ioCompletionTime, así en cada ciclo
+ * solo se revisa un bucket: el costo es O(finalizaciones) y no O(bloqueados).
+ * Los procesos cuyo ciclo cae más allá de una vuelta esperan en su bucket
+ * hasta que llegue su ciclo.
+ */
+public class IOCompletionWheel {
+    private final IntrusiveList<Process>[] buckets;
+    private final int mask;
+    private int currentCycle;   // Último ciclo ya procesado
+    private int size;
+    
+    /**
+     * @param bucketCount Cantidad de buckets (se redondea a potencia de 2)
+     */
+    @SuppressWarnings("unchecked")
+    public IOCompletionWheel(int bucketCount) {
+        int capacity = Integer.highestOneBit(Math.max(2, bucketCount - 1)) << 1;
+        this.buckets = (IntrusiveList<Process>[]) new IntrusiveList<?>[capacity];
+        for (int i = 0; i < capacity; i++) {
+            buckets[i] = new IntrusiveList<>(Process.LINK_IO_WHEEL);
+        }
+        this.mask = capacity - 1;
+        this.currentCycle = 0;
+        this.size = 0;
+    }
+    
+    /**
+     * Registra el proceso para su ioCompletionTime.
+     * Si ya estaba registrado se mueve al nuevo ciclo.
+     */
+    public void schedule(Process process) {
+        cancel(process);
+        // Un ciclo ya pasado se atiende en el siguiente avance
+        int due = Math.max(process.getIoCompletionTime(), currentCycle + 1);
+        buckets[due & mask].add(process);
+        size++;
+    }
+    
+    /**
+     * Saca el proceso de la rueda en O(1)
+     * @return true si estaba registrado
+     */
+    public boolean cancel(Process process) {
+        IntrusiveList<Process> owner = process.getListOwner(Process.LINK_IO_WHEEL);
+        if (owner != null && owner.remove(process)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Avanza la rueda hasta el ciclo dado y devuelve los procesos cuya E/S
+     * terminó (ioCompletionTime <= cycle). Si se saltaron ciclos, se ponen
+     * al día todos los buckets intermedios.
+     */
+    public LinkedList<Process> advanceTo(int cycle) {
+        LinkedList<Process> due = new LinkedList<>();
+        if (cycle <= currentCycle) {
+            return due;
+        }
+        // Más de una vuelta equivale a revisar todos los buckets una vez
+        int steps = Math.min(cycle - currentCycle, buckets.length);
+        for (int i = 1; i <= steps && size > 0; i++) {
+            IntrusiveList<Process> bucket = buckets[(currentCycle + i) & mask];
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            for (Iterator<Process> it = bucket.iterator(); it.hasNext();) {
+                Process p = it.next();
+                if (p.getIoCompletionTime() <= cycle) {
+                    it.remove();
+                    size--;
+                    due.add(p);
+                }
+            }
+        }
+        currentCycle = cycle;
+        return due;
+    }
+    
+    /**
+     * Ciclo de la próxima finalización de E/S, o Integer.MAX_VALUE si no hay.
+     * Recorre los buckets una vez: O(buckets + registrados).
+     */
+    public int nextDueCycle() {
+        if (size == 0) {
+            return Integer.MAX_VALUE;
+        }
+        int next = Integer.MAX_VALUE;
+        for (IntrusiveList<Process> bucket : buckets) {
+            for (Process p : bucket) {
+                next = Math.min(next, p.getIoCompletionTime());
+            }
+        }
+        // Lo ya vencido se entrega en el próximo avance
+        return Math.max(next, currentCycle + 1);
+    }
+    
+    /**
+     * Guarda el ciclo de la rueda y el contenido de cada bucket en orden.
+     */
+    public void writeCheckpoint(CheckpointWriter out) throws IOException {
+        out.writeInt(buckets.length);
+        out.writeInt(currentCycle);
+        for (IntrusiveList<Process> bucket : buckets) {
+            out.writeProcesses(bucket, bucket.size());
+        }
+    }
+    
+    /**
+     * Restaura lo guardado por writeCheckpoint en una rueda vacía con la
+     * misma cantidad de buckets.
+     */
+    public void readCheckpoint(CheckpointReader in) throws IOException {
+        int bucketCount = in.readInt();
+        if (bucketCount != buckets.length) {
+            throw new IOException("Checkpoint inválido: la rueda de E/S tiene "
+                    + bucketCount + " buckets, se esperaban " + buckets.length);
+        }
+        currentCycle = in.readInt();
+        size = 0;
+        for (IntrusiveList<Process> bucket : buckets) {
+            bucket.clear();
+            for (Process p : in.readProcesses()) {
+                bucket.add(p);
+                size++;
+            }
+        }
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int getCurrentCycle() {
+        return currentCycle;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.simulation;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import rtos.scheduler.SchedulerManager;
+import rtos.statistics.MonteCarloResult;
+import rtos.statistics.StatisticsTracker;
+
+/**
+ * Corre muchas simulaciones independientes en paralelo y agrega sus
+ * estadísticas por algoritmo (media e intervalo de confianza).
+ *
+ * Cada corrida usa su propio SimulationEngine sin interfaz, con
+ * interrupciones síncronas (no crea threads trabajadores), así que las
+ * corridas no comparten estado y escalan con los núcleos disponibles.
+ */
+public class MonteCarloRunner {
+    private final SimulationConfig baseConfig;
+    private SchedulerManager.Algorithm[] algorithms;
+    private int replications;
+    private int cyclesPerRun;
+    private int parallelism;
+    private long seed;
+
+    public MonteCarloRunner() {
+        this(SimulationConfig.headless());
+    }
+
+    /**
+     * @param baseConfig Configuración común a todas las corridas (el
+     *        algoritmo lo fija el runner; trazas e interrupciones síncronas se fuerzan)
+     */
+    public MonteCarloRunner(SimulationConfig baseConfig) {
+        this.baseConfig = baseConfig.copy();
+        this.baseConfig.setTraceEnabled(false);
+        this.baseConfig.setSynchronousInterrupts(true);
+        this.algorithms = SchedulerManager.Algorithm.values();
+        this.replications = 100;
+        this.cyclesPerRun = 10000;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+        this.seed = baseConfig.getSeed();
+    }
+
+    /**
+     * Corre replications simulaciones por algoritmo, en paralelo.
+     * @return Métricas agregadas, un grupo por algoritmo
+     */
+    public MonteCarloResult run() {
+        long[] seeds = replicationSeeds(seed, replications);
+        SimulationConfig[] configs = new SimulationConfig[algorithms.length * replications];
+        for (int i = 0; i < configs.length; i++) {
+            configs[i] = baseConfig.copy();
+            configs[i].setAlgorithm(algorithms[i / replications]);
+            configs[i].setSeed(seeds[i % replications]);
+        }
+        StatisticsTracker[] runs = runAll(configs, cyclesPerRun, parallelism);
+
+        // Agregar en orden fijo (el resultado no depende del orden de terminación)
+        String[] names = new String[algorithms.length];
+        for (int a = 0; a < algorithms.length; a++) {
+            names[a] = algorithms[a].name();
+        }
+        MonteCarloResult result = new MonteCarloResult(names);
+        for (int i = 0; i < runs.length; i++) {
+            result.addRun(i / replications, runs[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Semilla de cada réplica. La réplica r usa la misma semilla en todos los
+     * grupos, así los algoritmos se comparan sobre las mismas cargas.
+     */
+    static long[] replicationSeeds(long seed, int replications) {
+        SplittableRandom seedRandom = new SplittableRandom(seed);
+        long[] seeds = new long[replications];
+        for (int r = 0; r < replications; r++) {
+            seeds[r] = seedRandom.split().nextLong();
+        }
+        return seeds;
+    }
+
+    /**
+     * Corre una simulación por configuración, en paralelo.
+     * @return Estadísticas finales, en el mismo orden que configs
+     */
+    static StatisticsTracker[] runAll(SimulationConfig[] configs, int cycles, int parallelism) {
+        StatisticsTracker[] runs = new StatisticsTracker[configs.length];
+        if (configs.length == 0) {
+            return runs;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new ReplicationTask(configs, runs, cycles, 0, runs.length));
+        } finally {
+            pool.shutdown();
+        }
+        return runs;
+    }
+
+    /**
+     * Una corrida: motor aislado, n ciclos, y se descarta el motor.
+     */
+    private static StatisticsTracker runReplication(SimulationConfig config, int cycles) {
+        SimulationConfig isolated = config.copy();
+        isolated.setTraceEnabled(false);
+        isolated.setSynchronousInterrupts(true);
+        isolated.setEventTrace(null, null);   // Las réplicas no comparten archivos
+
+        SimulationEngine engine = new SimulationEngine(isolated);
+        try {
+            return engine.runCycles(cycles);
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    /**
+     * Divide el rango de corridas a la mitad hasta llegar a una sola.
+     */
+    private static class ReplicationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // Nunca se serializa: solo vive dentro del ForkJoinPool
+        private final transient SimulationConfig[] configs;
+        private final transient StatisticsTracker[] runs;
+        private final int cycles;
+        private final int from;
+        private final int to;
+
+        ReplicationTask(SimulationConfig[] configs, StatisticsTracker[] runs, int cycles, int from, int to) {
+            this.configs = configs;
+            this.runs = runs;
+            this.cycles = cycles;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                runs[from] = runReplication(configs[from], cycles);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ReplicationTask(configs, runs, cycles, from, middle),
+                      new ReplicationTask(configs, runs, cycles, middle, to));
+        }
+    }
+
+    // ========== GETTERS Y SETTERS ==========
+
+    public SchedulerManager.Algorithm[] getAlgorithms() {
+        return algorithms.clone();
+    }
+
+    public void setAlgorithms(SchedulerManager.Algorithm... algorithms) {
+        if (algorithms != null && algorithms.length > 0) {
+            this.algorithms = algorithms.clone();
+        }
+    }
+
+    public int getReplications() {
+        return replications;
+    }
+
+    public void setReplications(int replications) {
+        if (replications > 0) {
+            this.replications = replications;
+        }
+    }
+
+    public int getCyclesPerRun() {
+        return cyclesPerRun;
+    }
+
+    public void setCyclesPerRun(int cyclesPerRun) {
+        if (cyclesPerRun > 0) {
+            this.cyclesPerRun = cyclesPerRun;
+        }
+    }
+
+    /**
+     * Semilla de la que salen las de todas las réplicas (mismo valor =
+     * mismo resultado, sin importar el paralelismo).
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism > 0) {
+            this.parallelism = parallelism;
+        }
+    }
+}
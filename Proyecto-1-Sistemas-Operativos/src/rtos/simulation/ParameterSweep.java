@@ -0,0 +1,197 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.simulation;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import rtos.scheduler.SchedulerManager;
+import rtos.statistics.MonteCarloResult;
+import rtos.statistics.StatisticsTracker;
+
+/**
+ * Barrido de parámetros: corre, sin interfaz y en paralelo, todas las
+ * combinaciones de algoritmo, quantum de Round Robin, capacidad de RAM y
+ * tasa de llegadas, con varias réplicas por combinación.
+ *
+ * El quantum solo afecta a Round Robin, así que los demás algoritmos se
+ * corren una sola vez con el primer quantum de la lista.
+ */
+public class ParameterSweep {
+    private final SimulationConfig baseConfig;
+    private SchedulerManager.Algorithm[] algorithms;
+    private int[] quanta;
+    private int[] ramCapacities;
+    private double[] arrivalRates;
+    private int replications;
+    private int cyclesPerRun;
+    private int parallelism;
+    private long seed;
+
+    public ParameterSweep() {
+        this(SimulationConfig.headless());
+    }
+
+    /**
+     * @param baseConfig Valores de los parámetros que no se barren
+     */
+    public ParameterSweep(SimulationConfig baseConfig) {
+        this.baseConfig = baseConfig.copy();
+        this.algorithms = SchedulerManager.Algorithm.values();
+        this.quanta = new int[] { baseConfig.getRoundRobinQuantum() };
+        this.ramCapacities = new int[] { baseConfig.getRamCapacity() };
+        this.arrivalRates = new double[] { baseConfig.getArrivalRate() };
+        this.replications = 10;
+        this.cyclesPerRun = 10000;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+        this.seed = baseConfig.getSeed();
+    }
+
+    /**
+     * Corre toda la grilla.
+     * @return Una fila por combinación, en el orden algoritmo, quantum, RAM, llegadas
+     */
+    public SweepResult run() {
+        SimulationConfig[] points = buildGrid();
+
+        long[] seeds = MonteCarloRunner.replicationSeeds(seed, replications);
+        SimulationConfig[] configs = new SimulationConfig[points.length * replications];
+        for (int i = 0; i < configs.length; i++) {
+            configs[i] = points[i / replications].copy();
+            configs[i].setSeed(seeds[i % replications]);
+        }
+        StatisticsTracker[] runs = MonteCarloRunner.runAll(configs, cyclesPerRun, parallelism);
+
+        String[] names = new String[points.length];
+        for (int p = 0; p < points.length; p++) {
+            names[p] = points[p].toString();
+        }
+        MonteCarloResult metrics = new MonteCarloResult(names);
+        for (int i = 0; i < runs.length; i++) {
+            metrics.addRun(i / replications, runs[i]);
+        }
+        return new SweepResult(points, metrics);
+    }
+
+    /**
+     * Arma los puntos de la grilla a partir de la configuración base.
+     */
+    private SimulationConfig[] buildGrid() {
+        int count = 0;
+        for (SchedulerManager.Algorithm algorithm : algorithms) {
+            count += quantaFor(algorithm) * ramCapacities.length * arrivalRates.length;
+        }
+
+        SimulationConfig[] points = new SimulationConfig[count];
+        int index = 0;
+        for (SchedulerManager.Algorithm algorithm : algorithms) {
+            for (int q = 0; q < quantaFor(algorithm); q++) {
+                for (int ram : ramCapacities) {
+                    for (double rate : arrivalRates) {
+                        SimulationConfig point = baseConfig.copy();
+                        point.setAlgorithm(algorithm);
+                        point.setRoundRobinQuantum(quanta[q]);
+                        point.setRamCapacity(ram);
+                        point.setArrivalRate(rate);
+                        points[index++] = point;
+                    }
+                }
+            }
+        }
+        return points;
+    }
+
+    private int quantaFor(SchedulerManager.Algorithm algorithm) {
+        return algorithm == SchedulerManager.Algorithm.ROUND_ROBIN ? quanta.length : 1;
+    }
+
+    // ========== GETTERS Y SETTERS ==========
+
+    public void setAlgorithms(SchedulerManager.Algorithm... algorithms) {
+        if (algorithms != null && algorithms.length > 0) {
+            this.algorithms = algorithms.clone();
+        }
+    }
+
+    public void setQuanta(int... quanta) {
+        if (quanta != null && quanta.length > 0) {
+            this.quanta = quanta.clone();
+        }
+    }
+
+    public void setRamCapacities(int... ramCapacities) {
+        if (ramCapacities != null && ramCapacities.length > 0) {
+            this.ramCapacities = ramCapacities.clone();
+        }
+    }
+
+    public void setArrivalRates(double... arrivalRates) {
+        if (arrivalRates != null && arrivalRates.length > 0) {
+            this.arrivalRates = arrivalRates.clone();
+        }
+    }
+
+    public int getReplications() {
+        return replications;
+    }
+
+    public void setReplications(int replications) {
+        if (replications > 0) {
+            this.replications = replications;
+        }
+    }
+
+    public int getCyclesPerRun() {
+        return cyclesPerRun;
+    }
+
+    public void setCyclesPerRun(int cyclesPerRun) {
+        if (cyclesPerRun > 0) {
+            this.cyclesPerRun = cyclesPerRun;
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism > 0) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    /**
+     * Barrido por defecto sobre todos los algoritmos; escribe el CSV en el
+     * archivo indicado como primer argumento, o por consola si no hay.
+     */
+    public static void main(String[] args) throws IOException {
+        ParameterSweep sweep = new ParameterSweep();
+        sweep.setQuanta(2, 4, 8);
+        sweep.setRamCapacities(5, 10, 20);
+        sweep.setArrivalRates(0.0, 0.01, 0.05);
+
+        String csv = sweep.run().generateCSV();
+        if (args.length > 0) {
+            Files.write(Paths.get(args[0]), csv.getBytes(StandardCharsets.UTF_8));
+        } else {
+            System.out.print(csv);
+        }
+    }
+}
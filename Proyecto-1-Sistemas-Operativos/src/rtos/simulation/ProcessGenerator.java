@@ -12,16 +12,14 @@ package rtos.simulation;
 
 import rtos.model.Process;
 import rtos.model.ProcessType;
-import java.util.Random;
-import rtos.model.Process;
-import rtos.model.ProcessType;
+import rtos.utils.SplitMix64;
 
 /**
  * "Generar automáticamente un conjunto inicial de procesos con parámetros aleatorios"
  * "Botón 'Generar 20 Procesos Aleatorios'"
  */
 public class ProcessGenerator {
-    private final java.util.Random random;
+    private SplitMix64 random;
     private int processCounter;
     
     // Nombres de procesos para satélite
@@ -39,7 +37,14 @@ public class ProcessGenerator {
     };
     
     public ProcessGenerator() {
-        this.random = new java.util.Random();
+        this(new SplitMix64());
+    }
+    
+    /**
+     * @param random Flujo propio del generador (misma semilla = mismos procesos)
+     */
+    public ProcessGenerator(SplitMix64 random) {
+        this.random = random;
         this.processCounter = 1000; // P1000, P1001, etc.
     }
     
@@ -47,8 +52,8 @@ public class ProcessGenerator {
      * Genera proceso aleatorio con parámetros variados.
      */
     public Process generateRandomProcess() {
-        // ID único
-        String id = "P" + (processCounter++);
+        // ID único (el texto "P1000" se arma recién si alguien lo pide)
+        int idNumber = processCounter++;
         
         // Nombre aleatorio
         String name = PROCESS_NAMES[random.nextInt(PROCESS_NAMES.length)];
@@ -64,7 +69,7 @@ public class ProcessGenerator {
                      Math.max(deadline + 10, totalInstructions * 2) : 0;
         
         // Crear proceso
-        Process process = new Process(id, name, type, totalInstructions, priority, deadline, period);
+        Process process = new Process("P", idNumber, name, type, totalInstructions, priority, deadline, period);
         
         // 40% de probabilidad de requerir E/S
         if (random.nextDouble() < 0.4) {
@@ -80,10 +85,8 @@ public class ProcessGenerator {
      * Genera proceso de emergencia (alta prioridad).
      */
     public Process generateEmergencyProcess() {
-        String id = "EMG" + (processCounter++);
-        
         Process process = new Process(
-            id,
+            "EMG", processCounter++,
             "🚨 EMERGENCIA - Impacto",
             ProcessType.APERIODIC,
             15,  // Pocas instrucciones
@@ -102,7 +105,7 @@ public class ProcessGenerator {
      * Genera proceso periódico típico.
      */
     public Process generatePeriodicProcess(String baseId, String name, int creationTime) {
-        String id = baseId + "-" + (processCounter++);
+        int idNumber = processCounter++;
         
         int totalInstructions = 20 + random.nextInt(31); // 20-50
         int priority = 2 + random.nextInt(3); // 2-4
@@ -110,7 +113,7 @@ public class ProcessGenerator {
         int deadline = period - 5;
         
         Process process = new Process(
-            id, name, ProcessType.PERIODIC,
+            baseId + "-", idNumber, name, ProcessType.PERIODIC,
             totalInstructions, priority, deadline, period
         );
         
@@ -139,4 +142,26 @@ public class ProcessGenerator {
     public void resetCounter() {
         processCounter = 1000;
     }
+    
+    public int getProcessCounter() {
+        return processCounter;
+    }
+    
+    public void setProcessCounter(int processCounter) {
+        this.processCounter = processCounter;
+    }
+    
+    /**
+     * Copia del flujo aleatorio en su punto actual (para el checkpoint; el
+     * flujo propio no avanza).
+     */
+    public SplitMix64 getRandom() {
+        return random.copy();
+    }
+    
+    public void setRandom(SplitMix64 random) {
+        if (random != null) {
+            this.random = random;
+        }
+    }
 }
@@ -0,0 +1,273 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.simulation;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import rtos.checkpoint.CheckpointReader;
+import rtos.checkpoint.CheckpointWriter;
+import rtos.scheduler.SchedulerManager;
+import rtos.trace.TraceWriter;
+
+/**
+ * Parámetros con los que se construye un SimulationEngine.
+ * Los valores por defecto son los de la interfaz gráfica; para correr
+ * motores sin interfaz en paralelo conviene apagar las trazas y usar
+ * interrupciones síncronas (sin threads trabajadores).
+ */
+public class SimulationConfig {
+    private boolean traceEnabled;
+    private boolean synchronousInterrupts;
+    private boolean eventDriven;
+    private boolean burstExecution;
+    private int ramCapacity;
+    private int maxProcessesInSystem;
+    private int terminatedHistorySize;
+    private double arrivalRate;
+    private int initialProcessPercentage;
+    private int roundRobinQuantum;
+    private SchedulerManager.Algorithm algorithm;
+    private long seed;
+    private int snapshotInterval;
+    private boolean randomInterrupts;
+    private boolean profiling;
+    private Path eventTraceDirectory;
+    private String eventTraceName;
+    private long eventTraceSegmentBytes;
+
+    public SimulationConfig() {
+        this(true);
+    }
+
+    /**
+     * @param traceEnabled false para un motor sin salida por consola
+     */
+    public SimulationConfig(boolean traceEnabled) {
+        this.traceEnabled = traceEnabled;
+        this.synchronousInterrupts = false;
+        this.eventDriven = false;
+        this.burstExecution = false;
+        this.ramCapacity = 10;               // 10 procesos máximo en RAM
+        this.maxProcessesInSystem = 30;      // Límite global (RAM + suspendidos)
+        this.terminatedHistorySize = 200;    // Últimos terminados que se conservan
+        this.arrivalRate = 0.0;              // Sin llegadas aperiódicas extra
+        this.initialProcessPercentage = 100; // Siempre hay procesos iniciales
+        this.roundRobinQuantum = 4;
+        this.algorithm = SchedulerManager.Algorithm.FCFS;
+        this.seed = new SplittableRandom().nextLong();   // Al azar, pero se puede consultar
+        this.snapshotInterval = 1;           // Foto para la interfaz en cada ciclo
+        this.randomInterrupts = true;        // 5% por ciclo, como en la interfaz
+        this.profiling = false;              // Sin medición por fase del ciclo
+        this.eventTraceDirectory = null;     // Sin traza binaria
+        this.eventTraceName = "trace";
+        this.eventTraceSegmentBytes = TraceWriter.DEFAULT_SEGMENT_BYTES;
+    }
+
+    /**
+     * Configuración para una corrida sin interfaz: sin trazas, interrupciones
+     * síncronas, salto de ciclos ociosos y ejecución en ráfaga.
+     */
+    public static SimulationConfig headless() {
+        SimulationConfig config = new SimulationConfig(false);
+        config.setSynchronousInterrupts(true);
+        config.setEventDriven(true);
+        config.setBurstExecution(true);
+        config.setSnapshotInterval(0);
+        return config;
+    }
+
+    public SimulationConfig copy() {
+        SimulationConfig copy = new SimulationConfig(traceEnabled);
+        copy.synchronousInterrupts = synchronousInterrupts;
+        copy.eventDriven = eventDriven;
+        copy.burstExecution = burstExecution;
+        copy.ramCapacity = ramCapacity;
+        copy.maxProcessesInSystem = maxProcessesInSystem;
+        copy.terminatedHistorySize = terminatedHistorySize;
+        copy.arrivalRate = arrivalRate;
+        copy.initialProcessPercentage = initialProcessPercentage;
+        copy.roundRobinQuantum = roundRobinQuantum;
+        copy.algorithm = algorithm;
+        copy.seed = seed;
+        copy.snapshotInterval = snapshotInterval;
+        copy.randomInterrupts = randomInterrupts;
+        copy.profiling = profiling;
+        copy.eventTraceDirectory = eventTraceDirectory;
+        copy.eventTraceName = eventTraceName;
+        copy.eventTraceSegmentBytes = eventTraceSegmentBytes;
+        return copy;
+    }
+
+    /**
+     * Guarda los parámetros del motor en un checkpoint (la traza binaria no:
+     * el motor restaurado escribe la suya solo si se le configura).
+     */
+    void writeCheckpoint(CheckpointWriter out) throws IOException {
+        out.writeBoolean(traceEnabled);
+        out.writeBoolean(synchronousInterrupts);
+        out.writeBoolean(eventDriven);
+        out.writeBoolean(burstExecution);
+        out.writeInt(ramCapacity);
+        out.writeInt(maxProcessesInSystem);
+        out.writeInt(terminatedHistorySize);
+        out.writeDouble(arrivalRate);
+        out.writeInt(initialProcessPercentage);
+        out.writeInt(roundRobinQuantum);
+        out.writeEnum(algorithm);
+        out.writeLong(seed);
+        out.writeInt(snapshotInterval);
+        out.writeBoolean(randomInterrupts);
+    }
+
+    static SimulationConfig readCheckpoint(CheckpointReader in) throws IOException {
+        SimulationConfig config = new SimulationConfig(in.readBoolean());
+        config.synchronousInterrupts = in.readBoolean();
+        config.eventDriven = in.readBoolean();
+        config.burstExecution = in.readBoolean();
+        config.ramCapacity = in.readInt();
+        config.maxProcessesInSystem = in.readInt();
+        config.terminatedHistorySize = in.readInt();
+        config.arrivalRate = in.readDouble();
+        config.initialProcessPercentage = in.readInt();
+        config.roundRobinQuantum = in.readInt();
+        config.algorithm = in.readEnum(SchedulerManager.Algorithm.values());
+        config.seed = in.readLong();
+        config.snapshotInterval = in.readInt();
+        config.randomInterrupts = in.readBoolean();
+        return config;
+    }
+
+    // ========== GETTERS Y SETTERS ==========
+
+    public boolean isTraceEnabled() { return traceEnabled; }
+    public void setTraceEnabled(boolean traceEnabled) { this.traceEnabled = traceEnabled; }
+
+    public boolean isSynchronousInterrupts() { return synchronousInterrupts; }
+    public void setSynchronousInterrupts(boolean synchronousInterrupts) { this.synchronousInterrupts = synchronousInterrupts; }
+
+    public boolean isEventDriven() { return eventDriven; }
+    public void setEventDriven(boolean eventDriven) { this.eventDriven = eventDriven; }
+
+    /**
+     * Ráfagas de ejecución; solo tienen efecto con interrupciones síncronas.
+     */
+    public boolean isBurstExecution() { return burstExecution; }
+    public void setBurstExecution(boolean burstExecution) { this.burstExecution = burstExecution; }
+
+    public int getRamCapacity() { return ramCapacity; }
+    public void setRamCapacity(int ramCapacity) {
+        if (ramCapacity > 0) {
+            this.ramCapacity = ramCapacity;
+        }
+    }
+
+    public int getMaxProcessesInSystem() { return maxProcessesInSystem; }
+    public void setMaxProcessesInSystem(int maxProcessesInSystem) {
+        if (maxProcessesInSystem > 0) {
+            this.maxProcessesInSystem = maxProcessesInSystem;
+        }
+    }
+
+    /**
+     * Cuántos procesos terminados se conservan en la cola de terminados
+     * (los más viejos se descartan; 0 = ninguno).
+     */
+    public int getTerminatedHistorySize() { return terminatedHistorySize; }
+    public void setTerminatedHistorySize(int terminatedHistorySize) {
+        if (terminatedHistorySize >= 0) {
+            this.terminatedHistorySize = terminatedHistorySize;
+        }
+    }
+
+    /**
+     * Probabilidad por ciclo de que llegue un proceso aleatorio nuevo
+     * (0 = solo los iniciales y los periódicos, como en la interfaz).
+     */
+    public double getArrivalRate() { return arrivalRate; }
+    public void setArrivalRate(double arrivalRate) {
+        this.arrivalRate = Math.max(0.0, Math.min(1.0, arrivalRate));
+    }
+
+    public int getInitialProcessPercentage() { return initialProcessPercentage; }
+    public void setInitialProcessPercentage(int initialProcessPercentage) {
+        this.initialProcessPercentage = Math.max(0, Math.min(100, initialProcessPercentage));
+    }
+
+    public int getRoundRobinQuantum() { return roundRobinQuantum; }
+    public void setRoundRobinQuantum(int roundRobinQuantum) {
+        if (roundRobinQuantum > 0) {
+            this.roundRobinQuantum = roundRobinQuantum;
+        }
+    }
+
+    public SchedulerManager.Algorithm getAlgorithm() { return algorithm; }
+    public void setAlgorithm(SchedulerManager.Algorithm algorithm) {
+        if (algorithm != null) {
+            this.algorithm = algorithm;
+        }
+    }
+
+    /**
+     * Semilla de toda la aleatoriedad del motor: con la misma semilla y la
+     * misma configuración (interrupciones síncronas) la corrida se repite igual.
+     */
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    /**
+     * Cada cuántos ciclos se publica un SystemSnapshot (0 = nunca).
+     */
+    public int getSnapshotInterval() { return snapshotInterval; }
+    public void setSnapshotInterval(int snapshotInterval) {
+        this.snapshotInterval = Math.max(0, snapshotInterval);
+    }
+
+    /**
+     * false para que el motor no sortee interrupciones aleatorias (por
+     * ejemplo, al reproducir las de una traza).
+     */
+    public boolean isRandomInterrupts() { return randomInterrupts; }
+    public void setRandomInterrupts(boolean randomInterrupts) { this.randomInterrupts = randomInterrupts; }
+
+    /**
+     * true para medir cuánto tarda cada fase del ciclo (ver CycleProfiler).
+     */
+    public boolean isProfiling() { return profiling; }
+    public void setProfiling(boolean profiling) { this.profiling = profiling; }
+
+    /**
+     * Carpeta y nombre base de la traza binaria de eventos (ver TraceWriter);
+     * directory null = sin traza.
+     */
+    public void setEventTrace(Path directory, String name) {
+        this.eventTraceDirectory = directory;
+        if (name != null && !name.isEmpty()) {
+            this.eventTraceName = name;
+        }
+    }
+
+    public Path getEventTraceDirectory() { return eventTraceDirectory; }
+    public String getEventTraceName() { return eventTraceName; }
+
+    public long getEventTraceSegmentBytes() { return eventTraceSegmentBytes; }
+    public void setEventTraceSegmentBytes(long eventTraceSegmentBytes) {
+        if (eventTraceSegmentBytes > TraceWriter.HEADER_SIZE + TraceWriter.RECORD_SIZE) {
+            this.eventTraceSegmentBytes = eventTraceSegmentBytes;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulationConfig[%s, RAM=%d, máx=%d, llegadas=%.3f, quantum=%d, eventos=%b, ráfaga=%b, síncrono=%b]",
+                algorithm, ramCapacity, maxProcessesInSystem, arrivalRate, roundRobinQuantum,
+                eventDriven, burstExecution, synchronousInterrupts);
+    }
+}
@@ -10,21 +10,44 @@ package rtos.simulation;
  *
  * @author VictorB,luisf
  */
-import java.util.Random;
-import java.util.concurrent.Semaphore; 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Predicate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import rtos.checkpoint.CheckpointReader;
+import rtos.checkpoint.CheckpointWriter;
 import rtos.interrupt.InterruptHandler;
+import rtos.interrupt.InterruptRequest;
 import rtos.interrupt.InterruptType;
+import rtos.logging.EventLogger;
+import rtos.logging.LogLevel;
 import rtos.memory.MemoryManager;
 import rtos.model.Process;
 import rtos.model.ProcessState;
+import rtos.model.PidAllocator;
 import rtos.model.ProcessType;
 import rtos.scheduler.SchedulerManager;
+import rtos.simulation.SystemSnapshot.ProcessView;
 import rtos.statistics.StatisticsTracker;
+import rtos.structures.IntrusiveList;
 import rtos.structures.LinkedList;
-import rtos.structures.Queue;
+import rtos.structures.PriorityQueue;
+import rtos.trace.TraceEventType;
+import rtos.trace.TraceWriter;
+import rtos.utils.Comparator;
+import rtos.utils.CountingSemaphore;
+import rtos.utils.SplitMix64;
 
 /**
- * CON SEMÁFOROS de java.util.concurrent para exclusión mutua
+ * Un solo thread (el que ejecuta el ciclo) es dueño de todo el estado del
+ * motor. Los demás threads no lo tocan: envían comandos por una cola acotada
+ * (CommandQueue) que se vacía al inicio de cada ciclo. executionSemaphore
+ * delimita el ciclo completo.
  */
 public class SimulationEngine {
     public enum CpuMode {
@@ -40,47 +63,152 @@ public class SimulationEngine {
     private final StatisticsTracker statistics;
     private final ProcessGenerator generator;
     private final Clock globalClock;
+    private final SimulationConfig config;
     
-    // ========== SEMÁFOROS para exclusión mutua ==========
-    private final Semaphore executionSemaphore;    // Protege executeOneCycle()
-    private final Semaphore processSemaphore;      // Protege currentProcess
-    private final Semaphore queueSemaphore;        // Protege blockedQueue
-    private final Semaphore interruptSemaphore;    // Protege manejo de interrupciones
+    // ========== SEMÁFORO DEL CICLO Y COLA DE COMANDOS ==========
+    private final CountingSemaphore executionSemaphore;    // Protege executeOneCycle() y todo el estado
+    private final CommandQueue commands;           // Comandos de otros threads
+    private static final int COMMAND_QUEUE_CAPACITY = 1024;
+    private volatile Thread ownerThread;           // Thread que tiene el ciclo en curso
+    private volatile CycleProfiler profiler;       // Perfil por fase del ciclo (null = apagado)
     
     // ========== ESTADO (solo coordinación) ==========
-    private Process currentProcess;      // Proceso en CPU (referencia)
+    private volatile Process currentProcess;      // Proceso en CPU (referencia)
     private boolean isRunning;
     private boolean isPaused;
     private volatile int cycleDurationMs;
     private volatile CpuMode cpuMode;
+    private volatile boolean traceEnabled;   // Salida por consola y log de eventos
+    private final EventLogger logger = EventLogger.getDefault();
+    private volatile boolean eventDriven;    // Saltar ciclos ociosos hasta el próximo evento
+    private volatile boolean burstExecution; // Ejecutar en ráfaga los tramos sin eventos
     private volatile boolean kernelActivityThisCycle;
     private volatile boolean instructionExecutedThisCycle;
     private Thread simulationThread;
     
     // Colas (solo referencias a las de otros componentes)
-    private LinkedList<Process> blockedQueue;
+    private IntrusiveList<Process> blockedQueue;
     private LinkedList<Process> terminatedQueue;
+    // PIDs de los procesos en el sistema (uno por proceso admitido hasta que termina)
+    private final PidAllocator pids;
+    
+    // Finalizaciones de E/S pendientes por ciclo (bloqueados y bloqueados-suspendidos)
+    private final IOCompletionWheel ioWheel;
+    private LinkedList<Process> suspendedIOCompleted;
+    
+    // Próximos deadlines absolutos (el más cercano arriba)
+    private final PriorityQueue<Process> deadlineHeap;
+    
+    // Llegadas programadas (por ciclo de llegada = creationTime)
+    private final PriorityQueue<Process> arrivalHeap;
+    
+    // Ciclo de un evento que no va a ocurrir; nunca se compara como vencido
+    private static final int NO_EVENT = Integer.MAX_VALUE;
+    
+    // Colas vacías para los getters cuando no hay foto publicada
+    private static final ProcessView[] NO_PROCESSES = new ProcessView[0];
+    
+    // Próxima interrupción aleatoria (5% por ciclo, sorteada de forma geométrica)
+    private static final double RANDOM_INTERRUPT_PROBABILITY = 0.05;
+    private SplitMix64 eventRandom;
+    private int nextRandomInterruptCycle;
+    
+    // Sorteo de los procesos iniciales
+    private final SplitMix64 initialRandom;
+    
+    // Próxima llegada aperiódica generada (config.getArrivalRate() por ciclo)
+    private int nextGeneratedArrivalCycle;
+    
+    // Entradas programadas para un ciclo (reproducción de una traza): las de
+    // inicio de ciclo van con las llegadas, las de eventos en el paso 10
+    private final PriorityQueue<TimedInput> cycleStartInputs;
+    private final PriorityQueue<TimedInput> eventInputs;
+    private long inputSequence;
+    
+    /**
+     * Acción que se aplica en un ciclo dado; a igual ciclo, en orden de llegada.
+     */
+    private static class TimedInput {
+        final int cycle;
+        final long sequence;
+        final Runnable action;
+        
+        TimedInput(int cycle, long sequence, Runnable action) {
+            this.cycle = cycle;
+            this.sequence = sequence;
+            this.action = action;
+        }
+    }
+    
+    // Última foto publicada para la interfaz (se reemplaza, nunca se modifica)
+    private volatile SystemSnapshot snapshot;
+    private volatile int snapshotInterval;
+    private int lastSnapshotCycle;
+    
+    // Traza binaria de eventos (null = apagada); la escribe solo el dueño
+    private TraceWriter eventTrace;
+    private boolean cycleInProgress;         // Entre el paso 0 y el fin del ciclo
+    
+    // Límite superior de un salto de ciclos ociosos (lo fija runUntil/runCycles)
+    private int skipLimitCycle;
     
     // Callback para estadísticas
     private StatsCallback statsCallback;
     
     public SimulationEngine() {
+        this(true);
+    }
+    
+    /**
+     * @param traceEnabled false para un motor sin salida por consola (modo sin interfaz)
+     */
+    public SimulationEngine(boolean traceEnabled) {
+        this(new SimulationConfig(traceEnabled));
+    }
+    
+    /**
+     * Motor con sus propios componentes (reloj, generador, memoria,
+     * interrupciones), aislado de cualquier otro motor.
+     */
+    public SimulationEngine(SimulationConfig config) {
+        this(config, true);
+    }
+    
+    /**
+     * @param initialProcesses false para arrancar vacío (al restaurar un checkpoint)
+     */
+    private SimulationEngine(SimulationConfig config, boolean initialProcesses) {
+        this.config = config.copy();
+        this.traceEnabled = config.isTraceEnabled();
+        boolean synchronous = config.isSynchronousInterrupts();
+        
         // =========== CREAR COMPONENTES ==========
+        // Un flujo por subsistema, separados siempre en el mismo orden
+        SplitMix64 seedRandom = new SplitMix64(config.getSeed());
+        SplitMix64 generatorRandom = seedRandom.split();
+        SplitMix64 interruptRandom = seedRandom.split();
+        this.eventRandom = seedRandom.split();
+        this.initialRandom = seedRandom.split();
+        
         this.globalClock = new Clock();
-        this.generator = new ProcessGenerator();
+        this.generator = new ProcessGenerator(generatorRandom);
         this.statistics = new StatisticsTracker();
-        this.memory = new MemoryManager(10); // 10 procesos máximo en RAM
-        this.scheduler = new SchedulerManager(statistics);
-        this.interrupts = new InterruptHandler(scheduler);
+        this.memory = new MemoryManager(config.getRamCapacity());
+        this.eventTrace = openEventTrace(config);
+        this.scheduler = new SchedulerManager(statistics, synchronous, traceEnabled);
+        this.interrupts = new InterruptHandler(scheduler, synchronous, traceEnabled);
+        this.interrupts.setRandom(interruptRandom);
         
-        // =========== INICIALIZAR SEMÁFOROS (java.util.concurrent) ==========
-        this.executionSemaphore = new Semaphore(1);  // Semáforo binario
-        this.processSemaphore = new Semaphore(1);    // Semáforo binario
-        this.queueSemaphore = new Semaphore(1);      // Semáforo binario
-        this.interruptSemaphore = new Semaphore(1);  // Semáforo binario
+        // =========== SEMÁFORO DEL CICLO Y COLA DE COMANDOS ==========
+        this.executionSemaphore = new CountingSemaphore(1);  // Semáforo binario
+        this.commands = new CommandQueue(COMMAND_QUEUE_CAPACITY);
         
         // Configurar componentes
         setupComponentConnections();
+        scheduler.setRoundRobinQuantum(config.getRoundRobinQuantum());
+        if (config.getAlgorithm() != SchedulerManager.Algorithm.FCFS) {
+            scheduler.switchAlgorithm(config.getAlgorithm());
+        }
         
         // Estado inicial
         this.currentProcess = null;
@@ -90,16 +218,38 @@ public class SimulationEngine {
         this.cpuMode = CpuMode.IDLE;
         this.kernelActivityThisCycle = false;
         this.instructionExecutedThisCycle = false;
-        this.blockedQueue = new LinkedList<>();
+        this.blockedQueue = new IntrusiveList<>(Process.LINK_BLOCKED);
         this.terminatedQueue = new LinkedList<>();
+        this.pids = new PidAllocator();
+        this.ioWheel = new IOCompletionWheel(64);
+        this.suspendedIOCompleted = new LinkedList<>();
+        this.deadlineHeap = new PriorityQueue<>(new Comparator.DeadlineComparator());
+        this.arrivalHeap = new PriorityQueue<>(new Comparator.ArrivalTimeComparator());
+        Comparator<TimedInput> byCycle = (a, b) -> a.cycle != b.cycle
+                ? Integer.compare(a.cycle, b.cycle) : Long.compare(a.sequence, b.sequence);
+        this.cycleStartInputs = new PriorityQueue<>(byCycle);
+        this.eventInputs = new PriorityQueue<>(byCycle);
+        this.inputSequence = 0;
+        this.eventDriven = config.isEventDriven();
+        this.burstExecution = config.isBurstExecution();
+        this.skipLimitCycle = NO_EVENT;
+        this.snapshotInterval = config.getSnapshotInterval();
+        this.profiler = config.isProfiling() ? new CycleProfiler() : null;
+        this.nextRandomInterruptCycle = drawNextRandomInterruptCycle(0);
+        this.nextGeneratedArrivalCycle = drawNextGeneratedArrivalCycle(0);
         
         // =========== GENERAR PROCESOS INICIALES CON PORCENTAJE ==========
-        int porcentajeDeseado = 100; // Puse 100 para forzar a que se generen 
-        generarProcesosInicialesConPorcentaje(porcentajeDeseado);
+        if (initialProcesses) {
+            int porcentajeDeseado = config.getInitialProcessPercentage(); // 100 por defecto para forzar a que se generen 
+            generarProcesosInicialesConPorcentaje(porcentajeDeseado);
+        }
+        if (snapshotInterval > 0) {
+            publishSnapshot();
+        }
         
-        System.out.println("✅ SimulationEngine COORDINADOR listo con semáforos de java.util.concurrent");
-        System.out.println("   Delegando a: Scheduler, MemoryManager, InterruptHandler");
-        System.out.println("   Semáforos: execution, process, queue, interrupt");
+        trace("✅ SimulationEngine COORDINADOR listo (un solo thread dueño del estado)");
+        trace("   Delegando a: Scheduler, MemoryManager, InterruptHandler");
+        trace("   Semáforo del ciclo + cola de comandos (capacidad {})", COMMAND_QUEUE_CAPACITY);
     }
     
     /**
@@ -107,37 +257,26 @@ public class SimulationEngine {
      * @param porcentaje 0-100, probabilidad de que aparezcan procesos al iniciar
      */
     private void generarProcesosInicialesConPorcentaje(int porcentaje) {
-        try {
-            queueSemaphore.acquire();
-
-            Random rand = new Random();
-            int numeroAleatorio = rand.nextInt(100); // 0-99
+        int numeroAleatorio = initialRandom.nextInt(100); // 0-99
 
-            System.out.println("🎲 Generando procesos iniciales con " + porcentaje + "% de probabilidad");
-            System.out.println("   Número aleatorio: " + numeroAleatorio);
+        trace("🎲 Generando procesos iniciales con {}% de probabilidad", porcentaje);
+        trace("   Número aleatorio: {}", numeroAleatorio);
 
-            if (numeroAleatorio < porcentaje) {
-                // ¡Sí! Van a aparecer procesos
-                int cantidadProcesos = 3 + rand.nextInt(5); // Entre 3 y 7 procesos
+        if (numeroAleatorio < porcentaje) {
+            // ¡Sí! Van a aparecer procesos
+            int cantidadProcesos = 3 + initialRandom.nextInt(5); // Entre 3 y 7 procesos
 
-                System.out.println("   ✅ ¡PROCESOS GENERADOS! Cantidad: " + cantidadProcesos);
-
-                for (int i = 0; i < cantidadProcesos; i++) {
-                    Process p = generator.generateRandomProcess();
-                    addProcessToSystem(p);
-                }
+            trace("   ✅ ¡PROCESOS GENERADOS! Cantidad: {}", cantidadProcesos);
 
-                logEvent("🎲 " + cantidadProcesos + " procesos iniciales generados (probabilidad " + porcentaje + "%)");
-            } else {
-                System.out.println("   ❌ No se generaron procesos iniciales (probabilidad no cumplida)");
-                logEvent("⚠️ Sistema iniciado SIN procesos (probabilidad " + porcentaje + "% no cumplida)");
+            for (int i = 0; i < cantidadProcesos; i++) {
+                Process p = generator.generateRandomProcess();
+                addProcessToSystem(p);
             }
 
-            queueSemaphore.release();
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            System.out.println("❌ Error generando procesos iniciales");
+            logEvent("🎲 {} procesos iniciales generados (probabilidad {}%)", cantidadProcesos, porcentaje);
+        } else {
+            trace("   ❌ No se generaron procesos iniciales (probabilidad no cumplida)");
+            logEvent("⚠️ Sistema iniciado SIN procesos (probabilidad {}% no cumplida)", porcentaje);
         }
     }
     
@@ -145,17 +284,38 @@ public class SimulationEngine {
      * Conecta componentes entre sí.
      */
     private void setupComponentConnections() {
-        // Configurar callback de interrupciones
+        // Configurar callback de interrupciones (llega desde los workers:
+        // se aplica en el thread del ciclo)
         if (interrupts != null) {
-            interrupts.registerInterruptCallback(this::handleIncomingInterrupt);
+            interrupts.registerInterruptCallback(request -> submit(() -> handleIncomingInterrupt(request)));
         }
+        
+        // Los procesos que MemoryManager reactiva vuelven al scheduler
+        memory.registerActivationCallback(this::handleActivatedProcess);
+        
+        // Entradas y salidas de RAM: la traza binaria y los bloqueados que
+        // MemoryManager suspende (salen de la cola de bloqueados en O(1))
+        memory.registerSwapListener(new MemoryManager.SwapListener() {
+            @Override
+            public void onSwapOut(Process process) {
+                recordEvent(TraceEventType.SUSPEND, process, process.getState().ordinal(), 0, 0);
+                if (process.getState() == ProcessState.BLOCKED_SUSPENDED && blockedQueue.remove(process)) {
+                    logEvent("⏸️ Proceso movido a BLOCKED_SUSPENDED: {}", process.getId());
+                }
+            }
+            
+            @Override
+            public void onSwapIn(Process process) {
+                recordEvent(TraceEventType.ACTIVATE, process, process.getState().ordinal(), 0, 0);
+            }
+        });
 
-        System.out.println("🔌 Componentes conectados. Sistema listo.");
+        trace("🔌 Componentes conectados. Sistema listo.");
     }
     
     /**
      * Ejecuta uN ciclo de coordinación.
-     * CON SEMÁFOROS para protección de recursos.
+     * Con el semáforo del ciclo tomado; antes aplica los comandos encolados.
      */
     public void executeOneCycle() {
         executeOneCycleInternal(false);
@@ -172,8 +332,38 @@ public class SimulationEngine {
     private void executeOneCycleInternal(boolean allowWhenPaused) {
         if (!isRunning) return;
         if (!allowWhenPaused && isPaused) return;
+        CycleProfiler prof = profiler;
+        if (prof != null) {
+            prof.beginCycle(System.nanoTime(), CountingSemaphore.getWaitCount());
+        }
         try {
             executionSemaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            trace("❌ Interrupción en ciclo de simulación");
+            return;
+        }
+        ownerThread = Thread.currentThread();
+        try {
+            if (prof != null) prof.endPhase(CycleProfiler.Phase.LOCK);
+            
+            // 0. Aplicar comandos de otros threads (procesos nuevos, algoritmo, interrupciones)
+            applyPendingCommands();
+            cycleInProgress = true;
+            if (prof != null) prof.endPhase(CycleProfiler.Phase.COMMANDS);
+            
+            // 0.1 Modo por eventos: saltar los ciclos ociosos hasta el próximo evento
+            if (eventDriven) {
+                skipIdleCycles();
+            }
+            if (prof != null) prof.endPhase(CycleProfiler.Phase.SKIP_IDLE);
+            
+            // 0.2 Modo ráfaga: ejecutar de una vez las instrucciones sin eventos
+            if (burstExecution) {
+                burstCurrentProcess();
+            }
+            if (prof != null) prof.endPhase(CycleProfiler.Phase.BURST);
+            
             kernelActivityThisCycle = false;
             instructionExecutedThisCycle = false;
             enterKernelMode();
@@ -182,20 +372,26 @@ public class SimulationEngine {
             globalClock.tick();
             statistics.setCurrentCycle(globalClock.getCurrentCycle());
 
+            // 1.1 Admitir llegadas programadas para este ciclo
+            admitScheduledArrivals();
+            if (prof != null) prof.endPhase(CycleProfiler.Phase.CLOCK_AND_ARRIVALS);
+
             // 2. Verificar interrupciones
             checkForInterrupts();
+            if (prof != null) prof.endPhase(CycleProfiler.Phase.INTERRUPTS);
 
-            // 3. Actualizar deadlines
-            updateAllProcessDeadlines();
-
-            // 4. Verificar deadlines incumplidos
+            // 3-4. Verificar deadlines incumplidos
+            // (el deadline restante se calcula desde el reloj, no se actualiza por ciclo)
             checkForDeadlineMisses();
+            if (prof != null) prof.endPhase(CycleProfiler.Phase.DEADLINES);
 
             // 5. Procesar E/S completadas
             processCompletedIO();
+            if (prof != null) prof.endPhase(CycleProfiler.Phase.IO);
 
             // 6. Manejar memoria
             manageMemory();
+            if (prof != null) prof.endPhase(CycleProfiler.Phase.MEMORY);
 
             // 7. EJECUTAR PROCESO ACTUAL
             boolean processFinished = executeCurrentProcess();
@@ -204,12 +400,15 @@ public class SimulationEngine {
             if (processFinished) {
                 freeResourcesOfTerminatedProcess();
             }
+            if (prof != null) prof.endPhase(CycleProfiler.Phase.EXECUTE);
 
             // 9. Planificar próximo proceso
             scheduleNextProcess();
+            if (prof != null) prof.endPhase(CycleProfiler.Phase.SCHEDULE);
 
             // 10. Generar eventos aleatorios
             generateRandomEvents();
+            if (prof != null) prof.endPhase(CycleProfiler.Phase.EVENTS);
 
             // 11. Actualizar estadísticas
             updateStatistics();
@@ -221,187 +420,403 @@ public class SimulationEngine {
 
             // 12. Ajustar modo visible final del ciclo
             refreshCpuModeAtCycleEnd();
-
+            if (prof != null) prof.endPhase(CycleProfiler.Phase.STATISTICS);
+            
+            // 13. Publicar la foto del ciclo para la interfaz
+            int cycle = globalClock.getCurrentCycle();
+            if (snapshotInterval > 0 && cycle - lastSnapshotCycle >= snapshotInterval) {
+                publishSnapshot();
+            }
+            if (prof != null) {
+                prof.endPhase(CycleProfiler.Phase.SNAPSHOT);
+                prof.endCycle(getTotalProcessesInSystem());
+            }
+        } finally {
+            cycleInProgress = false;
+            ownerThread = null;
             executionSemaphore.release();
-
+        }
+    }
+    
+    // ========== COMANDOS DE OTROS THREADS ==========
+    
+    /**
+     * Pide al thread del ciclo que ejecute el comando. Desde ese mismo
+     * thread (por ejemplo, una interrupción síncrona) se ejecuta en el acto.
+     * Si no hay ciclos corriendo (detenido o en pausa) se aplica enseguida,
+     * con el semáforo del ciclo tomado.
+     */
+    private void submit(Runnable command) {
+        if (Thread.currentThread() == ownerThread) {
+            command.run();
+            return;
+        }
+        try {
+            commands.put(command);
+            if (!isRunning || isPaused) {
+                executionSemaphore.acquire();
+                ownerThread = Thread.currentThread();
+                try {
+                    applyPendingCommands();
+                    if (snapshotInterval > 0) {
+                        publishSnapshot();
+                    }
+                } finally {
+                    ownerThread = null;
+                    executionSemaphore.release();
+                }
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            System.out.println("❌ Interrupción en ciclo de simulación");
         }
     }
     
-    // ========== MÉTODOS DE COORDINACIÓN CON SEMÁFOROS ==========
+    /**
+     * Arma y publica la foto del estado actual (solo el thread dueño del ciclo).
+     */
+    private void publishSnapshot() {
+        lastSnapshotCycle = globalClock.getCurrentCycle();
+        snapshot = new SystemSnapshot(
+            lastSnapshotCycle, getCpuModeLabel(), currentProcess,
+            scheduler.getReadySnapshot(), blockedQueue.toLinkedList(),
+            memory.getReadySuspendedQueue(), memory.getBlockedSuspendedQueue(),
+            terminatedQueue, memory.getRAMUsage(), memory.getMaxRAMCapacity(),
+            statistics, interrupts.getPendingInterruptCount(),
+            interrupts.getTotalProcessedInterrupts(),
+            profiler != null ? profiler.copy() : null
+        );
+    }
+    
+    /**
+     * Ejecuta los comandos encolados (solo el thread dueño del ciclo).
+     */
+    private void applyPendingCommands() {
+        try {
+            for (Runnable command : commands.drain()) {
+                command.run();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    // ========== SIMULACIÓN POR EVENTOS ==========
+    
+    /**
+     * Si la CPU está ociosa y no hay trabajo pendiente del kernel, adelanta
+     * el reloj hasta el ciclo anterior al próximo evento (fin de E/S, llegada,
+     * deadline o interrupción aleatoria) y acredita esos ciclos ociosos en
+     * bloque. El ciclo del evento se ejecuta después de forma normal.
+     * Los deadlines no necesitan actualizarse: se calculan desde el reloj.
+     * Sin evento conocido ni límite no se salta: se avanza de a un ciclo,
+     * así la condición de runUntil se sigue evaluando.
+     * @return Ciclos saltados
+     */
+    private int skipIdleCycles() {
+        if (!isIdleWithoutPendingWork()) {
+            return 0;
+        }
+        int limit = Math.min(nextEventCycle(), skipLimitCycle);
+        if (limit == NO_EVENT) {
+            return 0;
+        }
+        int now = globalClock.getCurrentCycle();
+        int target = limit - 1;
+        if (target <= now) {
+            return 0;
+        }
+        int skipped = target - now;
+        globalClock.tick(skipped);
+        statistics.recordIdleCycles(target);
+        setCpuMode(CpuMode.IDLE);
+        return skipped;
+    }
+    
+    /**
+     * Ejecuta en un solo paso los ciclos en que el proceso actual solo
+     * avanza una instrucción: hasta el ciclo anterior al próximo evento, al
+     * inicio de su E/S, a su última instrucción o al fin de su quantum.
+     * Esos ciclos quedan en estadísticas igual que ejecutados uno a uno; el
+     * ciclo que sigue (el del evento) se ejecuta de forma normal.
+     * Solo con interrupciones síncronas: con workers, una crítica que llega
+     * durante la ráfaga desalojaría al proceso k instrucciones tarde.
+     * @return Ciclos ejecutados en ráfaga
+     */
+    private int burstCurrentProcess() {
+        if (currentProcess == null || !config.isSynchronousInterrupts()
+                || !hasNoPendingKernelWork()) {
+            return 0;
+        }
+        int now = globalClock.getCurrentCycle();
+        int eventLimit = Math.min(nextEventCycle(), skipLimitCycle) - now - 1;
+        if (eventLimit <= 0) {
+            return 0;
+        }
+        
+        Process p = currentProcess;
+        if (p == null || !isProcessInRAM(p)) {
+            return 0;
+        }
+        
+        // La instrucción que termina el proceso o inicia su E/S va en un ciclo normal
+        int executed = p.getExecutedInstructions();
+        int stopAt = p.getTotalInstructions();
+        if (p.isRequiresIO() && p.getIoStartCycle() > executed) {
+            stopAt = Math.min(stopAt, p.getIoStartCycle());
+        }
+        int burst = Math.min(stopAt - executed - 1, eventLimit);
+        burst = Math.min(burst, scheduler.preemptionHorizon(p));
+        if (burst <= 0) {
+            return 0;
+        }
+        
+        if (p.getStartTime() < 0) {
+            p.setStartTime(now + 1);
+        }
+        p.executeInstructions(burst);
+        scheduler.recordPreemptionChecks(p, burst);
+        globalClock.tick(burst);
+        statistics.recordBusyCycles(now + burst);
+        enterUserMode();
+        return burst;
+    }
+    
+    /**
+     * true si un ciclo normal no haría nada más que contar tiempo ocioso.
+     * Las interrupciones pendientes no cuentan: las atienden los workers de
+     * InterruptHandler por su cuenta, sin depender del reloj.
+     */
+    private boolean isIdleWithoutPendingWork() {
+        if (currentProcess != null || scheduler.getReadyCount() > 0) {
+            return false;
+        }
+        return hasNoPendingKernelWork();
+    }
+    
+    /**
+     * true si manageMemory() no tiene nada que hacer en el próximo ciclo.
+     */
+    private boolean hasNoPendingKernelWork() {
+        if (!suspendedIOCompleted.isEmpty()) {
+            return false;
+        }
+        return !(memory.hasSpaceInRAM() && memory.getReadySuspendedCount() > 0);
+    }
+    
+    /**
+     * Ciclo del próximo evento conocido, o NO_EVENT si no hay ninguno.
+     */
+    private int nextEventCycle() {
+        int next = Math.min(nextRandomInterruptCycle, nextGeneratedArrivalCycle);
+        next = Math.min(next, ioWheel.nextDueCycle());
+        if (!deadlineHeap.isEmpty()) {
+            next = Math.min(next, deadlineHeap.peekMin().getDeadlineCycle());
+        }
+        if (!arrivalHeap.isEmpty()) {
+            next = Math.min(next, arrivalHeap.peekMin().getCreationTime());
+        }
+        if (!cycleStartInputs.isEmpty()) {
+            next = Math.min(next, cycleStartInputs.peekMin().cycle);
+        }
+        if (!eventInputs.isEmpty()) {
+            next = Math.min(next, eventInputs.peekMin().cycle);
+        }
+        return next;
+    }
+    
+    /**
+     * Programa la llegada de un proceso en un ciclo futuro.
+     * Si el ciclo ya pasó, llega en el próximo ciclo.
+     */
+    public void scheduleArrival(Process process, int arrivalCycle) {
+        submit(() -> {
+            process.setCreationTime(Math.max(arrivalCycle, globalClock.getCurrentCycle() + 1));
+            arrivalHeap.insert(process);
+        });
+    }
+    
+    /**
+     * Agrega al sistema los procesos cuya llegada vence en este ciclo.
+     */
+    private void admitScheduledArrivals() {
+        int currentCycle = globalClock.getCurrentCycle();
+        applyDueInputs(cycleStartInputs, currentCycle);
+        while (isDue(nextGeneratedArrivalCycle, currentCycle)) {
+            addProcessToSystem(generator.generateRandomProcess());
+            nextGeneratedArrivalCycle = drawNextGeneratedArrivalCycle(nextGeneratedArrivalCycle);
+        }
+        while (!arrivalHeap.isEmpty() &&
+               arrivalHeap.peekMin().getCreationTime() <= currentCycle) {
+            addProcessToSystem(arrivalHeap.extractMin());
+        }
+    }
+    
+    /**
+     * Sortea el ciclo de la próxima interrupción aleatoria. Equivale a tirar
+     * la moneda del 5% en cada ciclo, pero permite saber de antemano cuándo
+     * ocurre (distribución geométrica).
+     */
+    private int drawNextRandomInterruptCycle(int fromCycle) {
+        if (!config.isRandomInterrupts()) {
+            return NO_EVENT;
+        }
+        return drawGeometricCycle(fromCycle, RANDOM_INTERRUPT_PROBABILITY);
+    }
+    
+    /**
+     * Sortea el ciclo de la próxima llegada aperiódica, o NO_EVENT
+     * si la configuración no tiene llegadas.
+     */
+    private int drawNextGeneratedArrivalCycle(int fromCycle) {
+        double rate = config.getArrivalRate();
+        if (rate <= 0.0) {
+            return NO_EVENT;
+        }
+        return drawGeometricCycle(fromCycle, rate);
+    }
+    
+    private int drawGeometricCycle(int fromCycle, double probability) {
+        if (probability >= 1.0) {
+            return fromCycle + 1;
+        }
+        double u = 1.0 - eventRandom.nextDouble();   // (0, 1]
+        double gap = 1.0 + Math.floor(Math.log(u) / Math.log(1.0 - probability));
+        // Un evento más allá del último ciclo representable no llega a ocurrir
+        return fromCycle + gap >= NO_EVENT ? NO_EVENT : fromCycle + (int) gap;
+    }
+    
+    /**
+     * true si un evento programado para eventCycle ya venció en currentCycle.
+     */
+    private static boolean isDue(int eventCycle, int currentCycle) {
+        return eventCycle != NO_EVENT && eventCycle <= currentCycle;
+    }
+    
+    // ========== MÉTODOS DE COORDINACIÓN ==========
     
     private void activateSuspendedProcesses() {
         if (memory == null) return;
 
         // Si hay espacio en RAM, activar suspendidos
         if (memory.hasSpaceInRAM()) {
-            System.out.println("🔄 Hay espacio en RAM (" + memory.getAvailableSpaceInRAM() + 
-                              ") - Activando suspendidos...");
+            trace("🔄 Hay espacio en RAM ({}) - Activando suspendidos...", memory.getAvailableSpaceInRAM());
 
             LinkedList<Process> readySuspended = memory.getReadySuspendedQueue();
             LinkedList<Process> toActivate = new LinkedList<>();
 
             // Seleccionar los de mayor prioridad (menor número)
-            for (int i = 0; i < readySuspended.size(); i++) {
-                Process p = readySuspended.get(i);
-                if (toActivate.size() < memory.getAvailableSpaceInRAM()) {
-                    toActivate.add(p);
+            int available = memory.getAvailableSpaceInRAM();
+            for (Process p : readySuspended) {
+                if (toActivate.size() >= available) {
+                    break;
                 }
+                toActivate.add(p);
             }
 
             // Activar los seleccionados
-            for (int i = 0; i < toActivate.size(); i++) {
-                Process p = toActivate.get(i);
-                System.out.println("   ✅ Activando proceso suspendido: " + p.getId());
+            for (Process p : toActivate) {
+                trace("   ✅ Activando proceso suspendido: {}", p.getId());
                 p.setState(ProcessState.READY);
                 scheduler.addProcess(p);
+                recordEvent(TraceEventType.ACTIVATE, p, ProcessState.READY.ordinal(), 0, 0);
             }
         }
     }
     
     public void forceActivateSuspended() {
-        try {
-            executionSemaphore.acquire();
-            activateSuspendedProcesses();
-            executionSemaphore.release();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        submit(this::activateSuspendedProcesses);
     }
     
     private void checkForInterrupts() {
-        try {
-            interruptSemaphore.acquire();
-            // Delegar a InterruptHandler
-            if (interrupts != null && interrupts.getPendingInterruptCount() > 0) {
-                markKernelActivity();
-                // Si hay interrupciones críticas, notificar
-                logEvent("⚠️ Interrupciones pendientes: " + 
-                        interrupts.getPendingInterruptCount());
-            }
-            interruptSemaphore.release();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        // Delegar a InterruptHandler
+        if (interrupts != null && interrupts.getPendingInterruptCount() > 0) {
+            markKernelActivity();
+            // Si hay interrupciones críticas, notificar
+            logEvent("⚠️ Interrupciones pendientes: {}", interrupts.getPendingInterruptCount());
         }
     }
     
-    private void updateAllProcessDeadlines() {
-        try {
-            queueSemaphore.acquire();
-            
-            // 1. Procesos en scheduler
-            Queue<Process> readyQueue = scheduler.getReadyQueue();
-            LinkedList<Process> readyList = readyQueue.toLinkedList();
-            for (int i = 0; i < readyList.size(); i++) {
-                readyList.get(i).updateDeadline();
-            }
-            
-            // 2. Procesos bloqueados
-            for (int i = 0; i < blockedQueue.size(); i++) {
-                blockedQueue.get(i).updateDeadline();
+    /**
+     * Saca del montículo los deadlines ya vencidos: O(incumplidos) por ciclo.
+     */
+    private void checkForDeadlineMisses() {
+        int currentCycle = globalClock.getCurrentCycle();
+        LinkedList<Process> missed = new LinkedList<>();
+        while (!deadlineHeap.isEmpty() &&
+               deadlineHeap.peekMin().getDeadlineCycle() <= currentCycle) {
+            Process p = deadlineHeap.extractMin();
+            if (p.getState() != ProcessState.TERMINATED && !p.isDeadlineMissed()) {
+                missed.add(p);
             }
+        }
+        
+        for (Process p : missed) {
+            p.setDeadlineMissed(true);
+            warn("⏰ Deadline incumplido: {}", p.getId());
+            recordEvent(TraceEventType.DEADLINE_MISS, p, 0, p.getDeadlineCycle(), 0);
             
-            queueSemaphore.release();
-            
-            // 3. Proceso actual (con su propio semáforo)
-            processSemaphore.acquire();
-            if (currentProcess != null) {
-                currentProcess.updateDeadline();
+            // Generar interrupción (delegar a InterruptHandler)
+            if (interrupts != null) {
+                interrupts.raiseInterrupt(InterruptType.DEADLINE_MISSED, 3, 
+                                         "Proceso " + p.getId());
             }
-            processSemaphore.release();
-            
-            // 4. Procesos suspendidos (delegar a MemoryManager)
-            // MemoryManager maneja su propio semáforo internamente
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         }
     }
     
-    private void checkForDeadlineMisses() {
-        try {
-            processSemaphore.acquire();
-            // Verificar proceso actual
-            if (currentProcess != null && 
-                currentProcess.getRemainingDeadline() <= 0 && 
-                !currentProcess.isDeadlineMissed()) {
-                
-                currentProcess.setDeadlineMissed(true);
-                logEvent("⏰ Deadline incumplido: " + currentProcess.getId());
-                
-                // Generar interrupción (delegar a InterruptHandler)
-                if (interrupts != null) {
-                    interrupts.raiseInterrupt(InterruptType.DEADLINE_MISSED, 3, 
-                                             "Proceso " + currentProcess.getId());
-                }
-            }
-            processSemaphore.release();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    /**
+     * Liga el deadline del proceso al reloj global y lo registra en el montículo.
+     */
+    private void registerDeadline(Process process) {
+        process.bindDeadlineClock(globalClock);
+        if (process.getRemainingDeadline() <= 0) {
+            return; // Sin deadline (como antes: nunca se marca incumplido)
         }
+        deadlineHeap.insert(process);
     }
     
     private void processCompletedIO() {
-        try {
-            queueSemaphore.acquire();
-
-            if (blockedQueue.isEmpty()) {
-                queueSemaphore.release();
-                return;
-            }
-
-            LinkedList<Process> completed = new LinkedList<>();
-            int currentCycle = globalClock.getCurrentCycle();
-
-            // Verificar cada proceso bloqueado
-            for (int i = 0; i < blockedQueue.size(); i++) {
-                Process p = blockedQueue.get(i);
-                if (p == null || p.getState() != ProcessState.BLOCKED) {
-                    continue;
-                }
-
-                // Verificar si completó la E/S
-                if (p.isIOCompleted(currentCycle)) {
-                    completed.add(p);
-                    logEvent("✅ E/S completada para: " + p.getId() + 
-                            " (bloqueado por " + (currentCycle - p.getBlockedTime()) + " ciclos)");
-                }
-            }
+        if (ioWheel.isEmpty()) {
+            return;
+        }
 
-            // Mover los procesos completados de vuelta al sistema
-            for (int i = 0; i < completed.size(); i++) {
-                Process p = completed.get(i);
+        LinkedList<Process> completed = new LinkedList<>();
+        int currentCycle = globalClock.getCurrentCycle();
 
-                // Remover de cola bloqueada
+        // Solo se revisan los procesos cuya E/S vence en este ciclo
+        for (Process p : ioWheel.advanceTo(currentCycle)) {
+            if (p.getState() == ProcessState.BLOCKED) {
                 blockedQueue.remove(p);
+                completed.add(p);
+                logEvent("✅ E/S completada para: {} (bloqueado por {} ciclos)", p.getId(), currentCycle - p.getBlockedTime());
+                recordEvent(TraceEventType.UNBLOCK, p, 0, currentCycle - p.getBlockedTime(), 0);
+            } else if (p.getState() == ProcessState.BLOCKED_SUSPENDED) {
+                // Lo atiende manageMemory() vía MemoryManager
+                suspendedIOCompleted.add(p);
+            } else {
+                // La rueda y el estado se desincronizaron: que no se pierda en silencio
+                warn("⚠️ E/S vencida para {} en estado {} (se descarta)", p.getId(), p.getState());
+            }
+        }
 
-                // Limpiar estado de bloqueo
-                p.clearBlocked();
+        // Mover los procesos completados de vuelta al sistema
+        for (Process p : completed) {
+            // Limpiar estado de bloqueo
+            p.clearBlocked();
 
-                // Poner en estado READY
-                p.setState(ProcessState.READY);
+            // Poner en estado READY
+            p.setState(ProcessState.READY);
+            memory.processStateChanged(p);
 
-                // Devolver al scheduler
-                scheduler.addProcess(p);
+            // Devolver al scheduler
+            scheduler.addProcess(p);
 
-                logEvent("🔄 Proceso desbloqueado: " + p.getId() + " vuelve a READY");
-            }
-
-            queueSemaphore.release();
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logEvent("❌ Error en processCompletedIO: " + e.getMessage());
+            logEvent("🔄 Proceso desbloqueado: {} vuelve a READY", p.getId());
         }
     }
     
     private void manageMemory() {
-        // 0. Sincronizar procesos que fueron suspendidos estando bloqueados
-        syncBlockedSuspendedFromBlockedQueue();
-
-        // 0.1 Procesar E/S que termina mientras está BLOCKED_SUSPENDED
+        // 0. Procesar E/S que termina mientras está BLOCKED_SUSPENDED
+        // (los bloqueados que se suspenden ya salieron de blockedQueue en onSwapOut)
         processBlockedSuspendedIO();
 
         // Delegar TODO a MemoryManager
@@ -410,39 +825,18 @@ public class SimulationEngine {
         memory.tryActivateSuspendedProcesses();
     }
 
-    private void syncBlockedSuspendedFromBlockedQueue() {
-        try {
-            queueSemaphore.acquire();
-
-            for (int i = 0; i < blockedQueue.size(); i++) {
-                Process p = blockedQueue.get(i);
-                if (p != null && p.getState() == ProcessState.BLOCKED_SUSPENDED) {
-                    blockedQueue.remove(p);
-                    i--;
-                    logEvent("⏸️ Proceso movido a BLOCKED_SUSPENDED: " + p.getId());
-                }
-            }
-
-            queueSemaphore.release();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-
     private void processBlockedSuspendedIO() {
-        LinkedList<Process> blockedSuspended = memory.getBlockedSuspendedQueue();
-        if (blockedSuspended == null || blockedSuspended.isEmpty()) return;
+        if (suspendedIOCompleted.isEmpty()) return;
 
-        int currentCycle = globalClock.getCurrentCycle();
-        for (int i = 0; i < blockedSuspended.size(); i++) {
-            Process p = blockedSuspended.get(i);
-            if (p == null) continue;
-
-            if (p.isIOCompleted(currentCycle)) {
-                memory.processIOCompleted(p);
-                logEvent("🔄 E/S completa en suspendido: " + p.getId() +
-                        " (BLOCKED_SUSPENDED -> READY_SUSPENDED)");
-            }
+        // Procesos que la rueda de E/S entregó estando BLOCKED_SUSPENDED
+        LinkedList<Process> completed = suspendedIOCompleted;
+        suspendedIOCompleted = new LinkedList<>();
+        for (Process p : completed) {
+            if (p.getState() != ProcessState.BLOCKED_SUSPENDED) continue;
+
+            recordEvent(TraceEventType.UNBLOCK, p, 1, globalClock.getCurrentCycle() - p.getBlockedTime(), 0);
+            memory.processIOCompleted(p);
+            logEvent("🔄 E/S completa en suspendido: {} (BLOCKED_SUSPENDED -> READY_SUSPENDED)", p.getId());
         }
     }
     
@@ -462,11 +856,13 @@ public class SimulationEngine {
         int completed = statistics.getTotalProcessesCompleted();
 
         // LOG para debugging
-        System.out.println("📊 Stats - Ciclo " + cycle + 
-                          " | CPU: " + cpuUsage + 
-                          "% | Completados: " + completed +
-                          "/" + totalProcesses +
-                          " | Throughput: " + String.format("%.3f", throughput));
+        if (isLogging(LogLevel.DEBUG)) {
+            trace("📊 Stats - Ciclo " + cycle + 
+                              " | CPU: " + cpuUsage + 
+                              "% | Completados: " + completed +
+                              "/" + totalProcesses +
+                              " | Throughput: " + String.format("%.3f", throughput));
+        }
 
         // Actualizar GUI si hay callback
         if (statsCallback != null) {
@@ -483,6 +879,46 @@ public class SimulationEngine {
         this.statsCallback = callback;
     }
     
+    // ========== MODO SIN INTERFAZ (FAST-FORWARD) ==========
+    
+    /**
+     * Ejecuta n ciclos seguidos, sin esperas entre ciclos y sin trazas.
+     * @return Copia de las estadísticas al terminar
+     */
+    public StatisticsTracker runCycles(int cycles) {
+        int targetCycle = globalClock.getCurrentCycle() + cycles;
+        skipLimitCycle = targetCycle;   // En modo por eventos no se salta más allá del objetivo
+        try {
+            return runUntil(engine -> engine.getCurrentCycle() >= targetCycle);
+        } finally {
+            skipLimitCycle = NO_EVENT;
+        }
+    }
+    
+    /**
+     * Ejecuta ciclos seguidos hasta que se cumpla la condición (se evalúa
+     * antes de cada ciclo), sin esperas entre ciclos y sin trazas.
+     * En modo por eventos la condición solo se evalúa en los ciclos con
+     * eventos; si no queda ninguno programado se avanza de a un ciclo.
+     * Al terminar se restaura el estado de trazas y de ejecución anterior.
+     * @return Copia de las estadísticas al terminar
+     */
+    public StatisticsTracker runUntil(Predicate<SimulationEngine> condition) {
+        boolean previousTrace = traceEnabled;
+        boolean wasRunning = isRunning;
+        setTraceEnabled(false);
+        isRunning = true;
+        try {
+            while (!condition.test(this) && !Thread.currentThread().isInterrupted()) {
+                executeOneCycleInternal(true);
+            }
+        } finally {
+            isRunning = wasRunning;
+            setTraceEnabled(previousTrace);
+        }
+        return statistics.copy();
+    }
+    
     /**
      * Ejecuta el proceso actual
      * @return true si el proceso terminó
@@ -491,98 +927,92 @@ public class SimulationEngine {
         if (currentProcess == null) {
             return false;
         }
+        enterUserMode();
 
-        try {
-            processSemaphore.acquire();
-            enterUserMode();
-
-            // Verificar si el proceso está en RAM
-            if (!isProcessInRAM(currentProcess)) {
-                System.out.println("⚠️ " + currentProcess.getId() + " no está en RAM");
-                currentProcess = null;
-                markKernelActivity();
-                processSemaphore.release();
-                return false;
-            }
-
-            // Marcar inicio si es primera vez
-            if (currentProcess.getStartTime() < 0) {
-                currentProcess.setStartTime(globalClock.getCurrentCycle());
-            }
-
-            // Ejecutar instrucción
-            boolean finished = currentProcess.executeInstruction();
-            instructionExecutedThisCycle = true;
-            statistics.recordInstructionExecution(1);
+        // Verificar si el proceso está en RAM
+        if (!isProcessInRAM(currentProcess)) {
+            trace("⚠️ {} no está en RAM", currentProcess.getId());
+            // Fue suspendido estando en la cola: vuelve al scheduler al reactivarse
+            currentProcess.setState(ProcessState.READY_SUSPENDED);
+            currentProcess = null;
+            markKernelActivity();
+            return false;
+        }
 
-            int executedNow = currentProcess.getExecutedInstructions();
-            int total = currentProcess.getTotalInstructions();
+        // Marcar inicio si es primera vez
+        if (currentProcess.getStartTime() < 0) {
+            currentProcess.setStartTime(globalClock.getCurrentCycle());
+        }
 
-            System.out.println("⚡ " + currentProcess.getId() + 
-                              " ejecutó " + executedNow + "/" + total);
+        // Ejecutar instrucción
+        boolean finished = currentProcess.executeInstruction();
+        instructionExecutedThisCycle = true;
+        statistics.recordInstructionExecution(1);
 
-            //  PRIMERO: Verificar si TERMINÓ
-            if (finished || executedNow >= total) {
-                System.out.println("   ✅ " + currentProcess.getId() + " COMPLETÓ TODAS LAS INSTRUCCIONES");
-                markKernelActivity();
-                processSemaphore.release();
-                return finishCurrentProcess();
-            }
+        int executedNow = currentProcess.getExecutedInstructions();
+        int total = currentProcess.getTotalInstructions();
 
-            //  SEGUNDO: Verificar si debe iniciar E/S
-            if (currentProcess.isRequiresIO() &&
-                executedNow == currentProcess.getIoStartCycle()) {
-                System.out.println("   ⏳ " + currentProcess.getId() + " inicia E/S");
-                markKernelActivity();
-                processSemaphore.release();
-                startIOForCurrentProcess();
-                return false;
-            }
+        if (isLogging(LogLevel.TRACE)) {
+            logger.log(LogLevel.TRACE, -1, "      📝 " + currentProcess.getId() + " PC: "
+                       + currentProcess.getProgramCounter() + " (" + executedNow + "/" + total + ")");
+        }
+        if (isLogging(LogLevel.DEBUG)) {
+            logger.log(LogLevel.DEBUG, -1, "⚡ {} ejecutó {}/{}", currentProcess.getId(), executedNow, total);
+        }
 
-            //  TERCERO: Verificar preempción (solo si no terminó)
-            if (scheduler.shouldPreempt(currentProcess)) {
-                System.out.println("   ⚠️ Preemptando " + currentProcess.getId());
-                markKernelActivity();
-                currentProcess.setState(ProcessState.READY);
-                scheduler.addProcess(currentProcess);
-                currentProcess = null;
-                processSemaphore.release();
-                return false;
-            }
+        //  PRIMERO: Verificar si TERMINÓ
+        if (finished || executedNow >= total) {
+            trace("   ✅ {} COMPLETÓ TODAS LAS INSTRUCCIONES", currentProcess.getId());
+            markKernelActivity();
+            return finishCurrentProcess();
+        }
 
-            processSemaphore.release();
+        //  SEGUNDO: Verificar si debe iniciar E/S
+        if (currentProcess.isRequiresIO() &&
+            executedNow == currentProcess.getIoStartCycle()) {
+            trace("   ⏳ {} inicia E/S", currentProcess.getId());
+            markKernelActivity();
+            startIOForCurrentProcess();
             return false;
+        }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
+        //  TERCERO: Verificar preempción (solo si no terminó)
+        if (scheduler.shouldPreempt(currentProcess)) {
+            trace("   ⚠️ Preemptando {}", currentProcess.getId());
+            markKernelActivity();
+            recordEvent(TraceEventType.PREEMPT, currentProcess, 0, executedNow, 0);
+            currentProcess.setState(ProcessState.READY);
+            scheduler.addProcess(currentProcess);
+            currentProcess = null;
         }
+        return false;
     }
     
     private void scheduleNextProcess() {
-        try {
-            processSemaphore.acquire();
-            
-            if (currentProcess != null) {
-                processSemaphore.release();
-                return; // CPU ocupada
-            }
-            
-            // Delegar a Scheduler (Scheduler maneja su propio semáforo)
-            Process next = scheduler.getNextProcess();
-            if (next != null) {
-                markKernelActivity();
-                currentProcess = next;
-                currentProcess.setState(ProcessState.RUNNING);
-                logEvent("⚡ Ejecutando: " + currentProcess.getId());
-            } else {
-                setCpuMode(CpuMode.IDLE);
+        if (currentProcess != null) {
+            return; // CPU ocupada
+        }
+        
+        // Delegar a Scheduler (Scheduler maneja su propio semáforo)
+        Process next = scheduler.getNextProcess();
+        // Descartar copias de procesos que ya terminaron (por si alguno
+        // volvió a la cola); el planificador los marcó RUNNING al sacarlos,
+        // se restaura TERMINATED
+        while (next != null && next.isFinished()) {
+            next.setState(ProcessState.TERMINATED);
+            next = scheduler.getNextProcess();
+        }
+        if (next != null) {
+            markKernelActivity();
+            currentProcess = next;
+            currentProcess.setState(ProcessState.RUNNING);
+            logEvent("⚡ Ejecutando: {}", currentProcess.getId());
+            if (eventTrace != null) {
+                recordEvent(TraceEventType.DISPATCH, currentProcess, 0,
+                            currentProcess.getExecutedInstructions(), scheduler.getReadyCount());
             }
-            
-            processSemaphore.release();
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        } else {
+            setCpuMode(CpuMode.IDLE);
         }
     }
     
@@ -597,26 +1027,28 @@ public class SimulationEngine {
         int executed = currentProcess.getExecutedInstructions();
         int total = currentProcess.getTotalInstructions();
         
-        System.out.println("\n🎯🎯🎯 FINALIZANDO: " + processId + 
-                          " (" + executed + "/" + total + ") 🎯🎯🎯");
+        if (isLogging(LogLevel.DEBUG)) {
+            logger.log(LogLevel.DEBUG, -1, "\n🎯🎯🎯 FINALIZANDO: {} ({}/{}) 🎯🎯🎯", processId, executed, total);
+        }
         
         // 1. Marcar como TERMINATED
         currentProcess.setState(ProcessState.TERMINATED);
         currentProcess.setCompletionTime(globalClock.getCurrentCycle());
+        recordCompletion(currentProcess);
         
         // 2. Registrar en estadísticas
         statistics.recordProcessCompletion(currentProcess);
-        System.out.println("   📊 Estadísticas actualizadas");
+        trace("   📊 Estadísticas actualizadas");
         
         // 3. Notificar a MemoryManager
         if (memory != null) {
             memory.processTerminated(currentProcess);
-            System.out.println("   ✅ MemoryManager notificado - proceso eliminado de RAM");
-            System.out.println("      RAM ahora: " + memory.getRAMUsage() + "/" + memory.getMaxRAMCapacity());
+            trace("   ✅ MemoryManager notificado - proceso eliminado de RAM");
+            trace("      RAM ahora: {}/{}", memory.getRAMUsage(), memory.getMaxRAMCapacity());
         }
         
         // 4. Liberar el proceso
-        System.out.println("   🧹 Proceso " + processId + " ELIMINADO del sistema");
+        trace("   🧹 Proceso {} ELIMINADO del sistema", processId);
         recordTerminatedProcess(currentProcess);
         currentProcess = null;
         
@@ -639,13 +1071,7 @@ public class SimulationEngine {
     private boolean isProcessInRAM(Process process) {
         if (memory == null) return true;
 
-        LinkedList<Process> processesInRAM = memory.getProcessesInRAM();
-        for (int i = 0; i < processesInRAM.size(); i++) {
-            if (processesInRAM.get(i).getId().equals(process.getId())) {
-                return true;
-            }
-        }
-        return false;
+        return memory.isInRAM(process);
     }
 
     /**
@@ -654,51 +1080,49 @@ public class SimulationEngine {
     private void startIOForCurrentProcess() {
         if (currentProcess == null) return;
 
-        try {
-            markKernelActivity();
-            Process blockedProcess = currentProcess;
-            logEvent("⏳ E/S iniciada: " + blockedProcess.getId());
-
-            // Registrar el ciclo de bloqueo
-            blockedProcess.setState(ProcessState.BLOCKED);
-            blockedProcess.setBlockedTime(globalClock.getCurrentCycle());
-            blockedProcess.setIoCompletionTime(
-                globalClock.getCurrentCycle() + blockedProcess.getIoDuration()
-            );
-
-            // Adquirir semáforo para la cola bloqueada
-            queueSemaphore.acquire();
-
-            // Añadir a la cola de bloqueados
-            blockedQueue.add(blockedProcess);
-            logEvent("📋 Proceso bloqueado: " + blockedProcess.getId() + 
-                    " | Cola blocked: " + blockedQueue.size());
-
-            // Si RAM está saturada, mover bloqueo a memoria secundaria
-            if (!memory.hasSpaceInRAM()) {
-                boolean moved = memory.moveBlockedProcessToSuspended(blockedProcess);
-                if (moved) {
-                    blockedQueue.remove(blockedProcess);
-                    logEvent("⏸️ Proceso movido a BLOCKED_SUSPENDED: " + blockedProcess.getId());
-                }
-            }
-
-            queueSemaphore.release();
-
-            // El proceso actual ya no está en CPU
-            currentProcess = null;
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logEvent("❌ Error iniciando E/S: " + e.getMessage());
+        markKernelActivity();
+        Process blockedProcess = currentProcess;
+        logEvent("⏳ E/S iniciada: {}", blockedProcess.getId());
+
+        // Registrar el ciclo de bloqueo
+        blockedProcess.setState(ProcessState.BLOCKED);
+        memory.processStateChanged(blockedProcess);
+        blockedProcess.setBlockedTime(globalClock.getCurrentCycle());
+        blockedProcess.setIoCompletionTime(
+            globalClock.getCurrentCycle() + blockedProcess.getIoDuration()
+        );
+        recordEvent(TraceEventType.BLOCK, blockedProcess, 0,
+                    blockedProcess.getIoDuration(), blockedProcess.getIoCompletionTime());
+
+        // Añadir a la cola de bloqueados y registrar su fin de E/S.
+        // El registro sigue valiendo si luego pasa a BLOCKED_SUSPENDED.
+        blockedQueue.add(blockedProcess);
+        ioWheel.schedule(blockedProcess);
+        logEvent("📋 Proceso bloqueado: {} | Cola blocked: {}", blockedProcess.getId(), blockedQueue.size());
+
+        // Si RAM está saturada, mover bloqueo a memoria secundaria
+        if (!memory.hasSpaceInRAM()) {
+            // Si se mueve, onSwapOut lo saca de la cola de bloqueados
+            memory.moveBlockedProcessToSuspended(blockedProcess);
         }
+
+        // El proceso actual ya no está en CPU
+        currentProcess = null;
     }
     
     private void generateRandomEvents() {
-        // 5% chance de interrupción aleatoria SOLAMENTE
-        if (Math.random() < 0.05 && interrupts != null) {
-            interrupts.generateRandomInterrupt();
+        // 5% chance de interrupción aleatoria SOLAMENTE (ciclo ya sorteado)
+        int currentCycle = globalClock.getCurrentCycle();
+        if (isDue(nextRandomInterruptCycle, currentCycle)) {
+            nextRandomInterruptCycle = drawNextRandomInterruptCycle(currentCycle);
+            if (interrupts != null) {
+                InterruptRequest request = interrupts.generateRandomInterrupt();
+                if (request != null) {
+                    recordInterruptInput(request, 0);
+                }
+            }
         }
+        applyDueInputs(eventInputs, currentCycle);
     }
     
     /**
@@ -708,22 +1132,25 @@ public class SimulationEngine {
         if (memory == null) return;
         
         if (memory.hasSpaceInRAM()) {
-            System.out.println("🔄 Espacio liberado en RAM (" + memory.getAvailableSpaceInRAM() + 
-                              ") - Activando procesos suspendidos...");
+            trace("🔄 Espacio liberado en RAM ({}) - Activando procesos suspendidos...", memory.getAvailableSpaceInRAM());
             memory.tryActivateSuspendedProcesses();
         }
     }
     
     private void addProcessToSystem(Process process) {
-        // 1. Verificar límite GLOBAL del sistema
+        // 1. Verificar límite GLOBAL del sistema (la llegada rechazada se graba sin PID)
         int totalProcesses = getTotalProcessesInSystem();
-        if (totalProcesses >= 30) {
-            logEvent("❌ SISTEMA LLENO: No se puede agregar " + process.getId());
+        if (totalProcesses >= config.getMaxProcessesInSystem()) {
+            recordArrivalInput(process);
+            warn("❌ SISTEMA LLENO: No se puede agregar {}", process.getId());
             return;
         }
 
-        // 2. Establecer tiempo de creación
+        // 2. Asignar PID; establecer tiempo de creación y deadline absoluto
+        assignPid(process);
+        recordArrivalInput(process);
         process.setCreationTime(globalClock.getCurrentCycle());
+        registerDeadline(process);
 
         // 3. Intentar agregar a RAM
         boolean addedToRAM = memory.addProcess(process);
@@ -732,145 +1159,460 @@ public class SimulationEngine {
             // 4. Si entró a RAM, agregar al scheduler
             scheduler.addProcess(process);
             statistics.recordProcessCreation(process);
-            logEvent("➕ Proceso agregado a RAM: " + process.getId() + 
-                    " (RAM: " + memory.getRAMUsage() + "/" + 
-                    memory.getMaxRAMCapacity() + ")");
+            logEvent("➕ Proceso agregado a RAM: {} (RAM: {}/{})", process.getId(), memory.getRAMUsage(), memory.getMaxRAMCapacity());
         } else {
             // 5. Si no entró a RAM, está suspendido
-            logEvent("⏸️ Proceso suspendido: " + process.getId() + 
-                    " (Suspendidos: " + memory.getReadySuspendedCount() + ")");
+            logEvent("⏸️ Proceso suspendido: {} (Suspendidos: {})", process.getId(), memory.getReadySuspendedCount());
+        }
+    }
+    
+    /**
+     * Finaliza proceso (coordina limpieza).
+     */
+    private void finishProcess(Process process) {
+        process.finishProcess(globalClock.getCurrentCycle());
+        process.setState(ProcessState.TERMINATED);
+        recordCompletion(process);
+        
+        // Delegar limpieza a componentes
+        memory.processTerminated(process);
+        statistics.recordProcessCompletion(process);
+        recordTerminatedProcess(process);
+        
+        logEvent("✅ Proceso terminado: {}", process.getId());
+        
+        // Si es periódico, reiniciarlo
+        if (process.getType() == ProcessType.PERIODIC) {
+            restartPeriodicProcess(process);
+        }
+    }
+    
+    private void restartPeriodicProcess(Process process) {
+        // Crear nueva instancia del proceso periódico
+        Process newProcess = generator.generatePeriodicProcess(
+            process.getId() + "-R",
+            process.getName(),
+            globalClock.getCurrentCycle()
+        );
+        
+        addProcessToSystem(newProcess);
+        logEvent("🔄 Periódico reiniciado: {}", process.getId());
+    }
+    
+    // ========== MANEJO DE INTERRUPCIONES ==========
+    
+    /**
+     * Se ejecuta en el thread del ciclo (llega como comando desde los workers).
+     */
+    private void handleIncomingInterrupt(rtos.interrupt.InterruptRequest request) {
+        markKernelActivity();
+        
+        logEvent("⚡ Interrupción recibida: {}", request.getType());
+        recordEvent(TraceEventType.INTERRUPT, currentProcess, request.getType().ordinal(), request.getPriority(), 0);
+        
+        // Si es interrupción crítica, suspender proceso actual
+        if (request.getPriority() >= 4 && currentProcess != null) {
+            logEvent("🚨 Interrupción crítica - suspendiendo proceso actual");
+            recordEvent(TraceEventType.PREEMPT, currentProcess, 1, currentProcess.getExecutedInstructions(), 0);
+            
+            // Suspender proceso actual
+            currentProcess.setState(ProcessState.READY);
+            scheduler.addProcess(currentProcess);
+            currentProcess = null;
+        }
+    }
+    
+    /**
+     * Un proceso suspendido volvió a RAM: devolverlo a la cola de listos
+     * (salvo que siga encolado desde antes de suspenderse).
+     */
+    private void handleActivatedProcess(Process process) {
+        if (!scheduler.isQueued(process)) {
+            scheduler.addProcess(process);
+            logEvent("🔄 Proceso reactivado vuelve a READY: {}", process.getId());
+        }
+    }
+    
+    // ========== CONTROL PÚBLICO CON SEMÁFOROS ==========
+    
+    public void start() {
+        try {
+            executionSemaphore.acquire();
+            isRunning = true;
+            isPaused = false;
+            executionSemaphore.release();
+            ensureSimulationThread();
+            logEvent("🚀 Simulación iniciada");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    public void pause() {
+        try {
+            executionSemaphore.acquire();
+            isPaused = true;
+            executionSemaphore.release();
+            logEvent("⏸️ Simulación pausada");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    public void resume() {
+        try {
+            executionSemaphore.acquire();
+            isPaused = false;
+            executionSemaphore.release();
+            logEvent("▶️ Simulación reanudada");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    public void stop() {
+        try {
+            executionSemaphore.acquire();
+            isRunning = false;
+            setCpuMode(CpuMode.IDLE);
+            executionSemaphore.release();
+            if (simulationThread != null) {
+                simulationThread.interrupt();
+            }
+            logEvent("⏹️ Simulación detenida");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Detiene la simulación y los threads de interrupciones. Para motores
+     * desechables (corridas sin interfaz); el motor no se puede reanudar.
+     */
+    public void shutdown() {
+        stop();
+        interrupts.shutdown();
+        scheduler.shutdown();
+        closeEventTrace();
+    }
+    
+    // ========== CHECKPOINT ==========
+    
+    /**
+     * Guarda el estado completo del motor (reloj, PCBs, colas del scheduler,
+     * RAM y suspendidos, E/S en curso, interrupciones pendientes y
+     * estadísticas) entre dos ciclos. Se escribe directo al archivo, sin
+     * armar una copia del estado en memoria.
+     *
+     * Los flujos aleatorios se re-siembran con un valor sacado de ellos
+     * mismos, que queda en el checkpoint: el motor original y el restaurado
+     * siguen exactamente igual. Los comandos aún no aplicados y las entradas
+     * programadas de una reproducción no se guardan.
+     */
+    public void saveCheckpoint(Path file) throws IOException {
+        try (OutputStream stream = Files.newOutputStream(file)) {
+            saveCheckpoint(stream);
+        }
+    }
+    
+    /**
+     * Como saveCheckpoint(Path), sobre un stream (que no se cierra).
+     */
+    public void saveCheckpoint(OutputStream stream) throws IOException {
+        boolean owner = Thread.currentThread() == ownerThread;
+        if (!owner) {
+            try {
+                executionSemaphore.acquire();   // Espera a que termine el ciclo en curso
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupción esperando el fin del ciclo");
+            }
+            ownerThread = Thread.currentThread();
+        }
+        try {
+            CheckpointWriter out = new CheckpointWriter(stream);
+            writeCheckpoint(out);
+            out.flush();
+            logEvent("💾 Checkpoint guardado ({} procesos)", out.getProcessCount());
+        } finally {
+            if (!owner) {
+                ownerThread = null;
+                executionSemaphore.release();
+            }
+        }
+    }
+    
+    /**
+     * Motor nuevo con el estado y la configuración guardados en el archivo.
+     */
+    public static SimulationEngine restoreCheckpoint(Path file) throws IOException {
+        return restoreCheckpoint(file, null);
+    }
+    
+    /**
+     * Motor nuevo con el estado guardado y otra configuración (para bifurcar
+     * corridas "qué pasaría si"). El algoritmo y el quantum de config se
+     * aplican sobre el estado restaurado; ver readCheckpointConfig para
+     * partir de la configuración guardada.
+     */
+    public static SimulationEngine restoreCheckpoint(Path file, SimulationConfig config) throws IOException {
+        try (InputStream stream = Files.newInputStream(file)) {
+            return restoreCheckpoint(stream, config);
+        }
+    }
+    
+    /**
+     * Como restoreCheckpoint(Path, SimulationConfig), desde un stream (por
+     * ejemplo un ByteArrayInputStream, para bifurcar miles de variantes sin
+     * tocar el disco). config null = la configuración guardada.
+     */
+    public static SimulationEngine restoreCheckpoint(InputStream stream, SimulationConfig config) throws IOException {
+        CheckpointReader in = new CheckpointReader(stream);
+        SimulationConfig saved = readCheckpointHeader(in);
+        SimulationEngine engine = new SimulationEngine(config != null ? config : saved, false);
+        in.setClock(engine.globalClock);
+        engine.readCheckpoint(in, saved);
+        return engine;
+    }
+    
+    /**
+     * Configuración guardada en un checkpoint (con el algoritmo y el quantum
+     * que tenía el motor al guardarlo).
+     */
+    public static SimulationConfig readCheckpointConfig(Path file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file)) {
+            return readCheckpointHeader(new CheckpointReader(stream));
+        }
+    }
+    
+    private static SimulationConfig readCheckpointHeader(CheckpointReader in) throws IOException {
+        int magic = in.readInt();
+        int version = in.readInt();
+        if (magic != CheckpointWriter.MAGIC || version != CheckpointWriter.VERSION) {
+            throw new IOException(String.format("No es un checkpoint válido (magic %08x, versión %d)", magic, version));
+        }
+        return SimulationConfig.readCheckpoint(in);
+    }
+    
+    private void writeCheckpoint(CheckpointWriter out) throws IOException {
+        if (!cycleStartInputs.isEmpty() || !eventInputs.isEmpty()) {
+            warn("⚠️ Checkpoint sin {} entradas de reproducción programadas",
+                 cycleStartInputs.size() + eventInputs.size());
+        }
+        out.writeInt(CheckpointWriter.MAGIC);
+        out.writeInt(CheckpointWriter.VERSION);
+        SimulationConfig current = config.copy();
+        current.setAlgorithm(scheduler.getCurrentAlgorithm());
+        current.setRoundRobinQuantum(scheduler.getRoundRobinQuantum());
+        current.writeCheckpoint(out);
+        
+        out.writeInt(globalClock.getCurrentCycle());
+        // Los flujos aleatorios se guardan sin avanzarlos: guardar no cambia
+        // lo que sortea esta simulación
+        generator.getRandom().writeCheckpoint(out);
+        out.writeInt(generator.getProcessCounter());
+        interrupts.getRandom().writeCheckpoint(out);
+        eventRandom.writeCheckpoint(out);
+        out.writeInt(nextRandomInterruptCycle);
+        out.writeInt(nextGeneratedArrivalCycle);
+        out.writeEnum(cpuMode);
+        out.writeProcess(currentProcess);
+        
+        scheduler.writeCheckpoint(out);
+        memory.writeCheckpoint(out);
+        out.writeProcesses(blockedQueue, blockedQueue.size());
+        out.writeProcesses(terminatedQueue, terminatedQueue.size());
+        out.writeProcesses(suspendedIOCompleted, suspendedIOCompleted.size());
+        ioWheel.writeCheckpoint(out);
+        out.writeProcesses(deadlineHeap.inOrder(), deadlineHeap.size());
+        out.writeProcesses(arrivalHeap.inOrder(), arrivalHeap.size());
+        interrupts.writeCheckpoint(out);
+        statistics.writeCheckpoint(out);
+        out.writeInt(CheckpointWriter.MAGIC);   // Fin
+    }
+    
+    /**
+     * Carga el estado en este motor recién creado (vacío y detenido).
+     * @param saved Configuración con la que se guardó
+     */
+    private void readCheckpoint(CheckpointReader in, SimulationConfig saved) throws IOException {
+        globalClock.setCurrentCycle(in.readInt());
+        SplitMix64 generatorRandom = new SplitMix64();
+        generatorRandom.readCheckpoint(in);
+        generator.setRandom(generatorRandom);
+        generator.setProcessCounter(in.readInt());
+        SplitMix64 interruptRandom = new SplitMix64();
+        interruptRandom.readCheckpoint(in);
+        interrupts.setRandom(interruptRandom);
+        eventRandom.readCheckpoint(in);
+        nextRandomInterruptCycle = in.readInt();
+        nextGeneratedArrivalCycle = in.readInt();
+        cpuMode = in.readEnum(CpuMode.values());
+        currentProcess = in.readProcess();
+        
+        scheduler.readCheckpoint(in);
+        memory.readCheckpoint(in);
+        for (Process p : in.readProcesses()) {
+            blockedQueue.add(p);
+        }
+        terminatedQueue = in.readProcesses();
+        suspendedIOCompleted = in.readProcesses();
+        reservePidsInSystem();
+        ioWheel.readCheckpoint(in);
+        for (Process p : in.readProcesses()) {
+            deadlineHeap.insert(p);
+        }
+        for (Process p : in.readProcesses()) {
+            arrivalHeap.insert(p);
+        }
+        interrupts.readCheckpoint(in);
+        statistics.readCheckpoint(in);
+        if (in.readInt() != CheckpointWriter.MAGIC) {
+            throw new IOException("Checkpoint truncado o de otra versión");
+        }
+        
+        // Si la configuración cambió, volver a sortear lo que depende de ella
+        int cycle = globalClock.getCurrentCycle();
+        if (config.isRandomInterrupts() != saved.isRandomInterrupts()) {
+            nextRandomInterruptCycle = drawNextRandomInterruptCycle(cycle);
+        }
+        if (config.getArrivalRate() != saved.getArrivalRate()) {
+            nextGeneratedArrivalCycle = drawNextGeneratedArrivalCycle(cycle);
+        }
+        if (config.getAlgorithm() != scheduler.getCurrentAlgorithm()) {
+            scheduler.switchAlgorithm(config.getAlgorithm());
+        }
+        if (config.getRoundRobinQuantum() != scheduler.getRoundRobinQuantum()) {
+            scheduler.setRoundRobinQuantum(config.getRoundRobinQuantum());
+        }
+        if (snapshotInterval > 0) {
+            publishSnapshot();
+        }
+        logEvent("📂 Checkpoint restaurado en el ciclo {} ({} procesos)", cycle, in.getProcessCount());
+    }
+    
+    /**
+     * Los procesos restaurados que están en el sistema (en RAM, suspendidos
+     * o en CPU) vuelven a reservar sus PIDs.
+     */
+    private void reservePidsInSystem() {
+        pids.clear();
+        for (Process p : memory.getProcessesInRAM()) {
+            assignPid(p);
+        }
+        for (Process p : memory.getReadySuspendedQueue()) {
+            assignPid(p);
+        }
+        for (Process p : memory.getBlockedSuspendedQueue()) {
+            assignPid(p);
+        }
+        if (currentProcess != null) {
+            assignPid(currentProcess);
+        }
+    }
+    
+    /**
+     * Le da PID al proceso que entra al sistema. Uno restaurado conserva el
+     * suyo; si ya lo tiene reservado (el de CPU también está en RAM) no hace nada.
+     */
+    private void assignPid(Process process) {
+        int pid = process.getPid();
+        if (pids.isAllocated(pid)) {
+            return;
+        }
+        if (!pids.reserve(pid)) {
+            process.setPid(pids.allocate());
         }
     }
     
-    /**
-     * Finaliza proceso (coordina limpieza).
-     */
-    private void finishProcess(Process process) {
+    // ========== TRAZA BINARIA ==========
+    
+    private TraceWriter openEventTrace(SimulationConfig config) {
+        if (config.getEventTraceDirectory() == null) {
+            return null;
+        }
         try {
-            processSemaphore.acquire();
-            
-            process.finishProcess(globalClock.getCurrentCycle());
-            process.setState(ProcessState.TERMINATED);
-            
-            // Delegar limpieza a componentes
-            memory.processTerminated(process);
-            statistics.recordProcessCompletion(process);
-            recordTerminatedProcess(process);
-            
-            logEvent("✅ Proceso terminado: " + process.getId());
-            
-            // Si es periódico, reiniciarlo
-            if (process.getType() == ProcessType.PERIODIC) {
-                restartPeriodicProcess(process);
-            }
-            
-            processSemaphore.release();
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            return new TraceWriter(config.getEventTraceDirectory(), config.getEventTraceName(),
+                                   config.getEventTraceSegmentBytes());
+        } catch (IOException e) {
+            logger.log(LogLevel.ERROR, 0, "❌ No se pudo abrir la traza binaria: {}", e.getMessage());
+            return null;
         }
     }
     
-    private void restartPeriodicProcess(Process process) {
-        // Crear nueva instancia del proceso periódico
-        Process newProcess = generator.generatePeriodicProcess(
-            process.getId() + "-R",
-            process.getName(),
-            globalClock.getCurrentCycle()
-        );
-        
-        addProcessToSystem(newProcess);
-        logEvent("🔄 Periódico reiniciado: " + process.getId());
+    private void recordEvent(TraceEventType type, Process process, int aux, int arg0, int arg1) {
+        if (eventTrace != null) {
+            int pid = process != null ? process.getPid() : -1;
+            eventTrace.write(type, globalClock.getCurrentCycle(), pid, aux, arg0, arg1);
+        }
     }
     
-    // ========== MANEJO DE INTERRUPCIONES CON SEMÁFOROS ==========
+    /**
+     * Ciclo en que una entrada debe reproducirse: lo que se aplica entre
+     * ciclos (comandos) cuenta para el ciclo siguiente, salvo en el ciclo 0,
+     * donde es parte del estado inicial.
+     */
+    private int inputCycle() {
+        int cycle = globalClock.getCurrentCycle();
+        return !cycleInProgress && cycle > 0 ? cycle + 1 : cycle;
+    }
     
-    private void handleIncomingInterrupt(rtos.interrupt.InterruptRequest request) {
-        try {
-            interruptSemaphore.acquire();
-            markKernelActivity();
-            
-            logEvent("⚡ Interrupción recibida: " + request.getType());
-            
-            // Si es interrupción crítica, suspender proceso actual
-            if (request.getPriority() >= 4) {
-                try {
-                    processSemaphore.acquire();
-                    
-                    if (currentProcess != null) {
-                        logEvent("🚨 Interrupción crítica - suspendiendo proceso actual");
-                        
-                        // Suspender proceso actual
-                        currentProcess.setState(ProcessState.READY);
-                        scheduler.addProcess(currentProcess);
-                        currentProcess = null;
-                    }
-                    
-                    processSemaphore.release();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-            
-            interruptSemaphore.release();
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    private void recordInput(TraceEventType type, int pid, int aux,
+                             int arg0, int arg1, int arg2, int arg3, int arg4) {
+        if (eventTrace != null) {
+            eventTrace.write(type, inputCycle(), pid, aux, arg0, arg1, arg2, arg3, arg4);
         }
     }
     
-    // ========== CONTROL PÚBLICO CON SEMÁFOROS ==========
-    
-    public void start() {
-        try {
-            executionSemaphore.acquire();
-            isRunning = true;
-            isPaused = false;
-            executionSemaphore.release();
-            ensureSimulationThread();
-            logEvent("🚀 Simulación iniciada");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    /**
+     * Llegada: aux = ProcessType; instrucciones, prioridad, deadline, periodo
+     * y E/S (inicio << 16 | duración, -1 si no tiene) en arg0..arg4.
+     */
+    private void recordArrivalInput(Process process) {
+        if (eventTrace != null) {
+            int io = process.isRequiresIO()
+                    ? (process.getIoStartCycle() << 16) | (process.getIoDuration() & 0xFFFF) : -1;
+            recordInput(TraceEventType.ARRIVAL, process.getPid(),
+                        process.getType().ordinal(), process.getTotalInstructions(),
+                        process.getPriority(), process.getDeadline(), process.getPeriod(), io);
         }
     }
     
-    public void pause() {
-        try {
-            executionSemaphore.acquire();
-            isPaused = true;
-            executionSemaphore.release();
-            logEvent("⏸️ Simulación pausada");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    private void recordInterruptInput(InterruptRequest request, int atCycleStart) {
+        recordInput(TraceEventType.INTERRUPT_RAISED, -1, request.getType().ordinal(),
+                    request.getPriority(), atCycleStart, 0, 0, 0);
     }
     
-    public void resume() {
-        try {
-            executionSemaphore.acquire();
-            isPaused = false;
-            executionSemaphore.release();
-            logEvent("▶️ Simulación reanudada");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    private void recordCompletion(Process process) {
+        if (eventTrace != null) {
+            int turnaround = globalClock.getCurrentCycle() - process.getCreationTime();
+            recordEvent(TraceEventType.COMPLETE, process, process.isDeadlineMissed() ? 1 : 0, turnaround, 0);
         }
     }
     
-    public void stop() {
+    /**
+     * Cierra la traza binaria (la llama shutdown). Se hace con el semáforo
+     * del ciclo para no cerrarla en medio de una escritura.
+     */
+    public void closeEventTrace() {
+        executionSemaphore.acquireUninterruptibly();
         try {
-            executionSemaphore.acquire();
-            isRunning = false;
-            setCpuMode(CpuMode.IDLE);
-            executionSemaphore.release();
-            if (simulationThread != null) {
-                simulationThread.interrupt();
+            if (eventTrace != null) {
+                eventTrace.close();
+                eventTrace = null;
             }
-            logEvent("⏹️ Simulación detenida");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        } finally {
+            executionSemaphore.release();
         }
     }
     
+    /**
+     * @return La traza binaria abierta, o null si está apagada o cerrada
+     */
+    public TraceWriter getEventTrace() {
+        return eventTrace;
+    }
+    
     /**
      * Genera 20 procesos de forma CONTROLADA
      */
@@ -878,17 +1620,23 @@ public class SimulationEngine {
         logEvent("🎲 Iniciando generación controlada de 20 procesos...");
 
         new Thread(() -> {
+            // El estado del sistema solo se lee dentro de los comandos (thread dueño)
+            AtomicBoolean full = new AtomicBoolean(false);
+            AtomicInteger added = new AtomicInteger(0);
             int created = 0;
-            int maxAttempts = 30;
-
-            while (created < 20 && isRunning) {
-                if (getTotalProcessesInSystem() >= maxAttempts) {
-                    logEvent("⚠️ Límite máximo alcanzado (" + maxAttempts + ")");
-                    break;
-                }
 
-                Process p = generator.generateRandomProcess();
-                addProcessToSystem(p);
+            while (created < 20 && isRunning && !full.get()) {
+                submit(() -> {
+                    int maxInSystem = config.getMaxProcessesInSystem();
+                    if (getTotalProcessesInSystem() >= maxInSystem) {
+                        if (!full.getAndSet(true)) {
+                            warn("⚠️ Límite máximo alcanzado ({})", maxInSystem);
+                        }
+                        return;
+                    }
+                    addProcessToSystem(generator.generateRandomProcess());
+                    added.incrementAndGet();
+                });
                 created++;
 
                 try {
@@ -899,7 +1647,7 @@ public class SimulationEngine {
                 }
 
                 if (created % 5 == 0 && created < 20) {
-                    logEvent("⏳ " + created + " procesos generados...");
+                    logEvent("⏳ {} procesos generados...", created);
                     try {
                         Thread.sleep(1000);
                     } catch (InterruptedException e) {
@@ -909,8 +1657,10 @@ public class SimulationEngine {
                 }
             }
 
-            logEvent("✅ Generación completada: " + created + " procesos");
-            logSystemStatus();
+            submit(() -> {
+                logEvent("✅ Generación completada: {} procesos", added.get());
+                logSystemStatus();
+            });
         }).start();
     }
 
@@ -918,53 +1668,29 @@ public class SimulationEngine {
      * Cuenta el total de procesos en TODO el sistema
      */
     private int getTotalProcessesInSystem() {
-        int total = 0;
-
-        total += memory.getRAMUsage();
-        total += memory.getReadySuspendedCount();
-        total += memory.getBlockedSuspendedCount();
-
-        if (currentProcess != null) {
-            boolean alreadyCounted = false;
-            LinkedList<Process> inRAM = memory.getProcessesInRAM();
-
-            for (int i = 0; i < inRAM.size(); i++) {
-                if (inRAM.get(i).getId().equals(currentProcess.getId())) {
-                    alreadyCounted = true;
-                    break;
-                }
-            }
-
-            if (!alreadyCounted) {
-                total++;
-            }
-        }
-
-        return total;
+        // Cada proceso admitido tiene un PID hasta que termina
+        return pids.size();
     }
     
     private void logSystemStatus() {
-        System.out.println("\n🔍 DIAGNÓSTICO DEL SISTEMA - Ciclo " + globalClock.getCurrentCycle());
-        System.out.println("  Proceso actual: " + (currentProcess != null ? currentProcess.getId() : "ninguno"));
-        System.out.println("  RAM: " + memory.getRAMUsage() + "/" + memory.getMaxRAMCapacity());
-        System.out.println("  Ready Suspended: " + memory.getReadySuspendedCount());
-        System.out.println("  Blocked Suspended: " + memory.getBlockedSuspendedCount());
-        System.out.println("  Total en sistema: " + getTotalProcessesInSystem());
-        System.out.println("  Cola ready: " + scheduler.getReadyQueue().size());
-        System.out.println("  Cola blocked: " + blockedQueue.size());
-        System.out.println("=====================================\n");
+        if (!isLogging(LogLevel.DEBUG)) return;
+        trace("\n🔍 DIAGNÓSTICO DEL SISTEMA - Ciclo " + globalClock.getCurrentCycle());
+        trace("  Proceso actual: " + (currentProcess != null ? currentProcess.getId() : "ninguno"));
+        trace("  RAM: " + memory.getRAMUsage() + "/" + memory.getMaxRAMCapacity());
+        trace("  Ready Suspended: " + memory.getReadySuspendedCount());
+        trace("  Blocked Suspended: " + memory.getBlockedSuspendedCount());
+        trace("  Total en sistema: " + getTotalProcessesInSystem());
+        trace("  Cola ready: " + scheduler.getReadyCount());
+        trace("  Cola blocked: " + blockedQueue.size());
+        trace("=====================================\n");
     }
     
     public void addEmergencyProcess() {
-        try {
-            queueSemaphore.acquire();
+        submit(() -> {
             Process emergency = generator.generateEmergencyProcess();
             addProcessToSystem(emergency);
-            queueSemaphore.release();
             logEvent("🚨 Proceso de emergencia añadido");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        });
     }
     
     public void changeAlgorithm(String algorithm) {
@@ -993,20 +1719,88 @@ public class SimulationEngine {
                 algo = rtos.scheduler.SchedulerManager.Algorithm.EDF;
                 break;
             default:
-                System.out.println("❌ Algoritmo no válido: " + algorithm);
+                trace("❌ Algoritmo no válido: {}", algorithm);
                 return;
         }
 
-        scheduler.switchAlgorithm(algo);
-        logEvent("🔀 Algoritmo cambiado a: " + algorithm);
+        submit(() -> applyAlgorithmChange(algo));
     }
 
     public void setRoundRobinQuantum(int quantum) {
+        submit(() -> applyQuantumChange(quantum));
+    }
+    
+    private void applyAlgorithmChange(SchedulerManager.Algorithm algorithm) {
+        recordInput(TraceEventType.ALGORITHM_CHANGE, -1, algorithm.ordinal(), 0, 0, 0, 0, 0);
+        scheduler.switchAlgorithm(algorithm);
+        logEvent("🔀 Algoritmo cambiado a: {}", algorithm);
+    }
+    
+    private void applyQuantumChange(int quantum) {
+        recordInput(TraceEventType.QUANTUM_CHANGE, -1, 0, quantum, 0, 0, 0, 0);
         scheduler.setRoundRobinQuantum(quantum);
-        logEvent("⏱️ Quantum RR ajustado a: " + quantum);
+        logEvent("⏱️ Quantum RR ajustado a: {}", quantum);
+    }
+    
+    /**
+     * Genera una interrupción externa (por ejemplo, desde la interfaz). Se
+     * aplica al inicio del próximo ciclo y queda registrada en la traza.
+     */
+    public void raiseInterrupt(InterruptType type, int priority, String source) {
+        submit(() -> {
+            InterruptRequest request = interrupts.raiseInterrupt(type, priority, source);
+            if (request != null) {
+                recordInterruptInput(request, 1);
+            }
+        });
+    }
+    
+    // ========== ENTRADAS PROGRAMADAS (REPRODUCCIÓN) ==========
+    
+    /**
+     * Programa una acción para el ciclo dado: al inicio del ciclo (junto a
+     * las llegadas) o en el paso de eventos aleatorios. Si el ciclo ya
+     * llegó se aplica enseguida. Las usa TraceReplay.
+     */
+    void scheduleInput(int cycle, boolean atCycleStart, Runnable action) {
+        submit(() -> {
+            if (cycle <= globalClock.getCurrentCycle()) {
+                action.run();
+            } else {
+                TimedInput input = new TimedInput(cycle, inputSequence++, action);
+                (atCycleStart ? cycleStartInputs : eventInputs).insert(input);
+            }
+        });
+    }
+    
+    void scheduleArrivalInput(int cycle, Process process) {
+        scheduleInput(cycle, true, () -> addProcessToSystem(process));
+    }
+    
+    void scheduleInterruptInput(int cycle, boolean atCycleStart, InterruptType type, int priority) {
+        scheduleInput(cycle, atCycleStart, () -> {
+            InterruptRequest request = interrupts.raiseInterrupt(type, priority, "Reproducción");
+            if (request != null) {
+                recordInterruptInput(request, atCycleStart ? 1 : 0);
+            }
+        });
     }
     
-    // ========== GETTERS SEGUROS CON SEMÁFOROS ==========
+    void scheduleAlgorithmInput(int cycle, SchedulerManager.Algorithm algorithm) {
+        scheduleInput(cycle, true, () -> applyAlgorithmChange(algorithm));
+    }
+    
+    void scheduleQuantumInput(int cycle, int quantum) {
+        scheduleInput(cycle, true, () -> applyQuantumChange(quantum));
+    }
+    
+    private void applyDueInputs(PriorityQueue<TimedInput> inputs, int currentCycle) {
+        while (!inputs.isEmpty() && inputs.peekMin().cycle <= currentCycle) {
+            inputs.extractMin().action.run();
+        }
+    }
+    
+    // ========== GETTERS SEGUROS ==========
     
     public boolean isRunning() { 
         return isRunning; 
@@ -1044,61 +1838,118 @@ public class SimulationEngine {
             cycleDurationMs = 10;
         }
         this.cycleDurationMs = cycleDurationMs;
-        logEvent("⏱️ Duración de ciclo ajustada a: " + cycleDurationMs + " ms");
+        logEvent("⏱️ Duración de ciclo ajustada a: {} ms", cycleDurationMs);
     }
     
     public Process getCurrentProcess() { 
-        try {
-            processSemaphore.acquire();
-            Process temp = currentProcess;
-            processSemaphore.release();
-            return temp;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return null;
-        }
+        return currentProcess;
     }
     
-    public LinkedList<Process> getReadyQueue() {
-        return scheduler.getReadyQueue().toLinkedList();
+    // Las colas se leen de la última foto publicada: no esperan al ciclo en
+    // curso y están vacías si las fotos están desactivadas
+    
+    public ProcessView[] getReadyQueue() {
+        SystemSnapshot current = snapshot;
+        return current != null ? current.getReadyQueue() : NO_PROCESSES;
     }
     
-    public LinkedList<Process> getBlockedQueue() { 
-        try {
-            queueSemaphore.acquire();
-            LinkedList<Process> copy = new LinkedList<>();
-            for (int i = 0; i < blockedQueue.size(); i++) {
-                copy.add(blockedQueue.get(i));
-            }
-            queueSemaphore.release();
-            return copy;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return new LinkedList<>();
-        }
+    public ProcessView[] getBlockedQueue() { 
+        SystemSnapshot current = snapshot;
+        return current != null ? current.getBlockedQueue() : NO_PROCESSES;
     }
 
-    public LinkedList<Process> getTerminatedQueue() {
-        try {
-            queueSemaphore.acquire();
-            LinkedList<Process> copy = new LinkedList<>();
-            for (int i = 0; i < terminatedQueue.size(); i++) {
-                copy.add(terminatedQueue.get(i));
+    public ProcessView[] getTerminatedQueue() {
+        SystemSnapshot current = snapshot;
+        return current != null ? current.getTerminatedQueue() : NO_PROCESSES;
+    }
+    
+    public ProcessView[] getReadySuspendedQueue() {
+        SystemSnapshot current = snapshot;
+        return current != null ? current.getReadySuspendedQueue() : NO_PROCESSES;
+    }
+    
+    public ProcessView[] getBlockedSuspendedQueue() {
+        SystemSnapshot current = snapshot;
+        return current != null ? current.getBlockedSuspendedQueue() : NO_PROCESSES;
+    }
+    
+    /**
+     * Última foto publicada: no espera al motor y no cambia después de
+     * leída. Puede ser null si las fotos están desactivadas.
+     */
+    public SystemSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * Pide publicar una foto ya (por ejemplo, al terminar un tramo de
+     * runCycles con las fotos periódicas apagadas).
+     */
+    public void requestSnapshot() {
+        submit(this::publishSnapshot);
+    }
+    
+    /**
+     * Cada cuántos ciclos se publica la foto (0 = nunca).
+     */
+    public void setSnapshotInterval(int snapshotInterval) {
+        this.snapshotInterval = Math.max(0, snapshotInterval);
+    }
+    
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+    
+    // ========== PERFIL DEL CICLO ==========
+    
+    /**
+     * Enciende o apaga la medición por fase del ciclo. Al encenderla se
+     * empieza con un perfil vacío; al apagarla se descarta.
+     */
+    public void setProfilingEnabled(boolean enabled) {
+        submit(() -> {
+            if (enabled && profiler == null) {
+                profiler = new CycleProfiler();
+            } else if (!enabled) {
+                profiler = null;
             }
-            queueSemaphore.release();
-            return copy;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return new LinkedList<>();
-        }
+        });
+    }
+    
+    public boolean isProfilingEnabled() {
+        return profiler != null;
+    }
+    
+    /**
+     * Vacía el perfil acumulado (por ejemplo, después del calentamiento).
+     */
+    public void resetProfile() {
+        submit(() -> {
+            if (profiler != null) {
+                profiler.reset();
+            }
+        });
+    }
+    
+    /**
+     * Perfil acumulado hasta la última foto publicada, o null si la medición
+     * está apagada (o no hay foto). No espera al ciclo en curso.
+     */
+    public CycleProfiler getCycleProfile() {
+        SystemSnapshot current = snapshot;
+        return current != null ? current.getCycleProfile() : null;
     }
     
-    public LinkedList<Process> getReadySuspendedQueue() {
-        return memory.getReadySuspendedQueue();
+    /**
+     * Reporte del perfil por fase (ver CycleProfiler.generateReport).
+     */
+    public String getCycleProfileReport() {
+        CycleProfiler copy = getCycleProfile();
+        return copy != null ? copy.generateReport() : "Perfil del ciclo apagado\n";
     }
     
-    public LinkedList<Process> getBlockedSuspendedQueue() {
-        return memory.getBlockedSuspendedQueue();
+    public SimulationConfig getConfig() {
+        return config.copy();
     }
     
     public StatisticsTracker getStatisticsTracker() { 
@@ -1119,10 +1970,103 @@ public class SimulationEngine {
     
     // ========== LOGGING ==========
     
+    // Todo pasa por el EventLogger: aquí solo se copian el patrón y los
+    // argumentos; el texto se arma en su thread, y nada si el nivel está apagado
+    
+    private boolean isLogging(LogLevel level) {
+        return traceEnabled && logger.isEnabled(level);
+    }
+    
     private void logEvent(String message) {
-        String logMsg = "[Ciclo " + globalClock.getCurrentCycle() + "] " + message;
-        System.out.println(logMsg);
-        scheduler.logEvent(logMsg);
+        if (isLogging(LogLevel.INFO)) {
+            logger.log(LogLevel.INFO, globalClock.getCurrentCycle(), message);
+        }
+    }
+    
+    private void logEvent(String pattern, Object arg0) {
+        if (isLogging(LogLevel.INFO)) {
+            logger.log(LogLevel.INFO, globalClock.getCurrentCycle(), pattern, arg0);
+        }
+    }
+    
+    private void logEvent(String pattern, Object arg0, Object arg1) {
+        if (isLogging(LogLevel.INFO)) {
+            logger.log(LogLevel.INFO, globalClock.getCurrentCycle(), pattern, arg0, arg1);
+        }
+    }
+    
+    private void logEvent(String pattern, Object arg0, Object arg1, Object arg2) {
+        if (isLogging(LogLevel.INFO)) {
+            logger.log(LogLevel.INFO, globalClock.getCurrentCycle(), pattern, arg0, arg1, arg2);
+        }
+    }
+    
+    private void warn(String pattern, Object arg0) {
+        if (isLogging(LogLevel.WARN)) {
+            logger.log(LogLevel.WARN, globalClock.getCurrentCycle(), pattern, arg0);
+        }
+    }
+    
+    private void warn(String pattern, Object arg0, Object arg1) {
+        if (isLogging(LogLevel.WARN)) {
+            logger.log(LogLevel.WARN, globalClock.getCurrentCycle(), pattern, arg0, arg1);
+        }
+    }
+    
+    private void trace(String message) {
+        if (isLogging(LogLevel.DEBUG)) {
+            logger.log(LogLevel.DEBUG, -1, message);
+        }
+    }
+    
+    private void trace(String pattern, Object arg0) {
+        if (isLogging(LogLevel.DEBUG)) {
+            logger.log(LogLevel.DEBUG, -1, pattern, arg0);
+        }
+    }
+    
+    private void trace(String pattern, Object arg0, Object arg1) {
+        if (isLogging(LogLevel.DEBUG)) {
+            logger.log(LogLevel.DEBUG, -1, pattern, arg0, arg1);
+        }
+    }
+    
+    /**
+     * Activa o desactiva la salida por consola y el log de eventos
+     * del motor y sus componentes.
+     */
+    public void setTraceEnabled(boolean traceEnabled) {
+        this.traceEnabled = traceEnabled;
+        scheduler.setTraceEnabled(traceEnabled);
+        interrupts.setTraceEnabled(traceEnabled);
+    }
+    
+    /**
+     * Activa el modo por eventos: con la CPU ociosa el reloj salta directo
+     * al próximo evento en lugar de avanzar ciclo a ciclo.
+     */
+    public void setEventDriven(boolean eventDriven) {
+        this.eventDriven = eventDriven;
+    }
+    
+    public boolean isEventDriven() {
+        return eventDriven;
+    }
+    
+    /**
+     * Activa el modo ráfaga: el proceso en CPU ejecuta de una vez todas las
+     * instrucciones hasta el próximo evento, en lugar de una por ciclo.
+     */
+    public void setBurstExecution(boolean burstExecution) {
+        this.burstExecution = burstExecution;
+    }
+    
+    public boolean isBurstExecution() {
+        return burstExecution;
+    }
+    
+    public boolean isTraceEnabled() {
+        return traceEnabled;
     }
 
     private void setCpuMode(CpuMode mode) {
@@ -1148,16 +2092,10 @@ public class SimulationEngine {
             return;
         }
 
-        try {
-            processSemaphore.acquire();
-            if (currentProcess != null) {
-                enterUserMode();
-            } else {
-                setCpuMode(CpuMode.IDLE);
-            }
-            processSemaphore.release();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        if (currentProcess != null) {
+            enterUserMode();
+        } else {
+            setCpuMode(CpuMode.IDLE);
         }
     }
 
@@ -1187,15 +2125,17 @@ public class SimulationEngine {
     private void recordTerminatedProcess(Process process) {
         if (process == null) return;
 
-        try {
-            queueSemaphore.acquire();
-            terminatedQueue.add(process);
-            if (terminatedQueue.size() > 200) {
-                terminatedQueue.remove(0);
-            }
-            queueSemaphore.release();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        // Sale del sistema: su PID queda libre para reutilizarse
+        if (pids.release(process.getPid())) {
+            process.setPid(-1);
+        }
+
+        int retention = config.getTerminatedHistorySize();
+        if (retention == 0) return;
+
+        terminatedQueue.add(process);
+        if (terminatedQueue.size() > retention) {
+            terminatedQueue.remove(0);   // O(1): es la cabeza de la lista
         }
     }
 }
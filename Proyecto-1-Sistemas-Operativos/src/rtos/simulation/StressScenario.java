@@ -0,0 +1,217 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.simulation;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.util.SplittableRandom;
+import rtos.model.Process;
+import rtos.model.ProcessType;
+import rtos.scheduler.SchedulerManager;
+import rtos.statistics.LatencyHistogram;
+
+/**
+ * Escenario de estrés: llena el sistema con n procesos vivos (1.000, 10.000
+ * y 100.000 por defecto) y mide cuánto cuesta admitirlos y cuánto dura cada
+ * ciclo con todos adentro. Sirve para comprobar que ningún camino del ciclo
+ * crece más rápido que la cantidad de procesos.
+ *
+ * Cada ciclo corre completo (sin salto de ociosos ni ráfagas) y la RAM es
+ * la cuarta parte del sistema, así MemoryManager suspende y reactiva todo
+ * el tiempo.
+ */
+public class StressScenario {
+    // Margen sobre el crecimiento lineal antes de declarar el costo superlineal
+    // (ruido del GC y del JIT en corridas cortas)
+    private static final double LINEAR_TOLERANCE = 2.0;
+
+    private final SimulationConfig baseConfig;
+    private int[] sizes;
+    private int warmupCycles;
+    private int measuredCycles;
+    private long seed;
+
+    public StressScenario() {
+        this(SimulationConfig.headless());
+    }
+
+    /**
+     * @param baseConfig Algoritmo y demás parámetros; la capacidad, la RAM y
+     *                   el modo de ejecución los fija el escenario
+     */
+    public StressScenario(SimulationConfig baseConfig) {
+        this.baseConfig = baseConfig.copy();
+        this.sizes = new int[] { 1000, 10000, 100000 };
+        this.warmupCycles = 200;
+        this.measuredCycles = 2000;
+        this.seed = baseConfig.getSeed();
+    }
+
+    /**
+     * Resultado de una carga: tiempo de admisión y perfil del ciclo.
+     */
+    public static final class Run {
+        private final int processes;
+        private final long admissionNanos;
+        private final CycleProfiler profile;
+
+        Run(int processes, long admissionNanos, CycleProfiler profile) {
+            this.processes = processes;
+            this.admissionNanos = admissionNanos;
+            this.profile = profile;
+        }
+
+        public int getProcesses() { return processes; }
+        public long getAdmissionNanos() { return admissionNanos; }
+        public CycleProfiler getProfile() { return profile; }
+    }
+
+    /**
+     * Corre todas las cargas, de la más chica a la más grande.
+     */
+    public Run[] run() {
+        Run[] runs = new Run[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            runs[i] = run(sizes[i]);
+        }
+        return runs;
+    }
+
+    /**
+     * Una carga: llegan n procesos en los primeros 100 ciclos, se corren
+     * warmupCycles ciclos (la admisión) y después se miden measuredCycles.
+     */
+    public Run run(int processes) {
+        SimulationConfig config = baseConfig.copy();
+        config.setEventDriven(false);
+        config.setBurstExecution(false);
+        config.setInitialProcessPercentage(0);
+        config.setRamCapacity(Math.max(1, processes / 4));
+        config.setMaxProcessesInSystem(processes);
+        config.setSnapshotInterval(0);
+        config.setProfiling(true);
+
+        SimulationEngine engine = new SimulationEngine(config);
+        try {
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int i = 0; i < processes; i++) {
+                Process process = new Process("S" + i, "Estrés " + i, ProcessType.APERIODIC,
+                        50 + random.nextInt(5000),
+                        1 + random.nextInt(5),
+                        100 + random.nextInt(processes),
+                        0);
+                if (random.nextInt(4) == 0) {
+                    process.setIORequest(1 + random.nextInt(20), 5 + random.nextInt(50));
+                }
+                engine.scheduleArrival(process, 1 + random.nextInt(100));
+            }
+
+            long start = System.nanoTime();
+            engine.runCycles(warmupCycles);
+            long admissionNanos = System.nanoTime() - start;
+
+            engine.resetProfile();
+            engine.runCycles(measuredCycles);
+            engine.requestSnapshot();     // Las fotos periódicas están apagadas
+            return new Run(processes, admissionNanos, engine.getCycleProfile());
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    /**
+     * true si ninguna carga cuesta (admisión, media o p99 del ciclo) más que
+     * lo que creció la cantidad de procesos respecto de la primera, con margen.
+     */
+    public static boolean isLinear(Run[] runs) {
+        for (int i = 1; i < runs.length; i++) {
+            double limit = growth(runs[0].processes, runs[i].processes) * LINEAR_TOLERANCE;
+            if (growth(runs[0].admissionNanos, runs[i].admissionNanos) > limit
+                    || growth(runs[0].profile.getCycles().getMean(), runs[i].profile.getCycles().getMean()) > limit
+                    || growth(runs[0].profile.getCycles().getPercentile(99), runs[i].profile.getCycles().getPercentile(99)) > limit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double growth(double base, double value) {
+        return value / Math.max(base, 1.0);
+    }
+
+    /**
+     * Tabla de escalamiento (crecimiento respecto de la primera carga) y el
+     * perfil por fase de la carga más grande.
+     */
+    public static String generateReport(Run[] runs) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== ESCENARIO DE ESTRÉS ===\n");
+        sb.append(String.format("%10s %12s %10s %12s %12s %12s %10s %10s%n",
+                "Procesos", "Admisión ms", "ns/proc", "Ciclo µs", "p99 µs", "máx µs", "x ciclo", "x p99"));
+        for (Run run : runs) {
+            LatencyHistogram cycles = run.profile.getCycles();
+            sb.append(String.format("%10d %12.1f %10.0f %12.2f %12.2f %12.2f %10.2f %10.2f%n",
+                    run.processes,
+                    run.admissionNanos / 1_000_000.0,
+                    run.admissionNanos / (double) run.processes,
+                    cycles.getMean() / 1000.0,
+                    cycles.getPercentile(99) / 1000.0,
+                    cycles.getMax() / 1000.0,
+                    growth(runs[0].profile.getCycles().getMean(), cycles.getMean()),
+                    growth(runs[0].profile.getCycles().getPercentile(99), cycles.getPercentile(99))));
+        }
+        sb.append(isLinear(runs) ? "Escalamiento: lineal o mejor\n" : "Escalamiento: SUPERLINEAL\n");
+        if (runs.length > 0) {
+            sb.append('\n').append(runs[runs.length - 1].profile.generateReport());
+        }
+        return sb.toString();
+    }
+
+    // ========== CONFIGURACIÓN ==========
+
+    public void setSizes(int... sizes) {
+        if (sizes.length > 0) {
+            this.sizes = sizes.clone();
+        }
+    }
+
+    public void setWarmupCycles(int warmupCycles) {
+        if (warmupCycles > 0) {
+            this.warmupCycles = warmupCycles;
+        }
+    }
+
+    public void setMeasuredCycles(int measuredCycles) {
+        if (measuredCycles > 0) {
+            this.measuredCycles = measuredCycles;
+        }
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Corre el escenario con EDF (o el algoritmo indicado como primer
+     * argumento) y termina con código 1 si algún costo crece superlinealmente.
+     */
+    public static void main(String[] args) {
+        SimulationConfig config = SimulationConfig.headless();
+        config.setSeed(20260208L);
+        config.setArrivalRate(0.5);
+        if (args.length > 0) {
+            config.setAlgorithm(SchedulerManager.Algorithm.valueOf(args[0]));
+        } else {
+            config.setAlgorithm(SchedulerManager.Algorithm.EDF);
+        }
+
+        Run[] runs = new StressScenario(config).run();
+        System.out.print(generateReport(runs));
+        System.exit(isLinear(runs) ? 0 : 1);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.simulation;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.util.Locale;
+import rtos.statistics.MetricSummary;
+import rtos.statistics.MonteCarloResult;
+
+/**
+ * Resultado de un barrido de parámetros: un punto de la grilla por fila,
+ * con la media e IC 95% de cada métrica sobre sus réplicas.
+ */
+public class SweepResult {
+    private final SimulationConfig[] points;
+    private final MonteCarloResult metrics;
+
+    /**
+     * @param points  Configuración de cada punto (grupo i de metrics)
+     * @param metrics Métricas agregadas, un grupo por punto
+     */
+    public SweepResult(SimulationConfig[] points, MonteCarloResult metrics) {
+        this.points = points.clone();
+        this.metrics = metrics;
+    }
+
+    public int getPointCount() {
+        return points.length;
+    }
+
+    public SimulationConfig getPoint(int index) {
+        return points[index].copy();
+    }
+
+    public MetricSummary getSummary(int index, MonteCarloResult.Metric metric) {
+        return metrics.getSummary(index, metric);
+    }
+
+    public MonteCarloResult getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Genera la tabla en CSV (punto decimal siempre, sin importar el idioma
+     * del sistema): parámetros del punto y, por métrica, media e IC 95%.
+     */
+    public String generateCSV() {
+        StringBuilder csv = new StringBuilder();
+        csv.append("algorithm,quantum,ram_capacity,max_processes,arrival_rate,runs");
+        for (MonteCarloResult.Metric metric : MonteCarloResult.Metric.values()) {
+            csv.append(',').append(metric.getKey()).append("_mean");
+            csv.append(',').append(metric.getKey()).append("_ci95");
+        }
+        csv.append('\n');
+
+        for (int i = 0; i < points.length; i++) {
+            SimulationConfig point = points[i];
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%.4f,%d",
+                    point.getAlgorithm().name(), point.getRoundRobinQuantum(),
+                    point.getRamCapacity(), point.getMaxProcessesInSystem(),
+                    point.getArrivalRate(), metrics.getSummary(i, MonteCarloResult.Metric.THROUGHPUT).getCount()));
+            for (MonteCarloResult.Metric metric : MonteCarloResult.Metric.values()) {
+                MetricSummary summary = metrics.getSummary(i, metric);
+                csv.append(String.format(Locale.ROOT, ",%.6f,%.6f",
+                        summary.getMean(), summary.getConfidenceHalfWidth()));
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    @Override
+    public String toString() {
+        return generateCSV();
+    }
+}
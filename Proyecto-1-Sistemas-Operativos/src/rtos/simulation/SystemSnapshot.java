@@ -0,0 +1,192 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.simulation;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import rtos.model.Process;
+import rtos.model.ProcessState;
+import rtos.statistics.StatisticsTracker;
+import rtos.structures.LinkedList;
+
+/**
+ * Foto inmutable del sistema al final de un ciclo. La arma el thread del
+ * ciclo y la publica SimulationEngine en una referencia volatile: la
+ * interfaz la lee sin esperar al motor y todo lo que ve es del mismo ciclo.
+ */
+public final class SystemSnapshot {
+
+    /**
+     * Datos de un proceso copiados al momento de la foto.
+     */
+    public static final class ProcessView {
+        private final String id;
+        private final String name;
+        private final ProcessState state;
+        private final int priority;
+        private final int remainingDeadline;
+        private final int executedInstructions;
+        private final int totalInstructions;
+        private final int programCounter;
+        private final int memoryAddressRegister;
+        private final int creationTime;
+        private final int completionTime;
+        private final boolean requiresIO;
+        private final boolean deadlineMissed;
+
+        ProcessView(Process p) {
+            this.id = p.getId();
+            this.name = p.getName();
+            this.state = p.getState();
+            this.priority = p.getPriority();
+            this.remainingDeadline = p.getRemainingDeadline();
+            this.executedInstructions = p.getExecutedInstructions();
+            this.totalInstructions = p.getTotalInstructions();
+            this.programCounter = p.getProgramCounter();
+            this.memoryAddressRegister = p.getMemoryAddressRegister();
+            this.creationTime = p.getCreationTime();
+            this.completionTime = p.getCompletionTime();
+            this.requiresIO = p.isRequiresIO();
+            this.deadlineMissed = p.isDeadlineMissed();
+        }
+
+        public String getId() { return id; }
+        public String getName() { return name; }
+        public ProcessState getState() { return state; }
+        public int getPriority() { return priority; }
+        public int getRemainingDeadline() { return remainingDeadline; }
+        public int getExecutedInstructions() { return executedInstructions; }
+        public int getTotalInstructions() { return totalInstructions; }
+        public int getProgramCounter() { return programCounter; }
+        public int getMemoryAddressRegister() { return memoryAddressRegister; }
+        public int getCreationTime() { return creationTime; }
+        public int getCompletionTime() { return completionTime; }
+        public boolean isRequiresIO() { return requiresIO; }
+        public boolean isDeadlineMissed() { return deadlineMissed; }
+    }
+
+    private final int cycle;
+    private final String cpuModeLabel;
+    private final ProcessView currentProcess;     // null si la CPU está ociosa
+    private final ProcessView[] readyQueue;
+    private final ProcessView[] blockedQueue;
+    private final ProcessView[] readySuspendedQueue;
+    private final ProcessView[] blockedSuspendedQueue;
+    private final ProcessView[] terminatedQueue;
+    private final int ramUsage;
+    private final int ramCapacity;
+
+    // Estadísticas
+    private final double successRate;
+    private final double throughput;
+    private final int cpuUtilization;
+    private final double averageWaitingTime;
+    private final int deadlinesMissed;
+    private final int processesCreated;
+    private final int processesCompleted;
+    private final int[] cpuUtilizationHistory;
+    private final int[] successRateHistory;
+
+    // Interrupciones
+    private final int pendingInterrupts;
+    private final int processedInterrupts;
+
+    // Copia del perfil del ciclo (null si la medición está apagada)
+    private final CycleProfiler cycleProfile;
+
+    SystemSnapshot(int cycle, String cpuModeLabel, Process currentProcess,
+                   LinkedList<Process> readyQueue, LinkedList<Process> blockedQueue,
+                   LinkedList<Process> readySuspendedQueue, LinkedList<Process> blockedSuspendedQueue,
+                   LinkedList<Process> terminatedQueue, int ramUsage, int ramCapacity,
+                   StatisticsTracker stats,
+                   int pendingInterrupts, int processedInterrupts,
+                   CycleProfiler cycleProfile) {
+        this.cycle = cycle;
+        this.cpuModeLabel = cpuModeLabel;
+        this.currentProcess = currentProcess != null ? new ProcessView(currentProcess) : null;
+        this.readyQueue = views(readyQueue);
+        this.blockedQueue = views(blockedQueue);
+        this.readySuspendedQueue = views(readySuspendedQueue);
+        this.blockedSuspendedQueue = views(blockedSuspendedQueue);
+        this.terminatedQueue = views(terminatedQueue);
+        this.ramUsage = ramUsage;
+        this.ramCapacity = ramCapacity;
+
+        this.successRate = stats.getSuccessRate();
+        this.throughput = stats.getThroughput();
+        this.cpuUtilization = stats.getCPUUtilization();
+        this.averageWaitingTime = stats.getAverageWaitingTime();
+        this.deadlinesMissed = stats.getTotalDeadlinesMissed();
+        this.processesCreated = stats.getTotalProcessesCreated();
+        this.processesCompleted = stats.getTotalProcessesCompleted();
+        this.cpuUtilizationHistory = values(stats.getCPUUtilizationHistory());
+        this.successRateHistory = values(stats.getSuccessRateHistory());
+
+        this.pendingInterrupts = pendingInterrupts;
+        this.processedInterrupts = processedInterrupts;
+        this.cycleProfile = cycleProfile;
+    }
+
+    private static ProcessView[] views(LinkedList<Process> processes) {
+        ProcessView[] views = new ProcessView[processes.size()];
+        int i = 0;
+        for (Process p : processes) {
+            if (p != null) {
+                views[i++] = new ProcessView(p);
+            }
+        }
+        if (i < views.length) {
+            ProcessView[] trimmed = new ProcessView[i];
+            System.arraycopy(views, 0, trimmed, 0, i);
+            return trimmed;
+        }
+        return views;
+    }
+
+    private static int[] values(LinkedList<Integer> history) {
+        int[] values = new int[history.size()];
+        int i = 0;
+        for (Integer value : history) {
+            values[i++] = value;
+        }
+        return values;
+    }
+
+    // ========== GETTERS (los arreglos se devuelven copiados) ==========
+
+    public int getCycle() { return cycle; }
+    public String getCpuModeLabel() { return cpuModeLabel; }
+    public ProcessView getCurrentProcess() { return currentProcess; }
+    public ProcessView[] getReadyQueue() { return readyQueue.clone(); }
+    public ProcessView[] getBlockedQueue() { return blockedQueue.clone(); }
+    public ProcessView[] getReadySuspendedQueue() { return readySuspendedQueue.clone(); }
+    public ProcessView[] getBlockedSuspendedQueue() { return blockedSuspendedQueue.clone(); }
+    public ProcessView[] getTerminatedQueue() { return terminatedQueue.clone(); }
+    public int getRamUsage() { return ramUsage; }
+    public int getRamCapacity() { return ramCapacity; }
+
+    public double getSuccessRate() { return successRate; }
+    public double getThroughput() { return throughput; }
+    public int getCpuUtilization() { return cpuUtilization; }
+    public double getAverageWaitingTime() { return averageWaitingTime; }
+    public int getDeadlinesMissed() { return deadlinesMissed; }
+    public int getProcessesCreated() { return processesCreated; }
+    public int getProcessesCompleted() { return processesCompleted; }
+    public int[] getCpuUtilizationHistory() { return cpuUtilizationHistory.clone(); }
+    public int[] getSuccessRateHistory() { return successRateHistory.clone(); }
+
+    public int getPendingInterrupts() { return pendingInterrupts; }
+    public int getProcessedInterrupts() { return processedInterrupts; }
+
+    /**
+     * Copia propia del perfil, o null si la medición estaba apagada.
+     */
+    public CycleProfiler getCycleProfile() {
+        return cycleProfile != null ? cycleProfile.copy() : null;
+    }
+}
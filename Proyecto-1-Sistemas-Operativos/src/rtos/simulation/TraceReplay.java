@@ -0,0 +1,167 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.simulation;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+import rtos.interrupt.InterruptType;
+import rtos.model.Process;
+import rtos.model.ProcessType;
+import rtos.scheduler.SchedulerManager;
+import rtos.statistics.MonteCarloResult;
+import rtos.statistics.StatisticsTracker;
+import rtos.trace.TraceReader;
+import rtos.trace.TraceEventType;
+
+/**
+ * Vuelve a correr una simulación a partir de las entradas externas
+ * guardadas en su traza binaria (llegadas de procesos, interrupciones,
+ * cambios de algoritmo y de quantum), en un motor sin interfaz y en los
+ * mismos ciclos. Sirve para repetir una corrida problemática lo más rápido
+ * posible, con otro algoritmo, y comparar:
+ *
+ *   TraceReplay replay = new TraceReplay(dir, "corrida");
+ *   SimulationConfig config = SimulationConfig.headless();
+ *   config.setAlgorithm(SchedulerManager.Algorithm.EDF);
+ *   replay.setApplyAlgorithmChanges(false);
+ *   StatisticsTracker edf = replay.run(config, 0);
+ *
+ * Los procesos se reconstruyen con sus parámetros (tipo, instrucciones,
+ * prioridad, deadline, periodo y E/S) pero con nombre genérico: la traza
+ * no guarda textos, y el PID grabado no sirve de nombre porque se recicla
+ * (y es -1 en las llegadas rechazadas). Se numeran por orden de llegada.
+ */
+public class TraceReplay {
+    private final Path directory;
+    private final String baseName;
+    private boolean applyAlgorithmChanges;
+
+    /**
+     * @param directory Carpeta de la traza grabada
+     * @param baseName Nombre base de sus segmentos
+     */
+    public TraceReplay(Path directory, String baseName) {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.applyAlgorithmChanges = true;
+    }
+
+    /**
+     * Reproduce la traza en un motor nuevo.
+     * @param config Configuración del motor (algoritmo, RAM, quantum...). Se
+     *        fuerzan interrupciones síncronas y se apagan las llegadas y las
+     *        interrupciones aleatorias: solo ocurren las grabadas.
+     * @param cycles Ciclos a correr; 0 o menos = hasta la última entrada grabada
+     * @return Estadísticas al terminar
+     */
+    public StatisticsTracker run(SimulationConfig config, int cycles) throws IOException {
+        SimulationConfig replayConfig = config.copy();
+        replayConfig.setSynchronousInterrupts(true);
+        replayConfig.setInitialProcessPercentage(0);
+        replayConfig.setArrivalRate(0.0);
+        replayConfig.setRandomInterrupts(false);
+        if (directory.equals(replayConfig.getEventTraceDirectory())
+                && baseName.equals(replayConfig.getEventTraceName())) {
+            throw new IllegalArgumentException("La reproducción no puede escribir sobre su propia traza: " + baseName);
+        }
+
+        SimulationEngine engine = new SimulationEngine(replayConfig);
+        try {
+            int lastCycle = scheduleInputs(engine);
+            return engine.runCycles(cycles > 0 ? cycles : lastCycle);
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    /**
+     * Programa en el motor todas las entradas de la traza.
+     * @return Ciclo de la última entrada
+     */
+    private int scheduleInputs(SimulationEngine engine) throws IOException {
+        int lastCycle = 0;
+        int arrivals = 0;
+        try (TraceReader reader = new TraceReader(directory, baseName)) {
+            while (reader.next()) {
+                TraceEventType type = reader.getType();
+                if (type == null || !type.isInput()) {
+                    continue;
+                }
+                int cycle = reader.getCycle();
+                lastCycle = Math.max(lastCycle, cycle);
+                switch (type) {
+                    case ARRIVAL:
+                        engine.scheduleArrivalInput(cycle, rebuildProcess(reader, ++arrivals));
+                        break;
+                    case INTERRUPT_RAISED:
+                        engine.scheduleInterruptInput(cycle, reader.getArg(1) == 1,
+                                InterruptType.values()[reader.getAux()], reader.getArg(0));
+                        break;
+                    case ALGORITHM_CHANGE:
+                        if (applyAlgorithmChanges) {
+                            engine.scheduleAlgorithmInput(cycle,
+                                    SchedulerManager.Algorithm.values()[reader.getAux()]);
+                        }
+                        break;
+                    case QUANTUM_CHANGE:
+                        engine.scheduleQuantumInput(cycle, reader.getArg(0));
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return lastCycle;
+    }
+
+    /**
+     * Arma el proceso de una llegada grabada (ver SimulationEngine.recordArrivalInput).
+     * @param number Número de la llegada en la traza, para el id
+     */
+    private static Process rebuildProcess(TraceReader reader, int number) {
+        Process process = new Process("R" + number, "Reproducido R" + number,
+                ProcessType.values()[reader.getAux()], reader.getArg(0),
+                reader.getArg(1), reader.getArg(2), reader.getArg(3));
+        int io = reader.getArg(4);
+        if (io != -1) {
+            process.setIORequest(io >>> 16, io & 0xFFFF);
+        }
+        return process;
+    }
+
+    /**
+     * Tabla con las métricas de dos corridas lado a lado y su diferencia.
+     */
+    public static String compare(String nameA, StatisticsTracker a, String nameB, StatisticsTracker b) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-28s %12s %12s %12s\n", "Métrica", nameA, nameB, "Diferencia"));
+        for (MonteCarloResult.Metric metric : MonteCarloResult.Metric.values()) {
+            double valueA = metric.valueOf(a);
+            double valueB = metric.valueOf(b);
+            sb.append(String.format("%-28s %12.3f %12.3f %+12.3f\n",
+                    metric.getLabel(), valueA, valueB, valueB - valueA));
+        }
+        return sb.toString();
+    }
+
+    // ========== GETTERS Y SETTERS ==========
+
+    public boolean isApplyAlgorithmChanges() {
+        return applyAlgorithmChanges;
+    }
+
+    /**
+     * false para ignorar los cambios de algoritmo grabados y correr todo con
+     * el de la configuración (para comparar algoritmos sobre la misma carga).
+     */
+    public void setApplyAlgorithmChanges(boolean applyAlgorithmChanges) {
+        this.applyAlgorithmChanges = applyAlgorithmChanges;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.statistics;
+import java.io.IOException;
+import rtos.checkpoint.CheckpointReader;
+import rtos.checkpoint.CheckpointWriter;
+
+/**
+ *
+ * @author VictorB
+ */
+
+/**
+ * Histograma de latencias (en nanosegundos, o en ciclos para el turnaround
+ * de StatisticsTracker) de tamaño fijo: registrar un valor es O(1) y no
+ * crea objetos.
+ *
+ * Los buckets son log-lineales: los valores menores a SUB_BUCKETS * 2 van
+ * exactos y de ahí en adelante cada potencia de 2 se parte en SUB_BUCKETS
+ * tramos iguales, así el error relativo de los percentiles es menor a
+ * 1 / SUB_BUCKETS (12,5%) en todo el rango de long.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;             // 8
+    private static final int LINEAR = SUB_BUCKETS * 2;                 // 0..15 exactos
+    private static final int BUCKETS = LINEAR + (63 - SUB_BITS) * SUB_BUCKETS;
+
+    private final long[] counts;
+    private long count;
+    private long total;
+    private long min;
+    private long max;
+
+    public LatencyHistogram() {
+        this.counts = new long[BUCKETS];
+        reset();
+    }
+
+    /**
+     * Registra una latencia (los valores negativos cuentan como 0).
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        count++;
+        total += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    private static int bucketOf(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);        // >= SUB_BITS + 1
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - SUB_BITS - 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Mayor valor que cae en el bucket.
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + SUB_BITS + 1;
+        long sub = (bucket - LINEAR) % SUB_BUCKETS;
+        long lower = (1L << exponent) + (sub << (exponent - SUB_BITS));
+        return lower + (1L << (exponent - SUB_BITS)) - 1;
+    }
+
+    /**
+     * Percentil (0-100) aproximado: el límite superior de su bucket,
+     * acotado por el máximo registrado.
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.max(0.0, Math.min(100.0, percentile)) / 100.0 * count);
+        rank = Math.max(1, rank);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) {
+                return Math.min(upperBound(b), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Suma los valores de otro histograma a este.
+     */
+    public void add(LatencyHistogram other) {
+        for (int b = 0; b < BUCKETS; b++) {
+            counts[b] += other.counts[b];
+        }
+        count += other.count;
+        total += other.total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    public final void reset() {
+        for (int b = 0; b < BUCKETS; b++) {
+            counts[b] = 0;
+        }
+        count = 0;
+        total = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Suma de todas las latencias registradas (ns).
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : (double) total / count;
+    }
+
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Guarda solo los buckets no vacíos.
+     */
+    public void writeCheckpoint(CheckpointWriter out) throws IOException {
+        int used = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            if (counts[b] != 0) {
+                used++;
+            }
+        }
+        out.writeInt(used);
+        for (int b = 0; b < BUCKETS; b++) {
+            if (counts[b] != 0) {
+                out.writeInt(b);
+                out.writeLong(counts[b]);
+            }
+        }
+        out.writeLong(count);
+        out.writeLong(total);
+        out.writeLong(min);
+        out.writeLong(max);
+    }
+
+    /**
+     * Restaura lo guardado por writeCheckpoint (reemplaza todo lo actual).
+     */
+    public void readCheckpoint(CheckpointReader in) throws IOException {
+        reset();
+        int used = in.readInt();
+        for (int i = 0; i < used; i++) {
+            int bucket = in.readInt();
+            if (bucket < 0 || bucket >= BUCKETS) {
+                throw new IOException("Checkpoint: bucket de histograma inválido " + bucket);
+            }
+            counts[bucket] = in.readLong();
+        }
+        count = in.readLong();
+        total = in.readLong();
+        min = in.readLong();
+        max = in.readLong();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d media=%.0fns p50=%dns p99=%dns máx=%dns",
+                count, getMean(), getPercentile(50), getPercentile(99), max);
+    }
+}
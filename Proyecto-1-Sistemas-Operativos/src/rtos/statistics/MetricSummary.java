@@ -0,0 +1,103 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.statistics;
+
+/**
+ *
+ * @author VictorB
+ */
+
+/**
+ * Resumen de una métrica sobre varias corridas: media, desviación estándar,
+ * mínimo, máximo e intervalo de confianza del 95% para la media.
+ * Acumula con el método de Welford (una pasada, numéricamente estable).
+ */
+public class MetricSummary {
+    // t de Student (dos colas, 95%) para 1..30 grados de libertad
+    private static final double[] T_95 = {
+        12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+        2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+        2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    private static final double Z_95 = 1.960;
+
+    private int count;
+    private double mean;
+    private double m2;      // Suma de cuadrados de las desviaciones
+    private double min;
+    private double max;
+
+    public MetricSummary() {
+        this.count = 0;
+        this.mean = 0.0;
+        this.m2 = 0.0;
+        this.min = Double.POSITIVE_INFINITY;
+        this.max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Agrega el valor de una corrida.
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Desviación estándar muestral (n - 1).
+     */
+    public double getStandardDeviation() {
+        if (count < 2) {
+            return 0.0;
+        }
+        return Math.sqrt(m2 / (count - 1));
+    }
+
+    public double getMin() {
+        return count == 0 ? 0.0 : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? 0.0 : max;
+    }
+
+    /**
+     * Semiancho del intervalo de confianza del 95% para la media.
+     */
+    public double getConfidenceHalfWidth() {
+        if (count < 2) {
+            return 0.0;
+        }
+        int degreesOfFreedom = count - 1;
+        double critical = degreesOfFreedom <= T_95.length ? T_95[degreesOfFreedom - 1] : Z_95;
+        return critical * getStandardDeviation() / Math.sqrt(count);
+    }
+
+    public double getConfidenceLow() {
+        return mean - getConfidenceHalfWidth();
+    }
+
+    public double getConfidenceHigh() {
+        return mean + getConfidenceHalfWidth();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.3f ± %.3f (n=%d, min=%.3f, max=%.3f)",
+                mean, getConfidenceHalfWidth(), count, getMin(), getMax());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.statistics;
+
+/**
+ *
+ * @author VictorB
+ */
+
+/**
+ * Métricas agregadas de varias corridas independientes, agrupadas (por
+ * ejemplo, una fila por algoritmo de planificación).
+ */
+public class MonteCarloResult {
+
+    /**
+     * Métricas que se toman de cada StatisticsTracker al final de la corrida.
+     */
+    public enum Metric {
+        SUCCESS_RATE("success_rate", "Tasa de éxito (%)"),
+        THROUGHPUT("throughput", "Throughput (proc/ciclo)"),
+        CPU_UTILIZATION("cpu_utilization", "Uso de CPU (%)"),
+        DEADLINE_MISS_RATE("deadline_miss_rate", "Deadlines incumplidos (%)"),
+        AVERAGE_WAITING_TIME("avg_waiting", "Espera promedio"),
+        AVERAGE_TURNAROUND_TIME("avg_turnaround", "Turnaround promedio"),
+        TURNAROUND_P50("turnaround_p50", "Turnaround p50"),
+        TURNAROUND_P95("turnaround_p95", "Turnaround p95"),
+        TURNAROUND_P99("turnaround_p99", "Turnaround p99"),
+        DEADLINES_MISSED("deadlines_missed", "Deadlines incumplidos"),
+        PROCESSES_COMPLETED("completed", "Procesos completados");
+
+        private final String key;
+        private final String label;
+
+        Metric(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        /**
+         * Nombre corto para columnas de CSV.
+         */
+        public String getKey() {
+            return key;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public double valueOf(StatisticsTracker stats) {
+            switch (this) {
+                case SUCCESS_RATE:
+                    return stats.calculateSuccessRate();
+                case THROUGHPUT:
+                    return stats.calculateThroughput();
+                case CPU_UTILIZATION:
+                    return stats.calculateCPUUtilization();
+                case DEADLINE_MISS_RATE:
+                    return stats.calculateDeadlineMissRate();
+                case AVERAGE_WAITING_TIME:
+                    return stats.calculateAverageWaitingTime();
+                case AVERAGE_TURNAROUND_TIME:
+                    return stats.calculateAverageTurnaroundTime();
+                case TURNAROUND_P50:
+                    return stats.calculateTurnaroundPercentile(50);
+                case TURNAROUND_P95:
+                    return stats.calculateTurnaroundPercentile(95);
+                case TURNAROUND_P99:
+                    return stats.calculateTurnaroundPercentile(99);
+                case DEADLINES_MISSED:
+                    return stats.getTotalDeadlinesMissed();
+                case PROCESSES_COMPLETED:
+                    return stats.getTotalProcessesCompleted();
+                default:
+                    return 0.0;
+            }
+        }
+    }
+
+    private final String[] groups;
+    private final MetricSummary[][] summaries;   // [grupo][métrica]
+
+    /**
+     * @param groups Nombre de cada grupo (por ejemplo, el algoritmo)
+     */
+    public MonteCarloResult(String[] groups) {
+        this.groups = groups.clone();
+        this.summaries = new MetricSummary[groups.length][Metric.values().length];
+        for (int g = 0; g < groups.length; g++) {
+            for (int m = 0; m < Metric.values().length; m++) {
+                summaries[g][m] = new MetricSummary();
+            }
+        }
+    }
+
+    /**
+     * Agrega las estadísticas finales de una corrida al grupo indicado.
+     */
+    public void addRun(int group, StatisticsTracker stats) {
+        for (Metric metric : Metric.values()) {
+            summaries[group][metric.ordinal()].add(metric.valueOf(stats));
+        }
+    }
+
+    public int getGroupCount() {
+        return groups.length;
+    }
+
+    public String getGroupName(int group) {
+        return groups[group];
+    }
+
+    public MetricSummary getSummary(int group, Metric metric) {
+        return summaries[group][metric.ordinal()];
+    }
+
+    /**
+     * @return El resumen del grupo con ese nombre, o null si no existe
+     */
+    public MetricSummary getSummary(String group, Metric metric) {
+        for (int g = 0; g < groups.length; g++) {
+            if (groups[g].equals(group)) {
+                return getSummary(g, metric);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reporte con media ± IC 95% de cada métrica por grupo.
+     */
+    public String generateReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== MONTE CARLO ===\n");
+        for (int g = 0; g < groups.length; g++) {
+            sb.append(groups[g]).append(" (")
+              .append(summaries[g][0].getCount()).append(" corridas)\n");
+            for (Metric metric : Metric.values()) {
+                MetricSummary summary = summaries[g][metric.ordinal()];
+                sb.append(String.format("  %-24s %10.3f ± %.3f  [%.3f, %.3f]\n",
+                        metric.getLabel(), summary.getMean(), summary.getConfidenceHalfWidth(),
+                        summary.getMin(), summary.getMax()));
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return generateReport();
+    }
+}
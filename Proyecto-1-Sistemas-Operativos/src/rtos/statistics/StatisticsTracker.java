@@ -3,6 +3,10 @@
  * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
  */
 package rtos.statistics;
+import java.io.IOException;
+import java.util.Iterator;
+import rtos.checkpoint.CheckpointReader;
+import rtos.checkpoint.CheckpointWriter;
 import rtos.model.Process;
 import rtos.structures.LinkedList;
 
@@ -36,13 +40,55 @@ public class StatisticsTracker {
     private LinkedList<Integer> throughputHistory;    // Procesos completados acumulados
     private LinkedList<Integer> deadlineMissHistory;  // Deadlines incumplidos acumulados
     
-    // ========== PROCESOS PARA CÁLCULOS ==========
-    private LinkedList<Process> completedProcesses;   // Para cálculos posteriores
+    // ========== TIEMPOS DE LOS COMPLETADOS ==========
+    // Sumas corridas y un histograma en vez de guardar cada proceso:
+    // memoria fija sin importar cuántos procesos terminen
+    private long totalTurnaround;
+    private int turnaroundCount;
+    private long totalResponse;
+    private int responseCount;
+    private LatencyHistogram turnaroundHistogram;     // En ciclos
     
     public StatisticsTracker() {
         reset();
     }
     
+    /**
+     * Constructor de copia (ver copy())
+     */
+    private StatisticsTracker(StatisticsTracker source) {
+        totalProcessesCreated = source.totalProcessesCreated;
+        totalProcessesCompleted = source.totalProcessesCompleted;
+        successfulMissions = source.successfulMissions;
+        totalDeadlinesMissed = source.totalDeadlinesMissed;
+        totalInstructionsExecuted = source.totalInstructionsExecuted;
+        cpuBusyCycles = source.cpuBusyCycles;
+        cpuIdleCycles = source.cpuIdleCycles;
+        totalWaitingTime = source.totalWaitingTime;
+        
+        simulationStartCycle = source.simulationStartCycle;
+        currentCycle = source.currentCycle;
+        
+        cpuUsageHistory = source.cpuUsageHistory.copy();
+        successRateHistory = source.successRateHistory.copy();
+        throughputHistory = source.throughputHistory.copy();
+        deadlineMissHistory = source.deadlineMissHistory.copy();
+        
+        totalTurnaround = source.totalTurnaround;
+        turnaroundCount = source.turnaroundCount;
+        totalResponse = source.totalResponse;
+        responseCount = source.responseCount;
+        turnaroundHistogram = source.turnaroundHistogram.copy();
+    }
+    
+    /**
+     * Copia independiente de las estadísticas actuales (las listas de
+     * histórico y el histograma se copian).
+     */
+    public StatisticsTracker copy() {
+        return new StatisticsTracker(this);
+    }
+    
     /**
      * Reinicia todas las estadísticas.
      */
@@ -64,9 +110,11 @@ public class StatisticsTracker {
         throughputHistory = new LinkedList<>();
         deadlineMissHistory = new LinkedList<>();
         
-        completedProcesses = new LinkedList<>();
-        
-        System.out.println("✅ StatisticsTracker reiniciado");
+        totalTurnaround = 0;
+        turnaroundCount = 0;
+        totalResponse = 0;
+        responseCount = 0;
+        turnaroundHistogram = new LatencyHistogram();
     }
     
     // ========== REGISTRO DE EVENTOS ==========
@@ -90,8 +138,17 @@ public class StatisticsTracker {
             totalDeadlinesMissed++;
         }
         
-        // Guardar para cálculos posteriores
-        completedProcesses.add(process);
+        // Turnaround y respuesta (el proceso ya tiene su tiempo de fin)
+        if (process.getCompletionTime() > 0 && process.getCreationTime() >= 0) {
+            int turnaround = process.getCompletionTime() - process.getCreationTime();
+            totalTurnaround += turnaround;
+            turnaroundCount++;
+            turnaroundHistogram.record(turnaround);
+        }
+        if (process.getStartTime() > 0 && process.getCreationTime() >= 0) {
+            totalResponse += process.getStartTime() - process.getCreationTime();
+            responseCount++;
+        }
         
         // Calcular waiting time si tenemos datos
         if (process.getStartTime() > 0 && process.getCreationTime() >= 0) {
@@ -122,6 +179,59 @@ public class StatisticsTracker {
         cpuIdleCycles++;
     }
     
+    /**
+     * Registra en bloque los ciclos ociosos desde el ciclo actual + 1 hasta
+     * toCycle (inclusive), dejando el mismo histórico que si se hubieran
+     * registrado ciclo a ciclo con setCurrentCycle() + recordIdleCycle().
+     */
+    public void recordIdleCycles(int toCycle) {
+        recordCycles(toCycle, false);
+    }
+    
+    /**
+     * Igual que recordIdleCycles(), pero con la CPU ejecutando una
+     * instrucción por ciclo (setCurrentCycle() + recordInstructionExecution(1)).
+     */
+    public void recordBusyCycles(int toCycle) {
+        recordCycles(toCycle, true);
+    }
+    
+    private void recordCycles(int toCycle, boolean busy) {
+        int fromCycle = currentCycle;
+        if (toCycle <= fromCycle) {
+            return;
+        }
+        if (simulationStartCycle == 0) {
+            simulationStartCycle = fromCycle + 1;
+        }
+        int idleBase = cpuIdleCycles;
+        int busyBase = cpuBusyCycles;
+        
+        // Marcas de histórico (cada 10 ciclos); solo sobreviven las últimas 100.
+        // En cada marca el histórico se toma antes de contar ese ciclo.
+        // (en long: cerca de Integer.MAX_VALUE la marca siguiente desbordaría)
+        long firstMark = (fromCycle / 10 + 1) * 10L;
+        long lastMark = (toCycle / 10) * 10L;
+        firstMark = Math.max(firstMark, lastMark - 99 * 10);
+        for (long mark = firstMark; mark <= lastMark; mark += 10) {
+            currentCycle = (int) mark;
+            if (busy) {
+                cpuBusyCycles = busyBase + (int) (mark - fromCycle - 1);
+            } else {
+                cpuIdleCycles = idleBase + (int) (mark - fromCycle - 1);
+            }
+            recordHistory();
+        }
+        
+        currentCycle = toCycle;
+        if (busy) {
+            cpuBusyCycles = busyBase + (toCycle - fromCycle);
+            totalInstructionsExecuted += toCycle - fromCycle;
+        } else {
+            cpuIdleCycles = idleBase + (toCycle - fromCycle);
+        }
+    }
+    
     /**
      * Actualiza el ciclo actual.
      */
@@ -203,44 +313,34 @@ public class StatisticsTracker {
      * Calcula turnaround time promedio.
      */
     public double calculateAverageTurnaroundTime() {
-        if (completedProcesses.isEmpty()) {
-            return 0.0;
-        }
-        
-        double totalTurnaround = 0;
-        int count = 0;
-        
-        for (int i = 0; i < completedProcesses.size(); i++) {
-            Process p = completedProcesses.get(i);
-            if (p.getCompletionTime() > 0 && p.getCreationTime() >= 0) {
-                totalTurnaround += (p.getCompletionTime() - p.getCreationTime());
-                count++;
-            }
-        }
-        
-        return count > 0 ? totalTurnaround / count : 0.0;
+        return turnaroundCount > 0 ? totalTurnaround / (double) turnaroundCount : 0.0;
     }
     
     /**
      * Calcula tiempo de respuesta promedio (start time - creation time).
      */
     public double calculateAverageResponseTime() {
-        if (completedProcesses.isEmpty()) {
+        return responseCount > 0 ? totalResponse / (double) responseCount : 0.0;
+    }
+    
+    /**
+     * Calcula el % de procesos completados que incumplieron su deadline.
+     */
+    public double calculateDeadlineMissRate() {
+        if (totalProcessesCompleted == 0) {
             return 0.0;
         }
-        
-        double totalResponse = 0;
-        int count = 0;
-        
-        for (int i = 0; i < completedProcesses.size(); i++) {
-            Process p = completedProcesses.get(i);
-            if (p.getStartTime() > 0 && p.getCreationTime() >= 0) {
-                totalResponse += (p.getStartTime() - p.getCreationTime());
-                count++;
-            }
-        }
-        
-        return count > 0 ? totalResponse / count : 0.0;
+        return (totalDeadlinesMissed * 100.0) / totalProcessesCompleted;
+    }
+    
+    /**
+     * Calcula un percentil del turnaround (latencia de creación a fin) por
+     * el método del rango más cercano, sobre el histograma: exacto hasta 15
+     * ciclos y con error relativo menor al 12,5% de ahí en adelante.
+     * @param percentile 0-100 (por ejemplo 50, 95, 99)
+     */
+    public double calculateTurnaroundPercentile(double percentile) {
+        return turnaroundHistogram.getPercentile(percentile);
     }
     
     // ========== GETTERS BÁSICOS ==========
@@ -328,10 +428,14 @@ public class StatisticsTracker {
     
     private LinkedList<Integer> getLastNFromList(LinkedList<Integer> list, int n) {
         LinkedList<Integer> result = new LinkedList<>();
-        int start = Math.max(0, list.size() - n);
+        int skip = Math.max(0, list.size() - n);
         
-        for (int i = start; i < list.size(); i++) {
-            result.add(list.get(i));
+        for (Integer value : list) {
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(value);
         }
         
         return result;
@@ -408,13 +512,17 @@ public class StatisticsTracker {
         
         int startCycle = Math.max(0, simulationStartCycle);
         int historySize = cpuUsageHistory.size();
+        Iterator<Integer> cpuIt = cpuUsageHistory.iterator();
+        Iterator<Integer> successIt = successRateHistory.iterator();
+        Iterator<Integer> throughputIt = throughputHistory.iterator();
+        Iterator<Integer> deadlineMissIt = deadlineMissHistory.iterator();
         
         for (int i = 0; i < historySize; i++) {
             int cycle = startCycle + (i * 10); // Cada 10 ciclos
-            int cpu = i < cpuUsageHistory.size() ? cpuUsageHistory.get(i) : 0;
-            int success = i < successRateHistory.size() ? successRateHistory.get(i) : 0;
-            int throughput = i < throughputHistory.size() ? throughputHistory.get(i) : 0;
-            int deadlineMiss = i < deadlineMissHistory.size() ? deadlineMissHistory.get(i) : 0;
+            int cpu = cpuIt.hasNext() ? cpuIt.next() : 0;
+            int success = successIt.hasNext() ? successIt.next() : 0;
+            int throughput = throughputIt.hasNext() ? throughputIt.next() : 0;
+            int deadlineMiss = deadlineMissIt.hasNext() ? deadlineMissIt.next() : 0;
             
             data.append(String.format("%d,%d,%d,%d,%d\n", 
                 cycle, cpu, success, throughput, deadlineMiss));
@@ -423,13 +531,71 @@ public class StatisticsTracker {
         return data.toString();
     }
     
+    // ========== CHECKPOINT ==========
+    
+    /**
+     * Guarda contadores, históricos y los tiempos de los completados.
+     */
+    public void writeCheckpoint(CheckpointWriter out) throws IOException {
+        out.writeInt(totalProcessesCreated);
+        out.writeInt(totalProcessesCompleted);
+        out.writeInt(successfulMissions);
+        out.writeInt(totalDeadlinesMissed);
+        out.writeInt(totalInstructionsExecuted);
+        out.writeInt(cpuBusyCycles);
+        out.writeInt(cpuIdleCycles);
+        out.writeInt(totalWaitingTime);
+        out.writeInt(simulationStartCycle);
+        out.writeInt(currentCycle);
+        writeHistory(out, cpuUsageHistory);
+        writeHistory(out, successRateHistory);
+        writeHistory(out, throughputHistory);
+        writeHistory(out, deadlineMissHistory);
+        out.writeLong(totalTurnaround);
+        out.writeInt(turnaroundCount);
+        out.writeLong(totalResponse);
+        out.writeInt(responseCount);
+        turnaroundHistogram.writeCheckpoint(out);
+    }
+    
     /**
-     * Limpia procesos completados antiguos para liberar memoria.
+     * Restaura lo guardado por writeCheckpoint (reemplaza todo lo actual).
      */
-    public void cleanupOldData() {
-        // Mantener solo últimos 1000 procesos completados
-        while (completedProcesses.size() > 1000) {
-            completedProcesses.remove(0);
+    public void readCheckpoint(CheckpointReader in) throws IOException {
+        totalProcessesCreated = in.readInt();
+        totalProcessesCompleted = in.readInt();
+        successfulMissions = in.readInt();
+        totalDeadlinesMissed = in.readInt();
+        totalInstructionsExecuted = in.readInt();
+        cpuBusyCycles = in.readInt();
+        cpuIdleCycles = in.readInt();
+        totalWaitingTime = in.readInt();
+        simulationStartCycle = in.readInt();
+        currentCycle = in.readInt();
+        cpuUsageHistory = readHistory(in);
+        successRateHistory = readHistory(in);
+        throughputHistory = readHistory(in);
+        deadlineMissHistory = readHistory(in);
+        totalTurnaround = in.readLong();
+        turnaroundCount = in.readInt();
+        totalResponse = in.readLong();
+        responseCount = in.readInt();
+        turnaroundHistogram.readCheckpoint(in);
+    }
+    
+    private static void writeHistory(CheckpointWriter out, LinkedList<Integer> history) throws IOException {
+        out.writeInt(history.size());
+        for (Integer value : history) {
+            out.writeInt(value);
+        }
+    }
+    
+    private static LinkedList<Integer> readHistory(CheckpointReader in) throws IOException {
+        LinkedList<Integer> history = new LinkedList<>();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            history.add(in.readInt());
         }
+        return history;
     }
 }
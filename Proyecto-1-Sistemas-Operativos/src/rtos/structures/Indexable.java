@@ -0,0 +1,25 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package rtos.structures;
+
+/**
+ *
+ * @author VictorB
+ */
+
+/**
+ * Elemento que guarda su propia posición dentro de un IndexedPriorityQueue.
+ * Permite localizarlo en O(1) para actualizar o remover sin recorrer la cola.
+ * Cada cola usa un "slot" distinto (como Linkable), así un mismo elemento
+ * puede estar a la vez en varios montículos, uno por slot.
+ */
+public interface Indexable {
+    /**
+     * @return Posición actual en el montículo de ese slot, o -1 si no está en ninguno
+     */
+    int getHeapIndex(int slot);
+    
+    void setHeapIndex(int slot, int index);
+}
@@ -0,0 +1,104 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.structures;
+import rtos.utils.Comparator;  // ← NUESTRO Comparator, NO java.util.Comparator
+/**
+ *
+ * @author VictorB
+ */
+
+
+/**
+ * Cola de prioridad indexada (min-heap) para los montículos de MemoryManager
+ * y las colas de listos de EDF y SRT. Es el mismo montículo que
+ * PriorityQueue, pero cada elemento guarda su posición (Indexable), por lo
+ * que contains(e) cuesta O(1) y update(e) y remove(e) O(log n) en lugar de
+ * extraer y reinsertar todo.
+ * A igual prioridad se respeta el orden de llegada (FIFO).
+ * @param <T> Tipo de dato almacenado
+ */
+public class IndexedPriorityQueue<T extends Indexable> extends PriorityQueue<T> {
+    private final int slot;
+
+    /**
+     * Constructor (slot de índice 0)
+     * @param comparator Comparador personalizado para ordenar elementos
+     */
+    public IndexedPriorityQueue(Comparator<T> comparator) {
+        this(0, comparator);
+    }
+
+    /**
+     * @param slot Slot de índice del elemento que usa esta cola
+     * @param comparator Comparador personalizado para ordenar elementos
+     */
+    public IndexedPriorityQueue(int slot, Comparator<T> comparator) {
+        super(comparator);
+        this.slot = slot;
+    }
+
+    /**
+     * Insertar elemento. Si ya estaba en la cola solo se reubica.
+     * @param data Elemento a insertar
+     */
+    @Override
+    public void insert(T data) {
+        if (contains(data)) {
+            update(data);
+            return;
+        }
+        super.insert(data);
+    }
+
+    /**
+     * Reubica un elemento cuya clave cambió (decrease-key / increase-key).
+     * @param data Elemento ya contenido en la cola
+     * @return true si estaba en la cola
+     */
+    public boolean update(T data) {
+        if (!contains(data)) {
+            return false;
+        }
+        reposition(data.getHeapIndex(slot));
+        return true;
+    }
+
+    /**
+     * Remueve un elemento arbitrario en O(log n).
+     * @param data Elemento a remover
+     * @return true si se removió, false si no estaba
+     */
+    public boolean remove(T data) {
+        if (!contains(data)) {
+            return false;
+        }
+        removeAt(data.getHeapIndex(slot));
+        return true;
+    }
+
+    /**
+     * Verificar si contiene un elemento (O(1) gracias a su índice)
+     * @param data Elemento a buscar
+     * @return true si contiene el elemento
+     */
+    @Override
+    public boolean contains(T data) {
+        if (data == null) {
+            return false;
+        }
+        int index = data.getHeapIndex(slot);
+        return index >= 0 && index < size() && elementAt(index) == data;
+    }
+
+    @Override
+    protected void placed(T element, int index) {
+        element.setHeapIndex(slot, index);
+    }
+
+    @Override
+    protected void released(T element) {
+        element.setHeapIndex(slot, -1);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ *
+ * @author VictorB
+ */
+
+/**
+ * Lista doblemente enlazada intrusiva: los enlaces viven en el propio
+ * elemento (ver Linkable), no en nodos aparte.
+ * add/remove/contains en O(1) y sin crear objetos.
+ * Un elemento solo puede estar en una lista por slot a la vez.
+ * @param <T> Tipo de dato almacenado
+ */
+public class IntrusiveList<T extends Linkable<T>> implements Iterable<T> {
+    private final int slot;
+    private T head;
+    private T tail;
+    private int size;
+    
+    /**
+     * @param slot Slot de enlaces del elemento que usa esta lista
+     */
+    public IntrusiveList(int slot) {
+        this.slot = slot;
+        this.head = null;
+        this.tail = null;
+        this.size = 0;
+    }
+    
+    /**
+     * Agrega un elemento al final de la lista
+     * @return false si el elemento ya estaba en una lista de este slot
+     */
+    public boolean add(T data) {
+        if (data.getListOwner(slot) != null) {
+            return false;
+        }
+        data.setListOwner(slot, this);
+        data.setPrevLink(slot, tail);
+        data.setNextLink(slot, null);
+        if (tail == null) {
+            head = data;
+        } else {
+            tail.setNextLink(slot, data);
+        }
+        tail = data;
+        size++;
+        return true;
+    }
+    
+    /**
+     * Desenlaza el elemento en O(1)
+     * @return true si el elemento estaba en esta lista
+     */
+    public boolean remove(T data) {
+        if (data == null || data.getListOwner(slot) != this) {
+            return false;
+        }
+        T prev = data.getPrevLink(slot);
+        T next = data.getNextLink(slot);
+        if (prev == null) {
+            head = next;
+        } else {
+            prev.setNextLink(slot, next);
+        }
+        if (next == null) {
+            tail = prev;
+        } else {
+            next.setPrevLink(slot, prev);
+        }
+        data.setPrevLink(slot, null);
+        data.setNextLink(slot, null);
+        data.setListOwner(slot, null);
+        size--;
+        return true;
+    }
+    
+    /**
+     * Verifica en O(1) si el elemento está en esta lista
+     */
+    public boolean contains(T data) {
+        return data != null && data.getListOwner(slot) == this;
+    }
+    
+    public T getFirst() {
+        return head;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Vacía la lista liberando los enlaces de cada elemento
+     */
+    public void clear() {
+        T current = head;
+        while (current != null) {
+            T next = current.getNextLink(slot);
+            current.setPrevLink(slot, null);
+            current.setNextLink(slot, null);
+            current.setListOwner(slot, null);
+            current = next;
+        }
+        head = null;
+        tail = null;
+        size = 0;
+    }
+    
+    /**
+     * Copia de la lista en orden, en O(n)
+     */
+    public LinkedList<T> toLinkedList() {
+        LinkedList<T> copy = new LinkedList<>();
+        T current = head;
+        while (current != null) {
+            copy.add(current);
+            current = current.getNextLink(slot);
+        }
+        return copy;
+    }
+    
+    /**
+     * Iterador en orden; remove() desenlaza el último elemento devuelto en O(1)
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private T nextElement = head;
+            private T lastReturned = null;
+            
+            @Override
+            public boolean hasNext() {
+                return nextElement != null;
+            }
+            
+            @Override
+            public T next() {
+                if (nextElement == null) {
+                    throw new NoSuchElementException();
+                }
+                lastReturned = nextElement;
+                nextElement = nextElement.getNextLink(slot);
+                return lastReturned;
+            }
+            
+            @Override
+            public void remove() {
+                if (lastReturned == null) {
+                    throw new IllegalStateException();
+                }
+                IntrusiveList.this.remove(lastReturned);
+                lastReturned = null;
+            }
+        };
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IntrusiveList[");
+        T current = head;
+        while (current != null) {
+            sb.append(current);
+            current = current.getNextLink(slot);
+            if (current != null) sb.append(", ");
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
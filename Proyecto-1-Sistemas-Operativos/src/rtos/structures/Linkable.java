@@ -0,0 +1,33 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package rtos.structures;
+
+/**
+ *
+ * @author VictorB
+ */
+
+/**
+ * Elemento que guarda sus propios enlaces para un IntrusiveList.
+ * Cada lista usa un "slot" distinto, así un mismo elemento puede estar
+ * a la vez en varias listas (una por slot) sin crear nodos.
+ * @param <T> Tipo del elemento (normalmente la propia clase que implementa)
+ */
+public interface Linkable<T extends Linkable<T>> {
+    /**
+     * @return Lista que contiene al elemento en ese slot, o null si no está en ninguna
+     */
+    IntrusiveList<T> getListOwner(int slot);
+    
+    void setListOwner(int slot, IntrusiveList<T> owner);
+    
+    T getPrevLink(int slot);
+    
+    void setPrevLink(int slot, T prev);
+    
+    T getNextLink(int slot);
+    
+    void setNextLink(int slot, T next);
+}
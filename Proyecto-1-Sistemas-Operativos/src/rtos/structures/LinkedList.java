@@ -4,11 +4,16 @@
  */
 package rtos.structures;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
 /**
  *
  * @author VictorB
  */
-public class LinkedList<T> {
+public class LinkedList<T> implements Iterable<T> {
     private Node<T> head;
     private Node<T> tail;
     private int size;
@@ -190,6 +195,69 @@ public class LinkedList<T> {
         return -1;
     }
     
+    /**
+     * Iterador que recorre la lista una sola vez (O(n) en total).
+     * Soporta remove() del último elemento devuelto en O(1).
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new LinkedListIterator();
+    }
+    
+    /**
+     * Aplica una acción a cada elemento en orden, recorriendo los nodos directamente
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        Node<T> current = head;
+        while (current != null) {
+            action.accept(current.getData());
+            current = current.getNext();
+        }
+    }
+    
+    /**
+     * Remueve en una sola pasada todos los elementos que cumplan la condición
+     * @return Cantidad de elementos removidos
+     */
+    public int removeIf(Predicate<? super T> filter) {
+        int removed = 0;
+        Node<T> previous = null;
+        Node<T> current = head;
+        while (current != null) {
+            Node<T> next = current.getNext();
+            if (filter.test(current.getData())) {
+                if (previous == null) {
+                    head = next;
+                } else {
+                    previous.setNext(next);
+                }
+                if (current == tail) {
+                    tail = previous;
+                }
+                size--;
+                removed++;
+            } else {
+                previous = current;
+            }
+            current = next;
+        }
+        return removed;
+    }
+    
+    /**
+     * Copia superficial de la lista en O(n)
+     */
+    public LinkedList<T> copy() {
+        LinkedList<T> copy = new LinkedList<>();
+        Node<T> current = head;
+        while (current != null) {
+            copy.add(current.getData());
+            current = current.getNext();
+        }
+        return copy;
+    }
+    
     public int size() {
         return size;
     }
@@ -231,6 +299,53 @@ public class LinkedList<T> {
         return current;
     }
     
+    private class LinkedListIterator implements Iterator<T> {
+        private Node<T> previous;       // Nodo anterior a lastReturned
+        private Node<T> lastReturned;
+        private Node<T> nextNode;
+        
+        LinkedListIterator() {
+            this.previous = null;
+            this.lastReturned = null;
+            this.nextNode = head;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return nextNode != null;
+        }
+        
+        @Override
+        public T next() {
+            if (nextNode == null) {
+                throw new NoSuchElementException();
+            }
+            if (lastReturned != null) {
+                previous = lastReturned;
+            }
+            lastReturned = nextNode;
+            nextNode = nextNode.getNext();
+            return lastReturned.getData();
+        }
+        
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (previous == null) {
+                head = nextNode;
+            } else {
+                previous.setNext(nextNode);
+            }
+            if (lastReturned == tail) {
+                tail = previous;
+            }
+            lastReturned = null;
+            size--;
+        }
+    }
+    
     @Override
     public String toString() {
         if (isEmpty()) return "LinkedList[]";
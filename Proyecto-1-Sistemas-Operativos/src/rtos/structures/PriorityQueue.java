@@ -3,6 +3,9 @@
  * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
  */
 package rtos.structures;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 import rtos.utils.Comparator;  // ← NUESTRO Comparator, NO java.util.Comparator
 /**
  *
@@ -13,118 +16,375 @@ import rtos.utils.Comparator;  // ← NUESTRO Comparator, NO java.util.Comparato
 /**
  * Cola de prioridad personalizada para algoritmos EDF y Prioridad
  * Implementación propia - NO usar java.util.PriorityQueue
+ *
+ * Montículo binario (min-heap) sobre un arreglo:
+ * insert/extractMin en O(log n), peekMin en O(1).
+ * A igual prioridad se respeta el orden de llegada (FIFO), de modo que
+ * los desempates de EDF/SRT son deterministas.
+ *
+ * IndexedPriorityQueue extiende esta misma implementación: recibe cada
+ * cambio de posición (placed/released) para que el elemento sepa dónde está.
  * @param <T> Tipo de dato almacenado
  */
 public class PriorityQueue<T> {
-    private LinkedList<T> list;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] heap;          // heap[0] es el elemento de mayor prioridad
+    private long[] order;           // Número de llegada de cada elemento (desempate FIFO)
+    private int size;
+    private long nextOrder;
     private Comparator<T> comparator;
-    
+
     /**
      * Constructor
      * @param comparator Comparador personalizado para ordenar elementos
      */
     public PriorityQueue(Comparator<T> comparator) {
-        this.list = new LinkedList<>();
+        this.heap = new Object[DEFAULT_CAPACITY];
+        this.order = new long[DEFAULT_CAPACITY];
+        this.size = 0;
+        this.nextOrder = 0;
         this.comparator = comparator;
     }
-    
+
     /**
      * Insertar elemento manteniendo el orden
      * @param data Elemento a insertar
      */
     public void insert(T data) {
-        if (list.isEmpty()) {
-            list.add(data);
-            return;
-        }
-        
-        // Encontrar posición correcta (orden ascendente según comparator)
-        int index = 0;
-        while (index < list.size() && comparator.compare(data, list.get(index)) > 0) {
-            index++;
+        if (size == heap.length) {
+            grow();
         }
-        
-        // Insertar en posición encontrada
-        list.insert(index, data);
+        heap[size] = data;
+        order[size] = nextOrder++;
+        placed(data, size);
+        size++;
+        siftUp(size - 1);
     }
-    
+
     /**
      * Obtener y remover el elemento con mayor prioridad (menor según comparator)
      * @return Elemento con mayor prioridad, o null si está vacía
      */
     public T extractMin() {
-        if (list.isEmpty()) {
+        if (size == 0) {
             return null;
         }
-        return list.remove(0);
+        return removeAt(0);
     }
-    
+
     /**
      * Ver elemento con mayor prioridad sin removerlo
      * @return Elemento con mayor prioridad, o null si está vacía
      */
     public T peekMin() {
-        if (list.isEmpty()) {
+        if (size == 0) {
             return null;
         }
-        return list.get(0);
+        return elementAt(0);
     }
-    
+
     /**
      * Verificar si la cola está vacía
      * @return true si está vacía
      */
     public boolean isEmpty() {
-        return list.isEmpty();
+        return size == 0;
     }
-    
+
     /**
      * Obtener tamaño de la cola
      * @return Cantidad de elementos
      */
     public int size() {
-        return list.size();
+        return size;
     }
-    
+
     /**
      * Vaciar la cola
      */
     public void clear() {
-        list.clear();
+        for (int i = 0; i < size; i++) {
+            released(elementAt(i));
+            heap[i] = null;
+        }
+        size = 0;
     }
-    
+
     /**
-     * Verificar si contiene un elemento
+     * Verificar si contiene un elemento (O(n))
      * @param data Elemento a buscar
      * @return true si contiene el elemento
      */
     public boolean contains(T data) {
-        return list.contains(data);
+        for (int i = 0; i < size; i++) {
+            if (heap[i].equals(data)) {
+                return true;
+            }
+        }
+        return false;
     }
-    
+
     /**
      * Obtener elemento por índice (para debugging)
+     * El índice corresponde a la posición interna del montículo, no al orden de salida.
      * @param index Índice del elemento
      * @return Elemento en esa posición
      */
     public T get(int index) {
-        return list.get(index);
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice: " + index + ", Tamaño: " + size);
+        }
+        return elementAt(index);
+    }
+
+    /**
+     * Copia en orden de salida sin modificar el montículo, en O(n log n).
+     * @return Lista con los elementos en el orden en que saldrían
+     */
+    public LinkedList<T> toSortedLinkedList() {
+        LinkedList<T> sorted = new LinkedList<>();
+        for (T item : inOrder()) {
+            sorted.add(item);
+        }
+        return sorted;
+    }
+
+    /**
+     * Recorrido en orden de salida sin modificar el montículo ni copiar los
+     * elementos: usa un montículo auxiliar de posiciones (un int por
+     * elemento). El montículo no debe cambiar mientras se recorre.
+     */
+    public Iterable<T> inOrder() {
+        return SortedIterator::new;
+    }
+
+    /**
+     * Primer elemento, en orden de salida, que cumple la condición, sin
+     * sacar ni mover nada. Recorre el montículo igual que inOrder pero se
+     * detiene en el primero que sirve: si es el k-ésimo en salir cuesta
+     * O(k log k), no O(n).
+     * @return El elemento, o null si ninguno cumple
+     */
+    public T findFirst(Predicate<? super T> condition) {
+        SortedIterator it = new SortedIterator(Math.min(size, DEFAULT_CAPACITY));
+        while (it.hasNext()) {
+            T item = it.next();
+            if (condition.test(item)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    // ========== PARA LA COLA INDEXADA ==========
+
+    /**
+     * Avisa que el elemento quedó en la posición index del montículo.
+     * La cola simple no lo necesita.
+     */
+    protected void placed(T element, int index) {
+    }
+
+    /**
+     * Avisa que el elemento salió del montículo.
+     */
+    protected void released(T element) {
+    }
+
+    /**
+     * Saca el elemento en la posición index en O(log n).
+     */
+    protected final T removeAt(int index) {
+        T removed = elementAt(index);
+        size--;
+        if (index != size) {
+            heap[index] = heap[size];
+            order[index] = order[size];
+            placed(elementAt(index), index);
+            heap[size] = null;
+            siftDown(siftUp(index));
+        } else {
+            heap[size] = null;
+        }
+        released(removed);
+        return removed;
+    }
+
+    /**
+     * Reubica el elemento en la posición index tras un cambio de su clave.
+     */
+    protected final void reposition(int index) {
+        siftDown(siftUp(index));
     }
-    
+
+    // ========== OPERACIONES INTERNAS DEL MONTÍCULO ==========
+
+    @SuppressWarnings("unchecked")
+    protected final T elementAt(int index) {
+        return (T) heap[index];
+    }
+
+    /**
+     * true si el elemento en i debe salir antes que el elemento en j
+     */
+    private boolean before(int i, int j) {
+        int cmp = comparator.compare(elementAt(i), elementAt(j));
+        if (cmp != 0) {
+            return cmp < 0;
+        }
+        return order[i] < order[j];
+    }
+
+    /**
+     * @return Posición final del elemento
+     */
+    private int siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+        return index;
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                break;
+            }
+            int right = left + 1;
+            int smallest = (right < size && before(right, left)) ? right : left;
+            if (!before(smallest, index)) {
+                break;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Object tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+        long tmpOrder = order[i];
+        order[i] = order[j];
+        order[j] = tmpOrder;
+        placed(elementAt(i), i);
+        placed(elementAt(j), j);
+    }
+
+    private void grow() {
+        int newCapacity = heap.length * 2;
+        Object[] newHeap = new Object[newCapacity];
+        long[] newOrder = new long[newCapacity];
+        System.arraycopy(heap, 0, newHeap, 0, size);
+        System.arraycopy(order, 0, newOrder, 0, size);
+        heap = newHeap;
+        order = newOrder;
+    }
+
+    /**
+     * Recorre el montículo en orden de salida con un montículo auxiliar de
+     * posiciones (ordenadas con before()): los elementos no se mueven.
+     */
+    private final class SortedIterator implements Iterator<T> {
+        private int[] frontier;
+        private int count;
+
+        SortedIterator() {
+            this(size);
+        }
+
+        SortedIterator(int capacity) {
+            frontier = new int[Math.max(1, capacity)];
+            if (size > 0) {
+                frontier[count++] = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return count > 0;
+        }
+
+        @Override
+        public T next() {
+            if (count == 0) {
+                throw new NoSuchElementException();
+            }
+            int top = frontier[0];
+            frontier[0] = frontier[--count];
+            siftDownFrontier();
+            if (count + 2 > frontier.length) {
+                int[] grown = new int[frontier.length * 2];
+                System.arraycopy(frontier, 0, grown, 0, count);
+                frontier = grown;
+            }
+            int left = 2 * top + 1;
+            if (left < size) {
+                frontier[count++] = left;
+                siftUpFrontier(count - 1);
+            }
+            if (left + 1 < size) {
+                frontier[count++] = left + 1;
+                siftUpFrontier(count - 1);
+            }
+            return elementAt(top);
+        }
+
+        private void siftUpFrontier(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!before(frontier[index], frontier[parent])) {
+                    break;
+                }
+                int tmp = frontier[index];
+                frontier[index] = frontier[parent];
+                frontier[parent] = tmp;
+                index = parent;
+            }
+        }
+
+        private void siftDownFrontier() {
+            int index = 0;
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= count) {
+                    break;
+                }
+                int right = left + 1;
+                int smallest = (right < count && before(frontier[right], frontier[left])) ? right : left;
+                if (!before(frontier[smallest], frontier[index])) {
+                    break;
+                }
+                int tmp = frontier[index];
+                frontier[index] = frontier[smallest];
+                frontier[smallest] = tmp;
+                index = smallest;
+            }
+        }
+    }
+
     @Override
     public String toString() {
-        if (list.isEmpty()) {
-            return "PriorityQueue[]";
-        }
-        
-        StringBuilder sb = new StringBuilder("PriorityQueue[");
-        for (int i = 0; i < list.size(); i++) {
-            sb.append(list.get(i));
-            if (i < list.size() - 1) {
+        String name = getClass().getSimpleName();
+        if (size == 0) {
+            return name + "[]";
+        }
+
+        StringBuilder sb = new StringBuilder(name).append("[");
+        for (int i = 0; i < size; i++) {
+            sb.append(heap[i]);
+            if (i < size - 1) {
                 sb.append(", ");
             }
         }
         sb.append("]");
         return sb.toString();
     }
-}
\ No newline at end of file
+}
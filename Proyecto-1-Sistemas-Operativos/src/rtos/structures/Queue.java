@@ -8,53 +8,117 @@ package rtos.structures;
  *
  * @author VictorB
  */
+
+/**
+ * Cola FIFO sobre un buffer circular que crece al llenarse.
+ * enqueue/dequeue en O(1) amortizado, sin crear un nodo por elemento.
+ */
 public class Queue<T> {
-    private LinkedList<T> list;
-    
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] buffer;
+    private int head;   // Posición del primer elemento
+    private int size;
+
     public Queue() {
-        list = new LinkedList<>();
+        buffer = new Object[DEFAULT_CAPACITY];
+        head = 0;
+        size = 0;
     }
-    
+
     public void enqueue(T data) {
-        list.add(data);
+        if (size == buffer.length) {
+            grow();
+        }
+        buffer[(head + size) & (buffer.length - 1)] = data;
+        size++;
     }
-    
+
     public T dequeue() {
         if (isEmpty()) return null;
-        return list.remove(0);
+        T data = elementAt(head);
+        buffer[head] = null;
+        head = (head + 1) & (buffer.length - 1);
+        size--;
+        return data;
     }
-    
+
     public T peek() {
         if (isEmpty()) return null;
-        return list.get(0);
+        return elementAt(head);
+    }
+
+    /**
+     * Obtiene el elemento en la posición index (0 = frente) en O(1)
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice: " + index + ", Tamaño: " + size);
+        }
+        return elementAt((head + index) & (buffer.length - 1));
     }
-    
+
     public boolean isEmpty() {
-        return list.isEmpty();
+        return size == 0;
     }
-    
+
     public int size() {
-        return list.size();
+        return size;
     }
-    
+
     public void clear() {
-        list.clear();
+        for (int i = 0; i < size; i++) {
+            buffer[(head + i) & (buffer.length - 1)] = null;
+        }
+        head = 0;
+        size = 0;
     }
-    
+
     public boolean contains(T data) {
-        return list.contains(data);
+        for (int i = 0; i < size; i++) {
+            if (elementAt((head + i) & (buffer.length - 1)).equals(data)) {
+                return true;
+            }
+        }
+        return false;
     }
-    
+
+    /**
+     * Copia de la cola en orden FIFO, en O(n)
+     */
     public LinkedList<T> toLinkedList() {
         LinkedList<T> copy = new LinkedList<>();
-        for (int i = 0; i < list.size(); i++) {
-            copy.add(list.get(i));
+        for (int i = 0; i < size; i++) {
+            copy.add(elementAt((head + i) & (buffer.length - 1)));
         }
         return copy;
     }
-    
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int slot) {
+        return (T) buffer[slot];
+    }
+
+    /**
+     * Duplica la capacidad (siempre potencia de 2) desenrollando el buffer
+     */
+    private void grow() {
+        Object[] newBuffer = new Object[buffer.length * 2];
+        int firstPart = buffer.length - head;
+        System.arraycopy(buffer, head, newBuffer, 0, firstPart);
+        System.arraycopy(buffer, 0, newBuffer, firstPart, head);
+        buffer = newBuffer;
+        head = 0;
+    }
+
     @Override
     public String toString() {
-        return "Queue" + list.toString().replace("LinkedList", "");
+        StringBuilder sb = new StringBuilder("Queue[");
+        for (int i = 0; i < size; i++) {
+            sb.append(elementAt((head + i) & (buffer.length - 1)));
+            if (i < size - 1) sb.append(", ");
+        }
+        sb.append("]");
+        return sb.toString();
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Enum.java to edit this template
+ */
+package rtos.trace;
+
+/**
+ *
+ * @author VictorB
+ */
+
+/**
+ * Tipos de registro de la traza binaria. El código se guarda en un byte;
+ * el 0 queda libre para marcar el final de un segmento sin cerrar.
+ */
+public enum TraceEventType {
+    DISPATCH(1),       // Proceso pasa a la CPU (arg0 = PC, arg1 = tamaño de la cola de listos)
+    PREEMPT(2),        // Sale de la CPU sin terminar (aux = 1 si fue por interrupción crítica)
+    BLOCK(3),          // Inicia E/S (arg0 = duración, arg1 = ciclo en que termina)
+    UNBLOCK(4),        // Termina su E/S (aux = 1 si sigue suspendido, arg0 = ciclos bloqueado)
+    SUSPEND(5),        // Sale de RAM (aux = nuevo ProcessState)
+    ACTIVATE(6),       // Vuelve a RAM (aux = nuevo ProcessState)
+    COMPLETE(7),       // Terminó (aux = 1 si perdió el deadline, arg0 = turnaround)
+    DEADLINE_MISS(8),  // Venció su deadline (arg0 = ciclo del deadline)
+    INTERRUPT(9),      // Interrupción atendida (aux = InterruptType, arg0 = prioridad)
+
+    // Entradas externas de la corrida (las que se reproducen con TraceReplay)
+    ARRIVAL(10),           // Llega un proceso (aux = ProcessType; ver TraceReplay)
+    INTERRUPT_RAISED(11),  // Se genera una interrupción externa (aux = InterruptType,
+                           // arg0 = prioridad, arg1 = 1 si llegó como comando al inicio del ciclo)
+    ALGORITHM_CHANGE(12),  // Cambio de algoritmo (aux = SchedulerManager.Algorithm)
+    QUANTUM_CHANGE(13);    // Cambio del quantum de RR (arg0 = quantum)
+
+    private static final TraceEventType[] BY_CODE = new TraceEventType[16];
+    static {
+        for (TraceEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    TraceEventType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * @return true si es una entrada externa y no una consecuencia de la planificación
+     */
+    public boolean isInput() {
+        return code >= ARRIVAL.code;
+    }
+
+    /**
+     * @return El tipo con ese código, o null si no existe
+     */
+    public static TraceEventType fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.trace;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Recorre una traza binaria escrita por TraceWriter, segmento por segmento,
+ * mapeando cada archivo en memoria. Funciona como cursor: next() avanza y
+ * los getters leen el registro actual, sin crear objetos por registro.
+ *
+ *   try (TraceReader reader = new TraceReader(dir, "corrida")) {
+ *       while (reader.next()) {
+ *           if (reader.getType() == TraceEventType.DEADLINE_MISS) ...
+ *       }
+ *   }
+ */
+public class TraceReader implements AutoCloseable {
+    private final Path directory;
+    private final String baseName;
+    private int segmentIndex;
+    private MappedByteBuffer buffer;
+    private int segmentRecords;
+    private int recordIndex;
+    private int position;
+    private long recordsRead;
+
+    public TraceReader(Path directory, String baseName) throws IOException {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.segmentIndex = -1;
+        this.recordsRead = 0;
+        if (!openNextSegment()) {
+            throw new IOException("No existe la traza " + TraceWriter.segmentPath(directory, baseName, 0));
+        }
+    }
+
+    /**
+     * Avanza al siguiente registro.
+     * @return false al terminar el último segmento
+     */
+    public boolean next() throws IOException {
+        while (recordIndex >= segmentRecords) {
+            if (!openNextSegment()) {
+                return false;
+            }
+        }
+        position = TraceWriter.HEADER_SIZE + recordIndex * TraceWriter.RECORD_SIZE;
+        recordIndex++;
+        recordsRead++;
+        return true;
+    }
+
+    private boolean openNextSegment() throws IOException {
+        Path path = TraceWriter.segmentPath(directory, baseName, segmentIndex + 1);
+        if (!Files.exists(path)) {
+            return false;
+        }
+        segmentIndex++;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // El mapeo sigue válido después de cerrar el canal
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < TraceWriter.HEADER_SIZE
+                || buffer.getInt(TraceWriter.HEADER_MAGIC) != TraceWriter.MAGIC) {
+            throw new IOException("No es un segmento de traza: " + path);
+        }
+        if (buffer.getShort(TraceWriter.HEADER_RECORD_SIZE) != TraceWriter.RECORD_SIZE) {
+            throw new IOException("Tamaño de registro no soportado en " + path);
+        }
+        segmentRecords = buffer.getInt(TraceWriter.HEADER_COUNT);
+        int capacity = (buffer.capacity() - TraceWriter.HEADER_SIZE) / TraceWriter.RECORD_SIZE;
+        if (segmentRecords <= 0 || segmentRecords > capacity) {
+            // Segmento sin cerrar: contar hasta el primer registro vacío
+            segmentRecords = 0;
+            while (segmentRecords < capacity && buffer.get(TraceWriter.HEADER_SIZE
+                    + segmentRecords * TraceWriter.RECORD_SIZE + 4) != 0) {
+                segmentRecords++;
+            }
+        }
+        recordIndex = 0;
+        return true;
+    }
+
+    // ========== REGISTRO ACTUAL ==========
+
+    public int getCycle() {
+        return buffer.getInt(position);
+    }
+
+    public TraceEventType getType() {
+        return TraceEventType.fromCode(buffer.get(position + 4));
+    }
+
+    public int getAux() {
+        return buffer.getShort(position + 6);
+    }
+
+    public int getPid() {
+        return buffer.getInt(position + 8);
+    }
+
+    /**
+     * @param index 0..4
+     */
+    public int getArg(int index) {
+        return buffer.getInt(position + 12 + index * 4);
+    }
+
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    public int getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d %s pid=%d aux=%d [%d, %d, %d, %d, %d]",
+                getCycle(), getType(), getPid(), getAux(),
+                getArg(0), getArg(1), getArg(2), getArg(3), getArg(4));
+    }
+
+    @Override
+    public void close() {
+        buffer = null;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.trace;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escribe la traza binaria de eventos del motor en archivos mapeados en
+ * memoria (FileChannel.map). Cada registro ocupa RECORD_SIZE bytes:
+ *
+ *   0  int   ciclo
+ *   4  byte  tipo (TraceEventType)
+ *   5  byte  reservado
+ *   6  short aux
+ *   8  int   pid (PID del proceso, ver Process.getPid; -1 si no hay proceso)
+ *   12 int   arg0 .. arg4
+ *
+ * La traza se parte en segmentos base-00000.rtt, base-00001.rtt... de
+ * tamaño fijo: cuando uno se llena se cierra y se mapea el siguiente. Cada
+ * segmento empieza con un encabezado de HEADER_SIZE bytes con la cantidad
+ * de registros, que se escribe al pasar al siguiente y al cerrar.
+ *
+ * No es thread-safe: lo usa solo el thread dueño del motor.
+ */
+public class TraceWriter implements AutoCloseable {
+    public static final int MAGIC = 0x52545452;           // "RTTR"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 32;
+    public static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+    public static final String EXTENSION = ".rtt";
+
+    // Posiciones dentro del encabezado
+    static final int HEADER_MAGIC = 0;
+    static final int HEADER_VERSION = 4;
+    static final int HEADER_RECORD_SIZE = 6;
+    static final int HEADER_SEGMENT = 8;
+    static final int HEADER_COUNT = 12;
+    static final int HEADER_FIRST_CYCLE = 16;
+    static final int HEADER_LAST_CYCLE = 20;
+
+    private final Path directory;
+    private final String baseName;
+    private final int recordsPerSegment;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int segmentIndex;
+    private int segmentRecords;
+    private int firstCycle;
+    private int lastCycle;
+    private long totalRecords;
+    private boolean failed;
+
+    public TraceWriter(Path directory, String baseName) throws IOException {
+        this(directory, baseName, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * @param segmentBytes Tamaño de cada archivo (se redondea a registros enteros)
+     */
+    public TraceWriter(Path directory, String baseName, long segmentBytes) throws IOException {
+        long records = (segmentBytes - HEADER_SIZE) / RECORD_SIZE;
+        if (records <= 0) {
+            throw new IllegalArgumentException("Segmento demasiado chico: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.baseName = baseName;
+        this.recordsPerSegment = (int) Math.min(records, (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE);
+        this.segmentIndex = -1;
+        this.totalRecords = 0;
+        this.failed = false;
+        Files.createDirectories(directory);
+        openNextSegment();
+    }
+
+    /**
+     * Ruta del segmento index de una traza.
+     */
+    public static Path segmentPath(Path directory, String baseName, int index) {
+        return directory.resolve(String.format("%s-%05d%s", baseName, index, EXTENSION));
+    }
+
+    // ========== ESCRITURA ==========
+
+    public void write(TraceEventType type, int cycle, int pid, int aux, int arg0) {
+        write(type, cycle, pid, aux, arg0, 0, 0, 0, 0);
+    }
+
+    public void write(TraceEventType type, int cycle, int pid, int aux, int arg0, int arg1) {
+        write(type, cycle, pid, aux, arg0, arg1, 0, 0, 0);
+    }
+
+    public void write(TraceEventType type, int cycle, int pid, int aux,
+                      int arg0, int arg1, int arg2, int arg3, int arg4) {
+        if (failed) return;
+        if (segmentRecords == recordsPerSegment && !rollover()) {
+            return;
+        }
+        int position = HEADER_SIZE + segmentRecords * RECORD_SIZE;
+        buffer.putInt(position, cycle);
+        buffer.put(position + 4, type.getCode());
+        buffer.putShort(position + 6, (short) aux);
+        buffer.putInt(position + 8, pid);
+        buffer.putInt(position + 12, arg0);
+        buffer.putInt(position + 16, arg1);
+        buffer.putInt(position + 20, arg2);
+        buffer.putInt(position + 24, arg3);
+        buffer.putInt(position + 28, arg4);
+        if (segmentRecords == 0) {
+            firstCycle = cycle;
+        }
+        lastCycle = cycle;
+        segmentRecords++;
+        totalRecords++;
+    }
+
+    /**
+     * Actualiza el encabezado y baja a disco lo escrito hasta ahora.
+     */
+    public void force() {
+        if (failed || buffer == null) return;
+        writeHeaderCount();
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        if (channel == null) return;
+        try {
+            force();
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("❌ Error al cerrar la traza " + baseName + ": " + e.getMessage());
+        } finally {
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    // ========== SEGMENTOS ==========
+
+    private boolean rollover() {
+        try {
+            force();
+            channel.close();
+            openNextSegment();
+            return true;
+        } catch (IOException e) {
+            // Sin disco no se puede seguir trazando, pero la simulación sí
+            failed = true;
+            System.err.println("❌ Traza detenida en el segmento " + (segmentIndex + 1) + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        segmentIndex++;
+        Path path = segmentPath(directory, baseName, segmentIndex);
+        long size = HEADER_SIZE + (long) recordsPerSegment * RECORD_SIZE;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                   StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(HEADER_MAGIC, MAGIC);
+        buffer.putShort(HEADER_VERSION, VERSION);
+        buffer.putShort(HEADER_RECORD_SIZE, (short) RECORD_SIZE);
+        buffer.putInt(HEADER_SEGMENT, segmentIndex);
+        segmentRecords = 0;
+        writeHeaderCount();
+    }
+
+    private void writeHeaderCount() {
+        buffer.putInt(HEADER_COUNT, segmentRecords);
+        buffer.putInt(HEADER_FIRST_CYCLE, segmentRecords > 0 ? firstCycle : -1);
+        buffer.putInt(HEADER_LAST_CYCLE, segmentRecords > 0 ? lastCycle : -1);
+    }
+
+    // ========== GETTERS ==========
+
+    public long getTotalRecords() {
+        return totalRecords;
+    }
+
+    public int getSegmentCount() {
+        return segmentIndex + 1;
+    }
+
+    public boolean hasFailed() {
+        return failed;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public String getBaseName() {
+        return baseName;
+    }
+}
@@ -17,15 +17,16 @@ public interface Comparator<T> {
     
     /**
      * Comparador para EDF (Earliest Deadline First)
-     * Ordena por deadline restante ascendente (menor primero)
+     * Ordena por ciclo de deadline ascendente (menor primero).
+     * Equivale a ordenar por deadline restante, pero la clave no cambia
+     * con el reloj y el orden del montículo se mantiene sin reordenar
+     * (ver Process.compareDeadlines).
      */
     class DeadlineComparator implements Comparator<Process> {
         @Override
         public int compare(Process p1, Process p2) {
             // Menor deadline primero (más urgente)
-            if (p1.getRemainingDeadline() < p2.getRemainingDeadline()) return -1;
-            if (p1.getRemainingDeadline() > p2.getRemainingDeadline()) return 1;
-            return 0;
+            return Integer.signum(Process.compareDeadlines(p1, p2));
         }
     }
     
@@ -91,6 +92,33 @@ public interface Comparator<T> {
         }
     }
     
+    /**
+     * Comparador de MemoryManager para reactivar suspendidos: deadline más
+     * cercano primero (como EDF, por ciclo de deadline) y, a igual deadline,
+     * el que llegó antes a la lista.
+     */
+    class NearestDeadlineComparator implements Comparator<Process> {
+        @Override
+        public int compare(Process p1, Process p2) {
+            int byDeadline = Process.compareDeadlines(p1, p2);
+            if (byDeadline != 0) return byDeadline;
+            return Long.compare(p1.getMemoryOrder(), p2.getMemoryOrder());
+        }
+    }
+    
+    /**
+     * Comparador de MemoryManager para elegir a quién suspender: deadline
+     * más lejano primero y, a igual deadline, el que llegó antes a RAM.
+     */
+    class FarthestDeadlineComparator implements Comparator<Process> {
+        @Override
+        public int compare(Process p1, Process p2) {
+            int byDeadline = Process.compareDeadlines(p2, p1);
+            if (byDeadline != 0) return byDeadline;
+            return Long.compare(p1.getMemoryOrder(), p2.getMemoryOrder());
+        }
+    }
+    
     /**
      * Comparador para Deadlines absolutos (no restantes)
      */
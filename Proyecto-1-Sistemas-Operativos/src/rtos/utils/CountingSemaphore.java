@@ -0,0 +1,78 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.utils;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Semáforo que cuenta las veces que un thread tuvo que esperar para
+ * tomarlo (el permiso no estaba libre). Cada thread lleva su propia cuenta,
+ * así el perfilador del ciclo ve solo las esperas del thread del ciclo.
+ * Sin contención cuesta lo mismo que un Semaphore: la cuenta solo se toca
+ * en el camino lento.
+ *
+ * Envuelve un Semaphore en vez de extenderlo (Semaphore es Serializable y
+ * este no tiene por qué serlo). Lo usan solo el semáforo del ciclo de
+ * SimulationEngine y la CommandQueue: son los únicos puntos donde el
+ * thread del ciclo puede quedar esperando a otro thread.
+ */
+public class CountingSemaphore {
+    private static final ThreadLocal<long[]> WAITS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final Semaphore semaphore;
+
+    public CountingSemaphore(int permits) {
+        this.semaphore = new Semaphore(permits);
+    }
+
+    public void acquire() throws InterruptedException {
+        if (!semaphore.tryAcquire()) {
+            WAITS.get()[0]++;
+            semaphore.acquire();
+        }
+    }
+
+    public void acquire(int permits) throws InterruptedException {
+        if (!semaphore.tryAcquire(permits)) {
+            WAITS.get()[0]++;
+            semaphore.acquire(permits);
+        }
+    }
+
+    public void acquireUninterruptibly() {
+        if (!semaphore.tryAcquire()) {
+            WAITS.get()[0]++;
+            semaphore.acquireUninterruptibly();
+        }
+    }
+
+    public boolean tryAcquire() {
+        return semaphore.tryAcquire();
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public void release(int permits) {
+        semaphore.release(permits);
+    }
+
+    public int availablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    /**
+     * Esperas acumuladas del thread actual en todos los CountingSemaphore.
+     */
+    public static long getWaitCount() {
+        return WAITS.get()[0];
+    }
+}
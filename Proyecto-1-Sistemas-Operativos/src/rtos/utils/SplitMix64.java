@@ -0,0 +1,143 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.utils;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import rtos.checkpoint.CheckpointReader;
+import rtos.checkpoint.CheckpointWriter;
+
+/**
+ *
+ * @author VictorB
+ */
+
+/**
+ * Generador pseudoaleatorio SplitMix64: el mismo algoritmo (y la misma
+ * secuencia para una misma semilla) que java.util.SplittableRandom, pero
+ * con el estado a la vista: dos long (semilla y gamma).
+ *
+ * Así un checkpoint guarda el punto exacto del flujo sin sacar valores de
+ * él: la simulación que guarda y la que no guardan sortean lo mismo.
+ *
+ * No es thread-safe.
+ */
+public class SplitMix64 {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long seed;
+    private long gamma;     // Siempre impar
+
+    /**
+     * Semilla al azar (distinta en cada llamada).
+     */
+    public SplitMix64() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public SplitMix64(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private SplitMix64(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Flujo nuevo e independiente; avanza este.
+     */
+    public SplitMix64 split() {
+        return new SplitMix64(nextLong(), mixGamma(nextSeed()));
+    }
+
+    /**
+     * Copia con el mismo estado (sortea lo mismo que este, sin afectarlo).
+     */
+    public SplitMix64 copy() {
+        return new SplitMix64(seed, gamma);
+    }
+
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    /**
+     * Entero uniforme en [0, bound).
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound debe ser positivo: " + bound);
+        }
+        int r = nextInt();
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m;      // Potencia de 2
+        }
+        // Rechazo de los valores que sesgarían el módulo
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1) {
+        }
+        return r;
+    }
+
+    /**
+     * Double uniforme en [0, 1).
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    // ========== CHECKPOINT ==========
+
+    /**
+     * Guarda el estado (no avanza el flujo).
+     */
+    public void writeCheckpoint(CheckpointWriter out) throws IOException {
+        out.writeLong(seed);
+        out.writeLong(gamma);
+    }
+
+    /**
+     * Restaura lo guardado por writeCheckpoint.
+     */
+    public void readCheckpoint(CheckpointReader in) throws IOException {
+        long savedSeed = in.readLong();
+        long savedGamma = in.readLong();
+        if ((savedGamma & 1L) == 0) {
+            throw new IOException("Checkpoint: gamma de SplitMix64 inválido " + savedGamma);
+        }
+        seed = savedSeed;
+        gamma = savedGamma;
+    }
+
+    // ========== MEZCLAS ==========
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return (transitions < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
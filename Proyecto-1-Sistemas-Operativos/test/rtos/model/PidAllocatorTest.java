@@ -0,0 +1,101 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.model;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * PidAllocator: PIDs densos desde 0, el último liberado es el próximo en
+ * entregarse y los reservados al restaurar no se repiten.
+ */
+public class PidAllocatorTest {
+
+    @Test
+    public void pidsAreDenseFromZero() {
+        PidAllocator pids = new PidAllocator();
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, pids.allocate());
+        }
+        assertEquals(200, pids.size());
+        assertEquals(200, pids.getLimit());
+    }
+
+    @Test
+    public void lastReleasedIsReusedFirst() {
+        PidAllocator pids = new PidAllocator();
+        for (int i = 0; i < 10; i++) {
+            pids.allocate();
+        }
+        assertTrue(pids.release(3));
+        assertTrue(pids.release(7));
+        assertFalse(pids.release(7));
+        assertFalse(pids.isAllocated(7));
+        assertEquals(8, pids.size());
+
+        assertEquals(7, pids.allocate());
+        assertEquals(3, pids.allocate());
+        assertEquals(10, pids.allocate());
+        assertEquals(11, pids.getLimit());
+    }
+
+    @Test
+    public void churnKeepsPidsBelowPeak() {
+        PidAllocator pids = new PidAllocator();
+        int[] live = new int[50];
+        for (int i = 0; i < live.length; i++) {
+            live[i] = pids.allocate();
+        }
+        for (int round = 0; round < 10000; round++) {
+            int slot = (round * 17) % live.length;
+            assertTrue(pids.release(live[slot]));
+            live[slot] = pids.allocate();
+        }
+        assertEquals(live.length, pids.size());
+        assertEquals(live.length, pids.getLimit());
+    }
+
+    @Test
+    public void reservedPidsAreNotHandedOutAgain() {
+        PidAllocator pids = new PidAllocator();
+        assertTrue(pids.reserve(5));
+        assertTrue(pids.reserve(2));
+        assertFalse(pids.reserve(5));
+        assertFalse(pids.reserve(-1));
+
+        // Los que quedaron por debajo del mayor reservado se entregan antes que uno nuevo
+        boolean[] seen = new boolean[6];
+        for (int i = 0; i < 4; i++) {
+            int pid = pids.allocate();
+            assertTrue(pid < 6 && pid != 2 && pid != 5);
+            assertFalse(seen[pid]);
+            seen[pid] = true;
+        }
+        assertEquals(6, pids.allocate());
+        assertEquals(7, pids.size());
+    }
+
+    @Test
+    public void clearStartsOver() {
+        PidAllocator pids = new PidAllocator();
+        pids.allocate();
+        pids.allocate();
+        pids.release(0);
+        pids.clear();
+
+        assertEquals(0, pids.size());
+        assertFalse(pids.isAllocated(1));
+        assertEquals(0, pids.allocate());
+        assertEquals(1, pids.allocate());
+    }
+}
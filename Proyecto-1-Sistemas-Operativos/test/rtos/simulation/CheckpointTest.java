@@ -0,0 +1,132 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.simulation;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import rtos.scheduler.SchedulerManager;
+import rtos.statistics.MonteCarloResult;
+import rtos.statistics.StatisticsTracker;
+
+/**
+ * Checkpoint: guardar, restaurar y correr N ciclos da las mismas
+ * estadísticas que la corrida sin interrumpir.
+ */
+public class CheckpointTest {
+    private static final int BEFORE = 2500;
+    private static final int AFTER = 4000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static SimulationConfig config(boolean headless, SchedulerManager.Algorithm algorithm) {
+        SimulationConfig config = headless ? SimulationConfig.headless() : new SimulationConfig(false);
+        config.setSynchronousInterrupts(true);
+        config.setSeed(7L);
+        config.setArrivalRate(0.03);
+        config.setMaxProcessesInSystem(60);
+        config.setAlgorithm(algorithm);
+        return config;
+    }
+
+    /** Todo lo que las estadísticas dicen de la corrida, en un texto comparable. */
+    private static String summary(StatisticsTracker stats) {
+        StringBuilder sb = new StringBuilder();
+        for (MonteCarloResult.Metric metric : MonteCarloResult.Metric.values()) {
+            sb.append(metric.name()).append('=').append(metric.valueOf(stats)).append('\n');
+        }
+        sb.append("busy=").append(stats.getCpuBusyCycles())
+          .append(" idle=").append(stats.getCpuIdleCycles())
+          .append(" instrucciones=").append(stats.getTotalInstructionsExecuted()).append('\n');
+        sb.append("cpu=").append(stats.getCPUUtilizationHistory()).append('\n');
+        sb.append("throughput=").append(stats.getThroughputHistory()).append('\n');
+        return sb.toString();
+    }
+
+    /** Corrida de referencia, sin checkpoint. */
+    private static String uninterrupted(SimulationConfig config) {
+        SimulationEngine engine = new SimulationEngine(config);
+        try {
+            engine.runCycles(BEFORE);
+            return summary(engine.runCycles(AFTER));
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    private static void assertRestoreMatches(boolean headless) throws IOException {
+        for (SchedulerManager.Algorithm algorithm : SchedulerManager.Algorithm.values()) {
+            String expected = uninterrupted(config(headless, algorithm));
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            SimulationEngine original = new SimulationEngine(config(headless, algorithm));
+            try {
+                original.runCycles(BEFORE);
+                original.saveCheckpoint(bytes);
+                // Guardar no debe alterar la corrida que sigue
+                assertEquals(algorithm + " tras guardar", expected, summary(original.runCycles(AFTER)));
+            } finally {
+                original.shutdown();
+            }
+
+            SimulationEngine restored = SimulationEngine.restoreCheckpoint(
+                    new ByteArrayInputStream(bytes.toByteArray()), null);
+            try {
+                assertEquals(BEFORE, restored.getCurrentCycle());
+                assertEquals(algorithm + " restaurado", expected, summary(restored.runCycles(AFTER)));
+            } finally {
+                restored.shutdown();
+            }
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void restoredStepwiseRunMatchesUninterrupted() throws IOException {
+        assertRestoreMatches(false);
+    }
+
+    @Test(timeout = 60000)
+    public void restoredHeadlessRunMatchesUninterrupted() throws IOException {
+        assertRestoreMatches(true);
+    }
+
+    @Test(timeout = 60000)
+    public void restoreFromFileKeepsConfiguration() throws IOException {
+        SimulationConfig config = config(true, SchedulerManager.Algorithm.EDF);
+        String expected = uninterrupted(config);
+
+        Path file = folder.getRoot().toPath().resolve("corrida.rtcp");
+        SimulationEngine original = new SimulationEngine(config);
+        try {
+            original.runCycles(BEFORE);
+            original.saveCheckpoint(file);
+        } finally {
+            original.shutdown();
+        }
+
+        SimulationConfig saved = SimulationEngine.readCheckpointConfig(file);
+        assertEquals(SchedulerManager.Algorithm.EDF, saved.getAlgorithm());
+        assertEquals(7L, saved.getSeed());
+
+        SimulationEngine restored = SimulationEngine.restoreCheckpoint(file);
+        try {
+            assertEquals(expected, summary(restored.runCycles(AFTER)));
+        } finally {
+            restored.shutdown();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.simulation;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import rtos.model.Process;
+import rtos.model.ProcessType;
+import rtos.structures.LinkedList;
+
+/**
+ * Rueda de E/S con pocos buckets: los procesos a más de una vuelta
+ * comparten bucket y solo salen cuando llega su ciclo, también si el
+ * avance salta varias vueltas de una vez.
+ */
+public class IOCompletionWheelTest {
+
+    private static Process blockedUntil(int cycle) {
+        Process process = new Process("IO" + cycle, "E/S " + cycle, ProcessType.APERIODIC, 10, 1, 1000, 0);
+        process.setIoCompletionTime(cycle);
+        return process;
+    }
+
+    @Test
+    public void sameBucketOnDifferentLaps() {
+        IOCompletionWheel wheel = new IOCompletionWheel(8);
+        Process lap0 = blockedUntil(5);
+        Process lap1 = blockedUntil(13);
+        Process lap2 = blockedUntil(21);
+        wheel.schedule(lap2);
+        wheel.schedule(lap0);
+        wheel.schedule(lap1);
+        assertEquals(5, wheel.nextDueCycle());
+
+        for (int cycle = 1; cycle <= 21; cycle++) {
+            LinkedList<Process> due = wheel.advanceTo(cycle);
+            if (cycle == 5 || cycle == 13 || cycle == 21) {
+                assertEquals("ciclo " + cycle, 1, due.size());
+                assertEquals(cycle, due.get(0).getIoCompletionTime());
+            } else {
+                assertTrue("ciclo " + cycle, due.isEmpty());
+            }
+        }
+        assertTrue(wheel.isEmpty());
+        assertEquals(Integer.MAX_VALUE, wheel.nextDueCycle());
+    }
+
+    @Test
+    public void jumpOverSeveralLapsDeliversOnlyWhatIsDue() {
+        IOCompletionWheel wheel = new IOCompletionWheel(8);
+        Process early = blockedUntil(3);
+        Process middle = blockedUntil(30);
+        Process late = blockedUntil(50);
+        Process sameBucketAsLate = blockedUntil(42);
+        wheel.schedule(early);
+        wheel.schedule(middle);
+        wheel.schedule(late);
+        wheel.schedule(sameBucketAsLate);
+
+        LinkedList<Process> due = wheel.advanceTo(45);
+        assertEquals(3, due.size());
+        assertFalse(due.contains(late));
+        assertEquals(1, wheel.size());
+        assertEquals(50, wheel.nextDueCycle());
+
+        due = wheel.advanceTo(49);
+        assertTrue(due.isEmpty());
+        due = wheel.advanceTo(1000);
+        assertEquals(1, due.size());
+        assertSame(late, due.get(0));
+        assertEquals(1000, wheel.getCurrentCycle());
+    }
+
+    @Test
+    public void rescheduleAndCancel() {
+        IOCompletionWheel wheel = new IOCompletionWheel(8);
+        Process process = blockedUntil(4);
+        wheel.schedule(process);
+        process.setIoCompletionTime(20);
+        wheel.schedule(process);
+        assertEquals(1, wheel.size());
+
+        assertTrue(wheel.advanceTo(10).isEmpty());
+        assertSame(process, wheel.advanceTo(20).get(0));
+
+        Process cancelled = blockedUntil(25);
+        wheel.schedule(cancelled);
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertTrue(wheel.advanceTo(40).isEmpty());
+    }
+
+    @Test
+    public void pastCycleIsDeliveredOnNextAdvance() {
+        IOCompletionWheel wheel = new IOCompletionWheel(8);
+        wheel.advanceTo(100);
+        Process late = blockedUntil(90);
+        wheel.schedule(late);
+
+        assertEquals(101, wheel.nextDueCycle());
+        LinkedList<Process> due = wheel.advanceTo(101);
+        assertEquals(1, due.size());
+        assertSame(late, due.get(0));
+    }
+}
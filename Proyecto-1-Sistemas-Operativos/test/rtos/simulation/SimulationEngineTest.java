@@ -0,0 +1,83 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.simulation;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import rtos.model.Process;
+import rtos.model.ProcessType;
+import rtos.statistics.StatisticsTracker;
+
+/**
+ * Motor por eventos sin interfaz: un sistema ocioso sin eventos futuros no
+ * debe saltar el reloj hasta Integer.MAX_VALUE.
+ */
+public class SimulationEngineTest {
+    private SimulationEngine engine;
+
+    @Before
+    public void setUp() {
+        SimulationConfig config = SimulationConfig.headless();
+        config.setSeed(7L);
+        config.setArrivalRate(0.0);
+        config.setRandomInterrupts(false);
+        engine = new SimulationEngine(config);
+    }
+
+    @After
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void runUntilOnIdleEngineStopsAtCondition() {
+        engine.runCycles(5000);
+        assertEquals(5000, engine.getCurrentCycle());
+
+        engine.runUntil(e -> e.getCurrentCycle() >= 10000);
+        assertEquals(10000, engine.getCurrentCycle());
+    }
+
+    @Test(timeout = 10000)
+    public void turnaroundIsCompletionMinusArrival() {
+        SimulationConfig config = SimulationConfig.headless();
+        config.setSeed(1L);
+        config.setArrivalRate(0.0);
+        config.setRandomInterrupts(false);
+        config.setInitialProcessPercentage(0);
+        SimulationEngine single = new SimulationEngine(config);
+        try {
+            Process process = new Process("T1", "Turnaround", ProcessType.APERIODIC, 40, 2, 10000, 0);
+            single.scheduleArrival(process, 1000);
+            StatisticsTracker stats = single.runCycles(2000);
+
+            assertEquals(1, stats.getTotalProcessesCompleted());
+            assertEquals(1000, process.getCreationTime());
+            int turnaround = process.getCompletionTime() - 1000;
+            assertTrue(turnaround >= 40 && turnaround < 1000);
+            assertEquals(turnaround, stats.calculateAverageTurnaroundTime(), 0.0);
+            assertEquals(turnaround, stats.calculateTurnaroundPercentile(95), turnaround / 8.0);
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void runCyclesOnIdleEngineStillSkipsToTarget() {
+        engine.runCycles(5000);
+        StatisticsTracker stats = engine.runCycles(1000000);
+        assertEquals(1005000, engine.getCurrentCycle());
+        assertTrue(stats.getCpuIdleCycles() >= 1000000);
+    }
+}
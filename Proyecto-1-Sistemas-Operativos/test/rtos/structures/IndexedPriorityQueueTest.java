@@ -0,0 +1,163 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.structures;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import rtos.model.Process;
+import rtos.model.ProcessType;
+import rtos.utils.Comparator;
+import rtos.utils.SplitMix64;
+
+/**
+ * IndexedPriorityQueue: remove y update en posiciones arbitrarias del
+ * montículo mantienen el orden y el índice guardado en cada elemento.
+ */
+public class IndexedPriorityQueueTest {
+
+    private static Process process(int number, int priority) {
+        return new Process("P" + number, "Proceso " + number, ProcessType.APERIODIC, 10, priority, 100, 0);
+    }
+
+    private static IndexedPriorityQueue<Process> byPriority() {
+        return new IndexedPriorityQueue<>(Process.HEAP_READY, new Comparator.PriorityComparator());
+    }
+
+    /** Cada elemento está en la posición que dice su índice. */
+    private static void assertIndexes(IndexedPriorityQueue<Process> queue) {
+        for (int i = 0; i < queue.size(); i++) {
+            assertEquals(i, queue.get(i).getHeapIndex(Process.HEAP_READY));
+        }
+    }
+
+    /** Vacía la cola comprobando que sale en orden de prioridad. */
+    private static int drainInOrder(IndexedPriorityQueue<Process> queue) {
+        int count = 0;
+        int previous = Integer.MIN_VALUE;
+        while (!queue.isEmpty()) {
+            Process p = queue.extractMin();
+            assertTrue(previous <= p.getPriority());
+            assertEquals(-1, p.getHeapIndex(Process.HEAP_READY));
+            previous = p.getPriority();
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void removeAtArbitrarySlots() {
+        IndexedPriorityQueue<Process> queue = byPriority();
+        SplitMix64 random = new SplitMix64(21L);
+        Process[] all = new Process[300];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = process(i, random.nextInt(1000));
+            queue.insert(all[i]);
+        }
+
+        int removed = 0;
+        for (int i = 0; i < all.length; i += 3) {
+            assertTrue(queue.remove(all[i]));
+            assertFalse(queue.contains(all[i]));
+            assertEquals(-1, all[i].getHeapIndex(Process.HEAP_READY));
+            assertFalse(queue.remove(all[i]));
+            removed++;
+        }
+        // Raíz y última hoja
+        Process root = queue.peekMin();
+        assertTrue(queue.remove(root));
+        Process last = queue.get(queue.size() - 1);
+        assertTrue(queue.remove(last));
+        removed += 2;
+
+        assertIndexes(queue);
+        assertEquals(all.length - removed, drainInOrder(queue));
+    }
+
+    @Test
+    public void updateMovesElementUpAndDown() {
+        IndexedPriorityQueue<Process> queue = byPriority();
+        SplitMix64 random = new SplitMix64(8L);
+        Process[] all = new Process[200];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = process(i, 100 + random.nextInt(100));
+            queue.insert(all[i]);
+        }
+
+        Process deep = queue.get(queue.size() - 1);
+        deep.setPriority(0);
+        assertTrue(queue.update(deep));
+        assertSame(deep, queue.peekMin());
+
+        Process top = queue.peekMin();
+        top.setPriority(10000);
+        assertTrue(queue.update(top));
+        assertEquals(queue.size() - 1, countBefore(queue, top));
+
+        for (int i = 1; i < all.length; i += 2) {
+            all[i].setPriority(random.nextInt(300));
+            assertTrue(queue.update(all[i]));
+        }
+        assertIndexes(queue);
+        assertEquals(all.length, drainInOrder(queue));
+        assertFalse(queue.update(all[0]));
+    }
+
+    @Test
+    public void insertOfContainedElementRepositionsIt() {
+        IndexedPriorityQueue<Process> queue = byPriority();
+        Process a = process(1, 5);
+        Process b = process(2, 6);
+        queue.insert(a);
+        queue.insert(b);
+        b.setPriority(1);
+        queue.insert(b);
+
+        assertEquals(2, queue.size());
+        assertSame(b, queue.extractMin());
+        assertSame(a, queue.extractMin());
+    }
+
+    @Test
+    public void sameProcessInTwoQueuesUsesSeparateSlots() {
+        IndexedPriorityQueue<Process> ready = byPriority();
+        IndexedPriorityQueue<Process> memory =
+                new IndexedPriorityQueue<>(Process.HEAP_MEMORY, new Comparator.PriorityComparator());
+        Process[] all = new Process[20];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = process(i, all.length - i);
+        }
+        for (int i = 0; i < all.length; i++) {
+            ready.insert(all[i]);
+            memory.insert(all[all.length - 1 - i]);
+        }
+
+        assertTrue(ready.remove(all[7]));
+        assertFalse(ready.contains(all[7]));
+        assertTrue(memory.contains(all[7]));
+        assertIndexes(ready);
+        assertEquals(all.length - 1, drainInOrder(ready));
+        assertEquals(all.length, memory.size());
+    }
+
+    private static int countBefore(IndexedPriorityQueue<Process> queue, Process target) {
+        int count = 0;
+        for (Process p : queue.inOrder()) {
+            if (p == target) {
+                return count;
+            }
+            count++;
+        }
+        return -1;
+    }
+}
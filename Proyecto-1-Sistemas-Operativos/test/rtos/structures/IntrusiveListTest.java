@@ -0,0 +1,135 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.structures;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import org.junit.Test;
+import rtos.model.Process;
+import rtos.model.ProcessType;
+
+/**
+ * IntrusiveList: un mismo proceso puede estar a la vez en listas de
+ * distintos slots, y sacarlo de una no toca sus enlaces en las otras.
+ */
+public class IntrusiveListTest {
+
+    private static Process[] processes(int count) {
+        Process[] all = new Process[count];
+        for (int i = 0; i < count; i++) {
+            all[i] = new Process("P" + i, "Proceso " + i, ProcessType.APERIODIC, 10, 1, 100, 0);
+        }
+        return all;
+    }
+
+    private static void assertOrder(IntrusiveList<Process> list, Process... expected) {
+        assertEquals(expected.length, list.size());
+        int i = 0;
+        for (Process p : list) {
+            assertSame(expected[i++], p);
+        }
+        assertEquals(expected.length, i);
+    }
+
+    @Test
+    public void processInSeveralListsAtOnce() {
+        Process[] p = processes(4);
+        IntrusiveList<Process> ram = new IntrusiveList<>(Process.LINK_RAM);
+        IntrusiveList<Process> blocked = new IntrusiveList<>(Process.LINK_BLOCKED);
+        IntrusiveList<Process> wheel = new IntrusiveList<>(Process.LINK_IO_WHEEL);
+        for (Process process : p) {
+            assertTrue(ram.add(process));
+        }
+        assertTrue(blocked.add(p[2]));
+        assertTrue(blocked.add(p[0]));
+        assertTrue(blocked.add(p[3]));
+        assertTrue(wheel.add(p[0]));
+
+        assertTrue(ram.contains(p[0]) && blocked.contains(p[0]) && wheel.contains(p[0]));
+
+        // Sacarlo de la del medio no cambia el orden de las otras
+        assertTrue(blocked.remove(p[0]));
+        assertOrder(blocked, p[2], p[3]);
+        assertOrder(ram, p[0], p[1], p[2], p[3]);
+        assertOrder(wheel, p[0]);
+
+        assertTrue(ram.remove(p[2]));
+        assertOrder(ram, p[0], p[1], p[3]);
+        assertOrder(blocked, p[2], p[3]);
+        assertTrue(blocked.contains(p[2]));
+        assertFalse(ram.contains(p[2]));
+    }
+
+    @Test
+    public void oneListPerSlot() {
+        Process[] p = processes(1);
+        IntrusiveList<Process> first = new IntrusiveList<>(Process.LINK_BLOCKED);
+        IntrusiveList<Process> second = new IntrusiveList<>(Process.LINK_BLOCKED);
+
+        assertTrue(first.add(p[0]));
+        assertFalse(first.add(p[0]));
+        assertFalse(second.add(p[0]));
+        assertFalse(second.remove(p[0]));
+        assertTrue(first.contains(p[0]));
+
+        assertTrue(first.remove(p[0]));
+        assertTrue(second.add(p[0]));
+        assertTrue(first.isEmpty());
+        assertOrder(second, p[0]);
+    }
+
+    @Test
+    public void iteratorRemoveUnlinksOnlyThatSlot() {
+        Process[] p = processes(5);
+        IntrusiveList<Process> ram = new IntrusiveList<>(Process.LINK_RAM);
+        IntrusiveList<Process> suspended = new IntrusiveList<>(Process.LINK_READY_SUSPENDED);
+        for (Process process : p) {
+            ram.add(process);
+            suspended.add(process);
+        }
+
+        for (Iterator<Process> it = ram.iterator(); it.hasNext();) {
+            Process process = it.next();
+            if (process == p[0] || process == p[2] || process == p[4]) {
+                it.remove();
+            }
+        }
+
+        assertOrder(ram, p[1], p[3]);
+        assertOrder(suspended, p);
+        assertNull(p[4].getNextLink(Process.LINK_RAM));
+        assertSame(p[3], ram.getFirst().getNextLink(Process.LINK_RAM));
+    }
+
+    @Test
+    public void clearReleasesLinks() {
+        Process[] p = processes(3);
+        IntrusiveList<Process> ram = new IntrusiveList<>(Process.LINK_RAM);
+        IntrusiveList<Process> blocked = new IntrusiveList<>(Process.LINK_BLOCKED);
+        for (Process process : p) {
+            ram.add(process);
+            blocked.add(process);
+        }
+        ram.clear();
+
+        assertTrue(ram.isEmpty());
+        assertNull(ram.getFirst());
+        for (Process process : p) {
+            assertNull(process.getListOwner(Process.LINK_RAM));
+            assertTrue(ram.add(process));
+        }
+        assertOrder(blocked, p);
+    }
+}
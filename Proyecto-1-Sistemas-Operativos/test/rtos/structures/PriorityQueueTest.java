@@ -0,0 +1,118 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.structures;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import rtos.utils.SplitMix64;
+
+/**
+ * Montículo de PriorityQueue: desempate FIFO entre claves iguales y
+ * recorrido en orden (frontera) sin modificar el montículo.
+ */
+public class PriorityQueueTest {
+
+    /** Elemento {clave, número de llegada}; solo se compara la clave. */
+    private static PriorityQueue<int[]> byKey() {
+        return new PriorityQueue<>((a, b) -> Integer.compare(a[0], b[0]));
+    }
+
+    /** Inserta n elementos con claves al azar entre 0 y keys-1. */
+    private static PriorityQueue<int[]> filled(int n, int keys, long seed) {
+        PriorityQueue<int[]> queue = byKey();
+        SplitMix64 random = new SplitMix64(seed);
+        for (int i = 0; i < n; i++) {
+            queue.insert(new int[] {random.nextInt(keys), i});
+        }
+        return queue;
+    }
+
+    private static void assertAfter(int[] previous, int[] current) {
+        assertTrue(previous[0] <= current[0]);
+        if (previous[0] == current[0]) {
+            assertTrue("FIFO entre claves iguales", previous[1] < current[1]);
+        }
+    }
+
+    @Test
+    public void equalKeysLeaveInArrivalOrder() {
+        PriorityQueue<int[]> queue = filled(1000, 5, 11L);
+        int[] previous = queue.extractMin();
+        while (!queue.isEmpty()) {
+            int[] current = queue.extractMin();
+            assertAfter(previous, current);
+            previous = current;
+        }
+        assertNull(queue.extractMin());
+    }
+
+    @Test
+    public void fifoSurvivesInterleavedExtractions() {
+        PriorityQueue<int[]> queue = byKey();
+        queue.insert(new int[] {1, 0});
+        queue.insert(new int[] {1, 1});
+        queue.insert(new int[] {0, 2});
+        assertEquals(2, queue.extractMin()[1]);
+        queue.insert(new int[] {1, 3});
+        queue.insert(new int[] {1, 4});
+        for (int expected = 0; expected <= 4; expected++) {
+            if (expected == 2) {
+                continue;
+            }
+            assertEquals(expected, queue.extractMin()[1]);
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void inOrderMatchesExtractionAndLeavesHeapIntact() {
+        PriorityQueue<int[]> queue = filled(500, 20, 3L);
+        Object[] layout = new Object[queue.size()];
+        for (int i = 0; i < layout.length; i++) {
+            layout[i] = queue.get(i);
+        }
+
+        LinkedList<int[]> walked = new LinkedList<>();
+        for (int[] item : queue.inOrder()) {
+            walked.add(item);
+        }
+
+        assertEquals(layout.length, walked.size());
+        for (int i = 0; i < layout.length; i++) {
+            assertSame(layout[i], queue.get(i));
+        }
+        for (int[] item : walked) {
+            assertSame(item, queue.extractMin());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void findFirstStopsAtFirstMatchInExitOrder() {
+        PriorityQueue<int[]> queue = filled(300, 50, 5L);
+        LinkedList<int[]> sorted = queue.toSortedLinkedList();
+        int[] expected = null;
+        for (int[] item : sorted) {
+            if (item[1] % 7 == 3) {
+                expected = item;
+                break;
+            }
+        }
+
+        assertSame(expected, queue.findFirst(item -> item[1] % 7 == 3));
+        assertNull(queue.findFirst(item -> item[0] < 0));
+        assertEquals(300, queue.size());
+        assertNull(byKey().findFirst(item -> true));
+    }
+}
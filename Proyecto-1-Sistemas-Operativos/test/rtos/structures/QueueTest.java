@@ -0,0 +1,100 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.structures;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Queue sobre buffer circular: el orden FIFO se mantiene cuando el frente
+ * da la vuelta al buffer y cuando el buffer crece con el frente corrido.
+ */
+public class QueueTest {
+
+    @Test
+    public void wrapsAroundWithoutGrowing() {
+        Queue<Integer> queue = new Queue<>();
+        int next = 0;
+        int expected = 0;
+        // Mantiene 10 elementos (menos que la capacidad inicial) durante varias vueltas
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(next++);
+        }
+        for (int round = 0; round < 100; round++) {
+            assertEquals(Integer.valueOf(expected++), queue.dequeue());
+            queue.enqueue(next++);
+            assertEquals(10, queue.size());
+            assertEquals(Integer.valueOf(expected), queue.peek());
+            assertEquals(Integer.valueOf(expected + 9), queue.get(9));
+        }
+        while (!queue.isEmpty()) {
+            assertEquals(Integer.valueOf(expected++), queue.dequeue());
+        }
+        assertEquals(next, expected);
+        assertNull(queue.dequeue());
+    }
+
+    @Test
+    public void growsWhileWrapped() {
+        Queue<Integer> queue = new Queue<>();
+        for (int i = 0; i < 12; i++) {
+            queue.enqueue(i);
+        }
+        for (int i = 0; i < 12; i++) {
+            queue.dequeue();
+        }
+        // El frente quedó a mitad del buffer: las próximas llegadas dan la vuelta y lo hacen crecer
+        for (int i = 0; i < 100; i++) {
+            queue.enqueue(i);
+        }
+
+        assertEquals(100, queue.size());
+        LinkedList<Integer> copy = queue.toLinkedList();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i), queue.get(i));
+            assertEquals(Integer.valueOf(i), copy.get(i));
+        }
+        assertTrue(queue.contains(99));
+        assertFalse(queue.contains(100));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i), queue.dequeue());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void clearAfterWrapKeepsQueueUsable() {
+        Queue<Integer> queue = new Queue<>();
+        for (int i = 0; i < 20; i++) {
+            queue.enqueue(i);
+            queue.dequeue();
+        }
+        queue.enqueue(1);
+        queue.enqueue(2);
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peek());
+        queue.enqueue(3);
+        assertEquals(Integer.valueOf(3), queue.get(0));
+        assertEquals("Queue[3]", queue.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutsideQueueFails() {
+        Queue<Integer> queue = new Queue<>();
+        queue.enqueue(1);
+        queue.get(1);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rtos.trace;
+
+/**
+ *
+ * @author VictorB
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * TraceWriter/TraceReader: lo que se escribe se lee igual, registro por
+ * registro y a través de varios segmentos.
+ */
+public class TraceRoundTripTest {
+    private static final TraceEventType[] TYPES = TraceEventType.values();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /** Registro i de la traza de prueba: todos los campos dependen de i. */
+    private static void writeRecord(TraceWriter writer, int i) {
+        writer.write(TYPES[i % TYPES.length], i / 3, i % 50 - 1, (i % 7) - 3,
+                     i, -i, i * 31, Integer.MAX_VALUE - i, Integer.MIN_VALUE + i);
+    }
+
+    private static void assertRecord(TraceReader reader, int i) {
+        assertSame(TYPES[i % TYPES.length], reader.getType());
+        assertEquals(i / 3, reader.getCycle());
+        assertEquals(i % 50 - 1, reader.getPid());
+        assertEquals((i % 7) - 3, reader.getAux());
+        assertEquals(i, reader.getArg(0));
+        assertEquals(-i, reader.getArg(1));
+        assertEquals(i * 31, reader.getArg(2));
+        assertEquals(Integer.MAX_VALUE - i, reader.getArg(3));
+        assertEquals(Integer.MIN_VALUE + i, reader.getArg(4));
+    }
+
+    @Test
+    public void recordsSurviveAcrossSegments() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        int perSegment = 10;
+        int count = 95;
+        try (TraceWriter writer = new TraceWriter(dir, "corrida",
+                TraceWriter.HEADER_SIZE + perSegment * TraceWriter.RECORD_SIZE)) {
+            for (int i = 0; i < count; i++) {
+                writeRecord(writer, i);
+            }
+            assertEquals(count, writer.getTotalRecords());
+            assertEquals(10, writer.getSegmentCount());
+            assertFalse(writer.hasFailed());
+        }
+
+        try (TraceReader reader = new TraceReader(dir, "corrida")) {
+            for (int i = 0; i < count; i++) {
+                assertTrue(reader.next());
+                assertRecord(reader, i);
+                assertEquals(i / perSegment, reader.getSegmentIndex());
+            }
+            assertFalse(reader.next());
+            assertEquals(count, reader.getRecordsRead());
+        }
+    }
+
+    @Test
+    public void unclosedSegmentIsReadUpToLastRecord() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        TraceWriter writer = new TraceWriter(dir, "abierta", 4096);
+        try {
+            for (int i = 0; i < 5; i++) {
+                writeRecord(writer, i + 1);
+            }
+            try (TraceReader reader = new TraceReader(dir, "abierta")) {
+                for (int i = 0; i < 5; i++) {
+                    assertTrue(reader.next());
+                    assertRecord(reader, i + 1);
+                }
+                assertFalse(reader.next());
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void missingTraceFails() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        assertTrue(Files.isDirectory(dir));
+        new TraceReader(dir, "inexistente").close();
+    }
+}